@@ -0,0 +1,59 @@
+package benchmarks.docker;
+
+import docker.Formatter;
+import docker.components.Deployment;
+import docker.components.Service;
+import docker.fields.EnvironmentVariable;
+import docker.fields.NamedVolume;
+import docker.fields.Port;
+import docker.fields.Volume;
+import docker.fields.enums.Restart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a two service docker-compose deployment, matching the Postgres + PgAdmin setup the databases module deploys
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeploymentFormatterBenchmark {
+    private Deployment deployment;
+
+    @Setup
+    public void setup() {
+        deployment = Deployment.newBuilder()
+                .addServices(createService("database", "postgres"), createService("pgadmin", "dpage/pgadmin4"))
+                .addNamedVolumes(new NamedVolume("database-data"), new NamedVolume("pgadmin-data"))
+                .build();
+    }
+
+    @Benchmark
+    public String createDescriptionForDeployment() {
+        return Formatter.createDescriptionForDeployment(deployment);
+    }
+
+    private static Service createService(String name, String image) {
+        return Service.newBuilder()
+                .setName(name)
+                .setImage(image)
+                .setRestart(Restart.ALWAYS)
+                .setPorts(new Port(5432, 5432), new Port(2345, 2345))
+                .setEnvironmentVariables(new EnvironmentVariable("POSTGRES_USER", "user"), new EnvironmentVariable("POSTGRES_DB", "db"))
+                .setVolumes(new Volume("database-data", "/var/lib/postgresql/data/"))
+                .build();
+    }
+}
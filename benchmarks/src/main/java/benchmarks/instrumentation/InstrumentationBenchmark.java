@@ -0,0 +1,53 @@
+package benchmarks.instrumentation;
+
+import databases.crud.sql.instrumentation.DelegatingSqlInstrumentation;
+import databases.crud.sql.instrumentation.SqlMetrics;
+import databases.crud.sql.instrumentation.StatementKind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the controllers add per statement: timing through the shared {@link DelegatingSqlInstrumentation}, with
+ * instrumentation switched off and with {@link SqlMetrics} installed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+    private static final String SQL = "SELECT * FROM \"Users\" WHERE \"email\" = ?;";
+
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    private final DelegatingSqlInstrumentation instrumentation = new DelegatingSqlInstrumentation();
+
+    @Setup
+    public void setup() {
+        if (enabled) {
+            instrumentation.setDelegate(new SqlMetrics());
+        }
+    }
+
+    @Benchmark
+    public long recordStatement() {
+        final long start = instrumentation.isEnabled() ? System.nanoTime() : 0L;
+        if (instrumentation.isEnabled()) {
+            instrumentation.onStatement(StatementKind.READ, SQL, System.nanoTime() - start, 1);
+        }
+        return start;
+    }
+}
@@ -0,0 +1,15 @@
+package benchmarks.orm;
+
+import databases.orm.annotations.Persisted;
+import databases.orm.annotations.PrimaryKey;
+
+public class BenchmarkUser {
+    @PrimaryKey
+    Integer id;
+    @Persisted
+    String email;
+    @Persisted
+    String salt;
+    @Persisted
+    String hashedPassword;
+}
@@ -0,0 +1,100 @@
+package benchmarks.orm;
+
+import databases.crud.core.ResultSetDeserializer;
+import databases.orm.GenericResultSetDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializes an in-memory {@link CachedRowSet} with the generic ORM deserializer and with a hand-written one
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeserializerBenchmark {
+    private static final String[] COLUMN_NAMES = {"id", "email", "salt", "hashedPassword"};
+
+    @Param({"1", "100", "1000"})
+    private int rowCount;
+
+    private CachedRowSet resultSet;
+    private final GenericResultSetDeserializer<BenchmarkUser> genericDeserializer = new GenericResultSetDeserializer<>(BenchmarkUser.class);
+    private final ResultSetDeserializer<BenchmarkUser> handWrittenDeserializer = new HandWrittenDeserializer();
+
+    @Setup
+    public void setup() throws SQLException {
+        final RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(COLUMN_NAMES.length);
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            metaData.setColumnName(i + 1, COLUMN_NAMES[i]);
+            metaData.setColumnLabel(i + 1, COLUMN_NAMES[i]);
+            metaData.setColumnType(i + 1, i == 0 ? Types.INTEGER : Types.VARCHAR);
+        }
+
+        resultSet = RowSetProvider.newFactory().createCachedRowSet();
+        resultSet.setMetaData(metaData);
+        for (int i = 0; i < rowCount; i++) {
+            resultSet.moveToInsertRow();
+            resultSet.updateInt(1, i);
+            resultSet.updateString(2, "user" + i + "@gmail.com");
+            resultSet.updateString(3, "salt" + i);
+            resultSet.updateString(4, "hashed-password" + i);
+            resultSet.insertRow();
+            resultSet.moveToCurrentRow();
+        }
+    }
+
+    @Benchmark
+    public Object generic() throws SQLException {
+        resultSet.beforeFirst();
+        return genericDeserializer.deserialize(resultSet);
+    }
+
+    @Benchmark
+    public Object handWritten() throws SQLException {
+        resultSet.beforeFirst();
+        return handWrittenDeserializer.deserialize(resultSet);
+    }
+
+    private static class HandWrittenDeserializer extends ResultSetDeserializer<BenchmarkUser> {
+        @Override
+        public Optional<BenchmarkUser> deserializeResultSet(ResultSet resultSet) {
+            try {
+                final BenchmarkUser user = new BenchmarkUser();
+                user.id = resultSet.getInt(1);
+                user.email = resultSet.getString(2);
+                user.salt = resultSet.getString(3);
+                user.hashedPassword = resultSet.getString(4);
+                return Optional.of(user);
+            } catch (SQLException throwables) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public Class<BenchmarkUser> getGenericClassReference() {
+            return BenchmarkUser.class;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package benchmarks.orm;
+
+import databases.orm.ClassMetadata;
+import databases.orm.FieldAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares hydrating & extracting a model through plain reflection, the {@link FieldAccessor}s used by the ORM, the
+ * whole-model handles of {@link ClassMetadata}, and hand-written code
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAccessorBenchmark {
+    private static final Object[] VALUES = {42, "john.doe@gmail.com", "salt", "hashed-password"};
+
+    private ClassMetadata<BenchmarkUser> metadata;
+    private List<Field> fields;
+    private List<FieldAccessor> accessors;
+    private Constructor<BenchmarkUser> constructor;
+    private BenchmarkUser user;
+
+    @Setup
+    public void setup() throws Exception {
+        metadata = ClassMetadata.of(BenchmarkUser.class);
+        fields = metadata.getPersistedFields();
+        accessors = fields.stream().map(metadata::getAccessor).collect(Collectors.toList());
+        constructor = BenchmarkUser.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        user = handWrittenHydrate();
+    }
+
+    @Benchmark
+    public BenchmarkUser reflectiveHydrate() throws Exception {
+        final BenchmarkUser instance = constructor.newInstance();
+        for (int i = 0; i < fields.size(); i++) {
+            fields.get(i).set(instance, VALUES[i]);
+        }
+        return instance;
+    }
+
+    @Benchmark
+    public BenchmarkUser accessorHydrate() {
+        final BenchmarkUser instance = metadata.newInstance();
+        for (int i = 0; i < accessors.size(); i++) {
+            accessors.get(i).set(instance, VALUES[i]);
+        }
+        return instance;
+    }
+
+    @Benchmark
+    public BenchmarkUser metadataHydrate() {
+        final BenchmarkUser instance = metadata.newInstance();
+        metadata.hydrate(instance, VALUES);
+        return instance;
+    }
+
+    @Benchmark
+    public BenchmarkUser handWrittenHydrate() {
+        final BenchmarkUser instance = new BenchmarkUser();
+        instance.id = (Integer) VALUES[0];
+        instance.email = (String) VALUES[1];
+        instance.salt = (String) VALUES[2];
+        instance.hashedPassword = (String) VALUES[3];
+        return instance;
+    }
+
+    @Benchmark
+    public void reflectiveExtract(Blackhole blackhole) throws Exception {
+        for (Field field : fields) {
+            blackhole.consume(field.get(user));
+        }
+    }
+
+    @Benchmark
+    public void accessorExtract(Blackhole blackhole) {
+        for (FieldAccessor accessor : accessors) {
+            blackhole.consume(accessor.get(user));
+        }
+    }
+
+    @Benchmark
+    public void metadataExtract(Blackhole blackhole) {
+        for (Object value : metadata.extract(user)) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void handWrittenExtract(Blackhole blackhole) {
+        blackhole.consume(user.id);
+        blackhole.consume(user.email);
+        blackhole.consume(user.salt);
+        blackhole.consume(user.hashedPassword);
+    }
+}
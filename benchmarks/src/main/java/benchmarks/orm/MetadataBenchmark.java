@@ -0,0 +1,43 @@
+package benchmarks.orm;
+
+import databases.crud.sql.Column;
+import databases.orm.ClassMetadata;
+import databases.orm.Helpers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of describing a model class through {@link Helpers} reflection versus the cached {@link ClassMetadata}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetadataBenchmark {
+    @Benchmark
+    public void helpers(Blackhole blackhole) {
+        blackhole.consume(Helpers.getPersistedPrimitiveFields(BenchmarkUser.class));
+        final Set<Column> primaryKeyColumns = Helpers.createPrimaryKeyColumns(BenchmarkUser.class);
+        blackhole.consume(primaryKeyColumns);
+    }
+
+    @Benchmark
+    public void classMetadata(Blackhole blackhole) {
+        final ClassMetadata<BenchmarkUser> metadata = ClassMetadata.of(BenchmarkUser.class);
+        blackhole.consume(metadata.getPersistedFields());
+        blackhole.consume(metadata.getPrimaryKeyField());
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks.statements;
+
+import databases.crud.sql.postgresql.statements.Formatter;
+import databases.crud.sql.postgresql.statements.WhereClause;
+import databases.crud.sql.postgresql.statements.builders.CompoundClause;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static benchmarks.statements.StatementFixtures.USER_EMAIL;
+import static benchmarks.statements.StatementFixtures.USER_ID;
+import static databases.crud.sql.postgresql.statements.Operator.EQUALS;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatterBenchmark {
+    @Param({"1", "4", "16"})
+    private int clauseCount;
+
+    private CompoundClause clause;
+
+    @Setup
+    public void setup() {
+        final CompoundClause.Builder builder = CompoundClause.newBuilder()
+                .where(new WhereClause(USER_ID, EQUALS, 0));
+        for (int i = 1; i < clauseCount; i++) {
+            final WhereClause trailingClause = new WhereClause(USER_EMAIL, EQUALS, "user" + i + "@gmail.com");
+            if (i % 2 == 0) {
+                builder.and(trailingClause);
+            } else {
+                builder.or(trailingClause);
+            }
+        }
+        clause = builder.build();
+    }
+
+    @Benchmark
+    public String createWhereStatement() {
+        return Formatter.createWhereStatement(clause);
+    }
+}
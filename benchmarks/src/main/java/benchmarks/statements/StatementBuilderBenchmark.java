@@ -0,0 +1,100 @@
+package benchmarks.statements;
+
+import databases.crud.sql.ParameterizedStatement;
+import databases.crud.sql.postgresql.statements.WhereClause;
+import databases.crud.sql.postgresql.statements.builders.InsertStatement;
+import databases.crud.sql.postgresql.statements.builders.Join;
+import databases.crud.sql.postgresql.statements.builders.JoinColumnMapping;
+import databases.crud.sql.postgresql.statements.builders.JoinStatement;
+import databases.crud.sql.postgresql.statements.builders.SelectStatement;
+import databases.crud.sql.postgresql.statements.builders.UpdateStatement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static benchmarks.statements.StatementFixtures.*;
+import static databases.crud.sql.postgresql.statements.Operator.EQUALS;
+
+/**
+ * Builds each statement type from scratch per invocation, the way the table controller does for every request.
+ * After warm-up the parameterized variants hit {@code StatementTemplateCache}, so their gc.alloc.rate.norm is the
+ * cost of the builder, its shape key and bound values alone.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatementBuilderBenchmark {
+    private static final String EMAIL = "john.doe@gmail.com";
+
+    @Benchmark
+    public String select() throws Exception {
+        return SelectStatement.newBuilder(USERS)
+                .where(USER_ID, EQUALS, 1)
+                .or(USER_EMAIL, EQUALS, EMAIL)
+                .build();
+    }
+
+    @Benchmark
+    public ParameterizedStatement selectParameterized() throws Exception {
+        return SelectStatement.newBuilder(USERS)
+                .where(USER_ID, EQUALS, 1)
+                .or(USER_EMAIL, EQUALS, EMAIL)
+                .buildParameterized();
+    }
+
+    @Benchmark
+    public String insert() throws Exception {
+        return InsertStatement.newBuilder(USERS)
+                .insert(EMAIL, USER_EMAIL)
+                .insert("salt", USER_SALT)
+                .build();
+    }
+
+    @Benchmark
+    public String update() throws Exception {
+        return UpdateStatement.newBuilder(USERS)
+                .where(USER_ID, EQUALS, 1)
+                .update(EMAIL, USER_EMAIL)
+                .build();
+    }
+
+    @Benchmark
+    public ParameterizedStatement updateParameterized() throws Exception {
+        return UpdateStatement.newBuilder(USERS)
+                .where(USER_ID, EQUALS, 1)
+                .update(EMAIL, USER_EMAIL)
+                .buildParameterized();
+    }
+
+    @Benchmark
+    public String join() throws Exception {
+        return createJoinStatementBuilder().build();
+    }
+
+    @Benchmark
+    public ParameterizedStatement joinParameterized() throws Exception {
+        return createJoinStatementBuilder().buildParameterized();
+    }
+
+    private static JoinStatement.Builder createJoinStatementBuilder() {
+        final Join join = Join.newBuilder()
+                .innerJoin(new JoinColumnMapping(MESSAGE_SENDER_ID, USER_ID))
+                .select(USER_EMAIL, "sender_email")
+                .build();
+        return JoinStatement.newBuilder(MESSAGES)
+                .select(MESSAGE_TEXT)
+                .join(join)
+                .where(new WhereClause(MESSAGE_SENDER_ID, EQUALS, 1));
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks.statements;
+
+import databases.crud.sql.Column;
+import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+
+import java.util.Set;
+
+/**
+ * Users & Messages tables shaped like the ones the platform module persists
+ */
+class StatementFixtures {
+    static final Column USER_ID = Column.newBuilder()
+            .named("id")
+            .serialPrimaryKey()
+            .parentTableName("Users")
+            .build();
+
+    static final Column USER_EMAIL = Column.newBuilder()
+            .named("email")
+            .type(Column.Type.VARCHAR_255)
+            .parentTableName("Users")
+            .required()
+            .build();
+
+    static final Column USER_SALT = Column.newBuilder()
+            .named("salt")
+            .type(Column.Type.VARCHAR_255)
+            .parentTableName("Users")
+            .build();
+
+    static final Column MESSAGE_SENDER_ID = Column.newBuilder()
+            .named("sender_id")
+            .foreignKey(USER_ID)
+            .parentTableName("Messages")
+            .build();
+
+    static final Column MESSAGE_TEXT = Column.newBuilder()
+            .named("text")
+            .type(Column.Type.VARCHAR_255)
+            .parentTableName("Messages")
+            .build();
+
+    static final DatabaseTableSchema USERS = new DatabaseTableSchema("Users", Set.of(USER_ID, USER_EMAIL, USER_SALT));
+    static final DatabaseTableSchema MESSAGES = new DatabaseTableSchema("Messages", Set.of(MESSAGE_SENDER_ID, MESSAGE_TEXT));
+
+    private StatementFixtures() {
+    }
+}
@@ -0,0 +1,24 @@
+package databases.crud.core;
+
+import databases.crud.sql.postgresql.statements.builders.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link RelationalDatabase}
+ */
+public interface AsyncRelationalDatabase<T> {
+    CompletableFuture<Optional<T>> insert(InsertStatement.Builder builder);
+
+    CompletableFuture<Optional<List<T>>> insertAll(InsertStatement.BatchBuilder builder);
+
+    CompletableFuture<Optional<List<T>>> read(SelectStatement.Builder builder);
+
+    CompletableFuture<Boolean> update(UpdateStatement.Builder builder);
+
+    CompletableFuture<Boolean> delete(DeleteStatement.Builder builder);
+
+    CompletableFuture<Optional<List<T>>> join(JoinStatement.Builder builder);
+}
@@ -4,9 +4,9 @@ import databases.crud.sql.Column;
 
 public class ColumnValuePair {
     private final Column column;
-    private final String value;
+    private final Object value;
 
-    public ColumnValuePair(Column column, String value) {
+    public ColumnValuePair(Column column, Object value) {
         this.column = column;
         this.value = value;
     }
@@ -15,7 +15,7 @@ public class ColumnValuePair {
         return column;
     }
 
-    public String getValue() {
+    public Object getValue() {
         return this.value;
     }
 }
@@ -11,6 +11,8 @@ import java.util.Optional;
 public interface RelationalDatabase<T> {
     Optional<T> insert(InsertStatement.Builder builder);
 
+    Optional<List<T>> insertAll(InsertStatement.BatchBuilder builder);
+
     Optional<List<T>> read(SelectStatement.Builder builder);
 
     Boolean update(UpdateStatement.Builder builder);
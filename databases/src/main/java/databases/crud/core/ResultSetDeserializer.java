@@ -8,6 +8,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 public abstract class ResultSetDeserializer<T> implements Deserializer {
     public Object deserialize(Object object) {
@@ -18,8 +19,9 @@ public abstract class ResultSetDeserializer<T> implements Deserializer {
             List<T> returnValue = new ArrayList<>();
 
             try {
+                final Function<ResultSet, Optional<T>> rowDeserializer = prepare(resultSet);
                 while (resultSet.next()) {
-                    Optional<T> results = deserializeResultSet(resultSet);
+                    Optional<T> results = rowDeserializer.apply(resultSet);
                     results.ifPresent(returnValue::add);
                 }
 
@@ -33,6 +35,14 @@ public abstract class ResultSetDeserializer<T> implements Deserializer {
 
     public abstract Optional<T> deserializeResultSet(ResultSet resultSet);
 
+    /**
+     * Called once per result set before its first row is read. Subclasses can resolve column metadata here and
+     * return a row deserializer that reuses it for every row.
+     */
+    public Function<ResultSet, Optional<T>> prepare(ResultSet resultSet) throws SQLException {
+        return this::deserializeResultSet;
+    }
+
     public abstract Class<T> getGenericClassReference();
 
 
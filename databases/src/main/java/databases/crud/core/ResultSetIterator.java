@@ -0,0 +1,71 @@
+package databases.crud.core;
+
+import databases.crud.sql.QueryCursor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Lazily deserializes one row at a time from an open cursor, closing it once the last row has been read
+ */
+public class ResultSetIterator<T> implements Iterator<T>, AutoCloseable {
+    private final QueryCursor cursor;
+    private final ResultSetDeserializer<T> deserializer;
+    private Function<ResultSet, Optional<T>> rowDeserializer;
+    private T next;
+    private boolean finished = false;
+
+    public ResultSetIterator(QueryCursor cursor, ResultSetDeserializer<T> deserializer) {
+        this.cursor = cursor;
+        this.deserializer = deserializer;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !finished) {
+            advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final T value = next;
+        next = null;
+        return value;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        next = null;
+        cursor.close();
+    }
+
+    private void advance() {
+        try {
+            if (rowDeserializer == null) {
+                rowDeserializer = deserializer.prepare(cursor.getResultSet());
+            }
+
+            if (!cursor.getResultSet().next()) {
+                close();
+                return;
+            }
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("Failed to read next row from cursor", e);
+        }
+
+        final Optional<T> value = rowDeserializer.apply(cursor.getResultSet());
+        next = value.orElse(null);
+    }
+}
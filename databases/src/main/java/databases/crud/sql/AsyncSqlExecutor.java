@@ -0,0 +1,105 @@
+package databases.crud.sql;
+
+import databases.crud.core.DatabaseResponse;
+import databases.crud.core.Deserializer;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking companion to {@link SqlExecutor}. Each call runs on its own task, on a virtual thread when the runtime
+ * supports them, and at most {@code maximumConcurrency} calls (usually the connection pool size) hit the database
+ * at once, so fanned out reads queue here rather than on the pool's borrow timeout. Without virtual threads, tasks
+ * run on a fixed pool of {@code maximumConcurrency} threads, so queued calls don't hold a thread each.
+ * <p>
+ * Tasks run on other threads, so they never join a {@link TransactionContext} opened by the caller.
+ */
+public class AsyncSqlExecutor implements AutoCloseable {
+    private final SqlExecutor executor;
+    private final ExecutorService taskExecutor;
+    private final Semaphore permits;
+
+    public AsyncSqlExecutor(SqlExecutor executor, int maximumConcurrency) {
+        this(executor, createTaskExecutor(maximumConcurrency), maximumConcurrency);
+    }
+
+    public AsyncSqlExecutor(SqlExecutor executor, ExecutorService taskExecutor, int maximumConcurrency) {
+        this.executor = executor;
+        this.taskExecutor = taskExecutor;
+        this.permits = new Semaphore(maximumConcurrency, true);
+    }
+
+    public CompletableFuture<DatabaseResponse> executeUpdate(String update, Deserializer deserializer) {
+        return submit(() -> executor.executeUpdate(update, deserializer));
+    }
+
+    public CompletableFuture<DatabaseResponse> executeQuery(String query, Deserializer deserializer) {
+        return submit(() -> executor.executeQuery(query, deserializer));
+    }
+
+    public CompletableFuture<DatabaseResponse> executePreparedUpdate(ParameterizedStatement update, Deserializer deserializer) {
+        return submit(() -> executor.executePreparedUpdate(update, deserializer));
+    }
+
+    public CompletableFuture<DatabaseResponse> executePreparedQuery(ParameterizedStatement query, Deserializer deserializer) {
+        return submit(() -> executor.executePreparedQuery(query, deserializer));
+    }
+
+    public CompletableFuture<DatabaseResponse> executePreparedQueries(List<ParameterizedStatement> queries, Deserializer deserializer) {
+        return submit(() -> executor.executePreparedQueries(queries, deserializer));
+    }
+
+    /**
+     * Runs arbitrary blocking database work under the same concurrency limit
+     */
+    public <R> CompletableFuture<R> submit(Callable<R> work) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        taskExecutor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+                return;
+            }
+
+            try {
+                future.complete(work.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        });
+
+        return future;
+    }
+
+    @Override
+    public void close() {
+        taskExecutor.shutdown();
+    }
+
+    /**
+     * Virtual thread per task executor where available (JDK 21+), otherwise a fixed pool of {@code threadCount}
+     * daemon threads
+     */
+    static ExecutorService createTaskExecutor(int threadCount) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            final AtomicInteger createdThreadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(threadCount, runnable -> {
+                final Thread thread = new Thread(runnable, "async-sql-executor-" + createdThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package databases.crud.sql;
+
+import databases.crud.core.AsyncRelationalDatabase;
+import databases.crud.core.RelationalDatabase;
+import databases.crud.sql.postgresql.statements.builders.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs a blocking {@link RelationalDatabase} on an {@link AsyncSqlExecutor}
+ */
+public class AsyncSqlTableController<T> implements AsyncRelationalDatabase<T> {
+    private final RelationalDatabase<T> controller;
+    private final AsyncSqlExecutor executor;
+
+    public AsyncSqlTableController(RelationalDatabase<T> controller, AsyncSqlExecutor executor) {
+        this.controller = controller;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Optional<T>> insert(InsertStatement.Builder builder) {
+        return executor.submit(() -> controller.insert(builder));
+    }
+
+    @Override
+    public CompletableFuture<Optional<List<T>>> insertAll(InsertStatement.BatchBuilder builder) {
+        return executor.submit(() -> controller.insertAll(builder));
+    }
+
+    @Override
+    public CompletableFuture<Optional<List<T>>> read(SelectStatement.Builder builder) {
+        return executor.submit(() -> controller.read(builder));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(UpdateStatement.Builder builder) {
+        return executor.submit(() -> controller.update(builder));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(DeleteStatement.Builder builder) {
+        return executor.submit(() -> controller.delete(builder));
+    }
+
+    @Override
+    public CompletableFuture<Optional<List<T>>> join(JoinStatement.Builder builder) {
+        return executor.submit(() -> controller.join(builder));
+    }
+}
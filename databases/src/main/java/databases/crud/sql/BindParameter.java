@@ -0,0 +1,206 @@
+package databases.crud.sql;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Value bound to a {@code ?} placeholder, typed by the column it is compared against or written to
+ */
+public class BindParameter {
+    private final Object value;
+    private final Column.Type type;
+
+    public BindParameter(Object value, Column.Type type) {
+        this.value = value;
+        this.type = type;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Column.Type getType() {
+        return type;
+    }
+
+    public void bind(PreparedStatement statement, int index) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, getSqlType());
+            return;
+        }
+
+        if (type == null) {
+            statement.setObject(index, value);
+            return;
+        }
+
+        try {
+            if (value instanceof Collection || value instanceof Object[]) {
+                bindArray(statement, index);
+            } else {
+                bindTyped(statement, index);
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new SQLException(String.format("Cannot bind '%s' to a %s column", value, type), e);
+        }
+    }
+
+    private void bindTyped(PreparedStatement statement, int index) throws SQLException {
+        switch (type) {
+            case SERIAL_PRIMARY_KEY:
+            case FOREIGN_KEY:
+            case INTEGER:
+                statement.setInt(index, ColumnValues.toInt(value));
+                break;
+            case BIGINT:
+                statement.setLong(index, ColumnValues.toLong(value));
+                break;
+            case DOUBLE:
+                statement.setDouble(index, ColumnValues.toDouble(value));
+                break;
+            case BOOLEAN:
+                statement.setBoolean(index, ColumnValues.toBoolean(value));
+                break;
+            case TIMESTAMPTZ:
+                statement.setTimestamp(index, Timestamp.from(ColumnValues.toInstant(value)));
+                break;
+            case UUID:
+                statement.setObject(index, ColumnValues.toUuid(value));
+                break;
+            case BYTEA:
+                statement.setBytes(index, ColumnValues.toBytes(value));
+                break;
+            case JSONB:
+                // sent untyped so the server casts the text to jsonb rather than rejecting a varchar
+                statement.setObject(index, value.toString(), Types.OTHER);
+                break;
+            case VARCHAR_255:
+            case TEXT:
+                if (value instanceof String) {
+                    statement.setString(index, (String) value);
+                } else {
+                    statement.setObject(index, value);
+                }
+                break;
+            default:
+                statement.setObject(index, value);
+        }
+    }
+
+    /**
+     * Binds a collection as a postgres array of the column's type, e.g. for {@code "id" = ANY(?)}
+     */
+    private void bindArray(PreparedStatement statement, int index) throws SQLException {
+        final Collection<?> elements = value instanceof Collection ? (Collection<?>) value : Arrays.asList((Object[]) value);
+        final Object[] convertedElements = elements.stream()
+                .map(this::toArrayElement)
+                .toArray();
+        final Array array = statement.getConnection().createArrayOf(getArrayElementTypeName(), convertedElements);
+        statement.setArray(index, array);
+    }
+
+    private Object toArrayElement(Object element) {
+        if (element == null || type == null) {
+            return element;
+        }
+
+        switch (type) {
+            case SERIAL_PRIMARY_KEY:
+            case FOREIGN_KEY:
+            case INTEGER:
+                return ColumnValues.toInt(element);
+            case BIGINT:
+                return ColumnValues.toLong(element);
+            case DOUBLE:
+                return ColumnValues.toDouble(element);
+            case BOOLEAN:
+                return ColumnValues.toBoolean(element);
+            case TIMESTAMPTZ:
+                return Timestamp.from(ColumnValues.toInstant(element));
+            case UUID:
+                return ColumnValues.toUuid(element);
+            default:
+                return element.toString();
+        }
+    }
+
+    private String getArrayElementTypeName() {
+        if (type == null) {
+            return "text";
+        }
+
+        switch (type) {
+            case SERIAL_PRIMARY_KEY:
+            case FOREIGN_KEY:
+            case INTEGER:
+                return "int4";
+            case BIGINT:
+                return "int8";
+            case DOUBLE:
+                return "float8";
+            case BOOLEAN:
+                return "bool";
+            case TIMESTAMPTZ:
+                return "timestamptz";
+            case UUID:
+                return "uuid";
+            case VARCHAR_255:
+                return "varchar";
+            case JSONB:
+                return "jsonb";
+            default:
+                return "text";
+        }
+    }
+
+    private int getSqlType() {
+        if (type == null) {
+            return Types.NULL;
+        }
+
+        switch (type) {
+            case SERIAL_PRIMARY_KEY:
+            case FOREIGN_KEY:
+            case INTEGER:
+                return Types.INTEGER;
+            case BIGINT:
+                return Types.BIGINT;
+            case DOUBLE:
+                return Types.DOUBLE;
+            case BOOLEAN:
+                return Types.BOOLEAN;
+            case TIMESTAMPTZ:
+                return Types.TIMESTAMP;
+            case BYTEA:
+                return Types.BINARY;
+            case UUID:
+            case JSONB:
+                return Types.OTHER;
+            case VARCHAR_255:
+            case TEXT:
+                return Types.VARCHAR;
+            default:
+                return Types.NULL;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BindParameter that = (BindParameter) o;
+        return Objects.equals(value, that.value) && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, type);
+    }
+}
@@ -129,7 +129,16 @@ public class Column {
     public enum Type {
         SERIAL_PRIMARY_KEY,
         VARCHAR_255,
-        FOREIGN_KEY;
+        FOREIGN_KEY,
+        INTEGER,
+        BIGINT,
+        DOUBLE,
+        BOOLEAN,
+        TIMESTAMPTZ,
+        UUID,
+        TEXT,
+        BYTEA,
+        JSONB;
 
         Type() {
         }
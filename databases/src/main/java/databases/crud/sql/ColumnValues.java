@@ -0,0 +1,73 @@
+package databases.crud.sql;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Lenient conversions from the values handed to statement builders (either the model's own field values or their
+ * string forms) to the java type a {@link Column.Type} is bound or encoded as
+ */
+public class ColumnValues {
+    private ColumnValues() {
+    }
+
+    public static int toInt(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        return Integer.parseInt(value.toString());
+    }
+
+    public static long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return Long.parseLong(value.toString());
+    }
+
+    public static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return Double.parseDouble(value.toString());
+    }
+
+    public static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+
+        final String text = value.toString().trim().toLowerCase();
+        if (text.equals("true") || text.equals("t")) {
+            return true;
+        } else if (text.equals("false") || text.equals("f")) {
+            return false;
+        }
+        throw new IllegalArgumentException(String.format("'%s' is not a boolean", value));
+    }
+
+    public static Instant toInstant(Object value) {
+        if (value instanceof Instant) {
+            return (Instant) value;
+        } else if (value instanceof Date) {
+            return Instant.ofEpochMilli(((Date) value).getTime());
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toInstant();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toInstant();
+        }
+        return Instant.parse(value.toString());
+    }
+
+    public static UUID toUuid(Object value) {
+        return value instanceof UUID ? (UUID) value : UUID.fromString(value.toString());
+    }
+
+    public static byte[] toBytes(Object value) {
+        return value instanceof byte[] ? (byte[]) value : value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
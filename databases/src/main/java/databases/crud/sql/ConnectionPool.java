@@ -0,0 +1,24 @@
+package databases.crud.sql;
+
+import commons.OptionalProvider;
+
+import java.sql.Connection;
+import java.util.Optional;
+
+/**
+ * Connection provider that hands out reusable connections which must be handed back via
+ * {@link #release(Connection)} rather than physically closed
+ */
+public interface ConnectionPool extends OptionalProvider<Connection>, AutoCloseable {
+    void release(Connection connection);
+
+    /**
+     * Prepared statements cached against a currently borrowed connection, if statement caching is enabled
+     */
+    Optional<PreparedStatementCache> getStatementCache(Connection connection);
+
+    ConnectionPoolStatistics getStatistics();
+
+    @Override
+    void close();
+}
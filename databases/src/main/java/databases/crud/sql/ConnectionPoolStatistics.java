@@ -0,0 +1,61 @@
+package databases.crud.sql;
+
+import java.time.Duration;
+
+public class ConnectionPoolStatistics {
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int waitingThreads;
+    private final long totalBorrows;
+    private final long totalBorrowNanos;
+    private final long maxBorrowNanos;
+
+    public ConnectionPoolStatistics(int activeConnections,
+                                    int idleConnections,
+                                    int waitingThreads,
+                                    long totalBorrows,
+                                    long totalBorrowNanos,
+                                    long maxBorrowNanos) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.totalBorrows = totalBorrows;
+        this.totalBorrowNanos = totalBorrowNanos;
+        this.maxBorrowNanos = maxBorrowNanos;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return activeConnections + idleConnections;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public long getTotalBorrows() {
+        return totalBorrows;
+    }
+
+    public Duration getAverageBorrowLatency() {
+        return totalBorrows == 0 ? Duration.ZERO : Duration.ofNanos(totalBorrowNanos / totalBorrows);
+    }
+
+    public Duration getMaxBorrowLatency() {
+        return Duration.ofNanos(maxBorrowNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active=%d, idle=%d, waiting=%d, borrows=%d, avgBorrow=%s, maxBorrow=%s",
+                activeConnections, idleConnections, waitingThreads, totalBorrows,
+                getAverageBorrowLatency(), getMaxBorrowLatency());
+    }
+}
@@ -0,0 +1,51 @@
+package databases.crud.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SQL text containing {@code ?} placeholders together with the ordered values bound to them
+ */
+public class ParameterizedStatement {
+    private final String sql;
+    private final List<BindParameter> parameters;
+
+    public ParameterizedStatement(String sql, List<BindParameter> parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<BindParameter> getParameters() {
+        return parameters;
+    }
+
+    public void bind(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            parameters.get(i).bind(statement, i + 1);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ParameterizedStatement that = (ParameterizedStatement) o;
+        return Objects.equals(sql, that.sql) && Objects.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sql, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
@@ -0,0 +1,55 @@
+package databases.crud.sql;
+
+import databases.crud.core.Deserializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One statement of a pipeline sent to the database in a single round trip, with the deserializer for its result
+ */
+public class PipelinedStatement {
+    private final ParameterizedStatement statement;
+    private final Deserializer deserializer;
+
+    private PipelinedStatement(ParameterizedStatement statement, Deserializer deserializer) {
+        this.statement = statement;
+        this.deserializer = deserializer;
+    }
+
+    public static PipelinedStatement of(ParameterizedStatement statement, Deserializer deserializer) {
+        return new PipelinedStatement(statement, deserializer);
+    }
+
+    public static PipelinedStatement of(String sql, Deserializer deserializer) {
+        return new PipelinedStatement(new ParameterizedStatement(sql, List.of()), deserializer);
+    }
+
+    public ParameterizedStatement getStatement() {
+        return statement;
+    }
+
+    public Deserializer getDeserializer() {
+        return deserializer;
+    }
+
+    /**
+     * Joins the statements into one multi-statement string, with parameters numbered across all of them in order
+     */
+    public static ParameterizedStatement combine(List<PipelinedStatement> statements) {
+        final StringBuilder sql = new StringBuilder();
+        final List<BindParameter> parameters = new ArrayList<>();
+
+        for (PipelinedStatement pipelinedStatement : statements) {
+            String statementSql = pipelinedStatement.statement.getSql().trim();
+            while (statementSql.endsWith(";")) {
+                statementSql = statementSql.substring(0, statementSql.length() - 1).trim();
+            }
+
+            sql.append(statementSql).append("; ");
+            parameters.addAll(pipelinedStatement.statement.getParameters());
+        }
+
+        return new ParameterizedStatement(sql.toString().trim(), parameters);
+    }
+}
@@ -0,0 +1,62 @@
+package databases.crud.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of prepared statements keyed by SQL text, owned by a single pooled connection.
+ * Reusing the same {@link PreparedStatement} lets the driver switch to a named server-side statement,
+ * so Postgres stops re-parsing & re-planning hot queries.
+ * Not thread safe: a connection is only ever used by the thread that borrowed it.
+ */
+public class PreparedStatementCache {
+    private final Connection connection;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    public PreparedStatementCache(Connection connection, int maximumSize) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= maximumSize) {
+                    return false;
+                }
+
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException {
+        final PreparedStatement cached = statements.get(sql);
+        if (cached != null && !cached.isClosed()) {
+            cached.clearParameters();
+            return cached;
+        }
+
+        final PreparedStatement statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    public void clear() {
+        statements.values().forEach(PreparedStatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // the statement is being discarded either way
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package databases.crud.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Open server-side cursor over a query's results. The underlying connection stays borrowed until {@link #close()}.
+ */
+public class QueryCursor implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(QueryCursor.class.getName());
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final Runnable onClose;
+    private boolean closed = false;
+
+    public QueryCursor(PreparedStatement statement, ResultSet resultSet, Runnable onClose) {
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.onClose = onClose;
+    }
+
+    public ResultSet getResultSet() {
+        return resultSet;
+    }
+
+    /**
+     * Closes the result set, the statement and then releases the connection, each step running even if an earlier
+     * one failed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            resultSet.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to close cursor result set", e);
+        }
+
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to close cursor statement", e);
+        }
+
+        try {
+            onClose.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to release cursor connection", e);
+        }
+    }
+}
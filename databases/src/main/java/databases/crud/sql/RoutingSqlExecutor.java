@@ -0,0 +1,335 @@
+package databases.crud.sql;
+
+import commons.OptionalProvider;
+import databases.crud.core.DatabaseResponse;
+import databases.crud.core.Deserializer;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Sends read-only queries to replicas and everything else to the primary. A query counts as read-only when it is a
+ * plain {@code SELECT} without a locking clause, so {@code INSERT ... RETURNING} and pipelines stay on the primary.
+ * <p>
+ * Reads go to the primary instead while a {@link TransactionContext} is open on the calling thread, and after the
+ * thread wrote, for {@code readYourWritesWindow} or as long as the read-your-writes scope open at the write stays
+ * open, so callers read what they just wrote despite replication lag.
+ * <p>
+ * Health is tracked passively, there is no background probe: a replica that can't hand out a connection is taken out
+ * of rotation for {@code retryUnhealthyAfter} and the read is retried on the primary. Once the interval has passed
+ * the next read tries the replica again, putting it back in rotation if it answers.
+ * <p>
+ * The replicas are expected to be streaming replicas of the primary set up outside this project, the bundled
+ * deployment only runs the primary. The routing is covered by unit tests against mock executors only and hasn't been
+ * exercised against real replicas.
+ */
+public class RoutingSqlExecutor implements SqlExecutor {
+    public static final Duration DEFAULT_READ_YOUR_WRITES_WINDOW = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_RETRY_UNHEALTHY_AFTER = Duration.ofSeconds(30);
+    private static final Pattern LOCKING_CLAUSE = Pattern.compile("\\bFOR\\s+(NO\\s+KEY\\s+UPDATE|UPDATE|KEY\\s+SHARE|SHARE)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private final SqlExecutor primary;
+    private final List<Replica> replicas;
+    private final Policy policy;
+    private final Duration readYourWritesWindow;
+    private final Duration retryUnhealthyAfter;
+    private final Supplier<Optional<?>> readYourWritesScope;
+    private final Clock clock;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // per executor, so writes through one routing executor don't pin reads of another
+    private final ThreadLocal<Write> lastWrite = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> lastQueryFromReplica = ThreadLocal.withInitial(() -> false);
+
+    public enum Policy {
+        ROUND_ROBIN,
+        // the replica running the fewest statements of this executor
+        LEAST_LOADED
+    }
+
+    private RoutingSqlExecutor(Builder builder) {
+        this.primary = builder.primary;
+        this.replicas = builder.replicas;
+        this.policy = builder.policy;
+        this.readYourWritesWindow = builder.readYourWritesWindow;
+        this.retryUnhealthyAfter = builder.retryUnhealthyAfter;
+        this.readYourWritesScope = builder.readYourWritesScope;
+        this.clock = builder.clock;
+    }
+
+    public static Builder newBuilder(SqlExecutor primary) {
+        return new Builder(primary);
+    }
+
+    private interface Call<R> {
+        R apply(SqlExecutor executor) throws Exception;
+    }
+
+    @Override
+    public DatabaseResponse executeUpdate(String update, Deserializer deserializer) throws Exception {
+        return write(executor -> executor.executeUpdate(update, deserializer));
+    }
+
+    @Override
+    public DatabaseResponse executeQuery(String query, Deserializer deserializer) throws Exception {
+        return read(isReadOnly(query), executor -> executor.executeQuery(query, deserializer));
+    }
+
+    @Override
+    public DatabaseResponse executePreparedUpdate(ParameterizedStatement update, Deserializer deserializer) throws Exception {
+        return write(executor -> executor.executePreparedUpdate(update, deserializer));
+    }
+
+    @Override
+    public DatabaseResponse executePreparedQuery(ParameterizedStatement query, Deserializer deserializer) throws Exception {
+        return read(isReadOnly(query.getSql()), executor -> executor.executePreparedQuery(query, deserializer));
+    }
+
+    @Override
+    public DatabaseResponse executePreparedQueries(List<ParameterizedStatement> queries, Deserializer deserializer) throws Exception {
+        final boolean readOnly = queries.stream().allMatch(query -> isReadOnly(query.getSql()));
+        return read(readOnly, executor -> executor.executePreparedQueries(queries, deserializer));
+    }
+
+    @Override
+    public DatabaseResponse executeCopy(String copyStatement, InputStream data) throws Exception {
+        return write(executor -> executor.executeCopy(copyStatement, data));
+    }
+
+    /**
+     * Only the opening of the cursor counts towards the replica's load, not the time the caller keeps it open
+     */
+    @Override
+    public QueryCursor executeStreamingQuery(ParameterizedStatement query, int fetchSize) throws Exception {
+        return read(isReadOnly(query.getSql()), executor -> executor.executeStreamingQuery(query, fetchSize));
+    }
+
+    @Override
+    public List<DatabaseResponse> executePipeline(List<PipelinedStatement> statements) throws Exception {
+        return write(executor -> executor.executePipeline(statements));
+    }
+
+    @Override
+    public boolean isLastQueryFromReplica() {
+        return lastQueryFromReplica.get();
+    }
+
+    /**
+     * The primary's, as transactions always run there
+     */
+    @Override
+    public Optional<OptionalProvider<Connection>> getConnectionProvider() {
+        return primary.getConnectionProvider();
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public int getHealthyReplicaCount() {
+        final Instant now = clock.instant();
+        return (int) replicas.stream().filter(replica -> replica.isInRotation(now)).count();
+    }
+
+    private <R> R write(Call<R> call) throws Exception {
+        if (!replicas.isEmpty()) {
+            lastWrite.set(new Write(clock.instant(), readYourWritesScope.get().orElse(null)));
+        }
+        return onPrimary(call);
+    }
+
+    private <R> R read(boolean readOnly, Call<R> call) throws Exception {
+        if (!readOnly) {
+            return write(call);
+        }
+
+        final Optional<Replica> replica = isPinnedToPrimary() ? Optional.empty() : selectReplica();
+        if (replica.isEmpty()) {
+            return onPrimary(call);
+        }
+
+        replica.get().inFlight.incrementAndGet();
+        try {
+            final R result = call.apply(replica.get().executor);
+            replica.get().markHealthy();
+            lastQueryFromReplica.set(true);
+            return result;
+        } catch (Exception e) {
+            if (e != SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION) {
+                throw e;
+            }
+
+            replica.get().markUnhealthy(clock.instant().plus(retryUnhealthyAfter));
+            return onPrimary(call);
+        } finally {
+            replica.get().inFlight.decrementAndGet();
+        }
+    }
+
+    private <R> R onPrimary(Call<R> call) throws Exception {
+        final R result = call.apply(primary);
+        lastQueryFromReplica.set(false);
+        return result;
+    }
+
+    private boolean isPinnedToPrimary() {
+        if (replicas.isEmpty() || TransactionContext.isActive()) {
+            return true;
+        }
+
+        final Write write = lastWrite.get();
+        if (write == null) {
+            return false;
+        }
+
+        if (write.scope != null && readYourWritesScope.get().orElse(null) == write.scope) {
+            return true;
+        }
+
+        if (clock.instant().isBefore(write.time.plus(readYourWritesWindow))) {
+            return true;
+        }
+
+        lastWrite.remove();
+        return false;
+    }
+
+    private Optional<Replica> selectReplica() {
+        final Instant now = clock.instant();
+        final List<Replica> candidates = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.isInRotation(now)) {
+                candidates.add(replica);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final int offset = Math.floorMod(nextReplica.getAndIncrement(), candidates.size());
+        if (policy == Policy.ROUND_ROBIN) {
+            return Optional.of(candidates.get(offset));
+        }
+
+        // starting at the round-robin position spreads ties between equally loaded replicas
+        Replica leastLoaded = candidates.get(offset);
+        for (int i = 1; i < candidates.size(); i++) {
+            final Replica candidate = candidates.get((offset + i) % candidates.size());
+            if (candidate.inFlight.get() < leastLoaded.inFlight.get()) {
+                leastLoaded = candidate;
+            }
+        }
+        return Optional.of(leastLoaded);
+    }
+
+    /**
+     * Plain {@code SELECT}s without {@code FOR UPDATE/SHARE}. CTEs may modify data, so they're treated as writes.
+     */
+    static boolean isReadOnly(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+
+        return sql.regionMatches(true, start, "SELECT", 0, 6) && !LOCKING_CLAUSE.matcher(sql).find();
+    }
+
+    private static class Write {
+        private final Instant time;
+        private final Object scope;
+
+        private Write(Instant time, Object scope) {
+            this.time = time;
+            this.scope = scope;
+        }
+    }
+
+    private static class Replica {
+        private final SqlExecutor executor;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // null while healthy, otherwise when the replica may be tried again
+        private volatile Instant unhealthyUntil;
+
+        private Replica(SqlExecutor executor) {
+            this.executor = executor;
+        }
+
+        private boolean isInRotation(Instant now) {
+            final Instant until = unhealthyUntil;
+            return until == null || !now.isBefore(until);
+        }
+
+        private void markHealthy() {
+            unhealthyUntil = null;
+        }
+
+        private void markUnhealthy(Instant until) {
+            unhealthyUntil = until;
+        }
+    }
+
+    public static class Builder {
+        private final SqlExecutor primary;
+        private final List<Replica> replicas = new ArrayList<>();
+        private Policy policy = Policy.ROUND_ROBIN;
+        private Duration readYourWritesWindow = DEFAULT_READ_YOUR_WRITES_WINDOW;
+        private Duration retryUnhealthyAfter = DEFAULT_RETRY_UNHEALTHY_AFTER;
+        private Supplier<Optional<?>> readYourWritesScope = Optional::empty;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(SqlExecutor primary) {
+            this.primary = primary;
+        }
+
+        public Builder addReplica(SqlExecutor replica) {
+            replicas.add(new Replica(replica));
+            return this;
+        }
+
+        public Builder policy(Policy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        /**
+         * How long after a write the writing thread keeps reading from the primary, roughly the replication lag
+         */
+        public Builder readYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+            return this;
+        }
+
+        public Builder retryUnhealthyAfter(Duration retryUnhealthyAfter) {
+            this.retryUnhealthyAfter = retryUnhealthyAfter;
+            return this;
+        }
+
+        /**
+         * The unit of work (e.g. a session) open on the calling thread. After a write, the thread keeps reading from
+         * the primary for as long as the same unit of work stays open.
+         */
+        public Builder readYourWritesScope(Supplier<Optional<?>> readYourWritesScope) {
+            this.readYourWritesScope = readYourWritesScope;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public RoutingSqlExecutor build() {
+            return new RoutingSqlExecutor(this);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package databases.crud.sql;
+
+import databases.crud.core.Deserializer;
+
+/**
+ * Passes through the number of rows an update or delete affected
+ */
+public class SQLUpdateCountDeserializer implements Deserializer {
+    public SQLUpdateCountDeserializer() {
+    }
+
+    public Object deserialize(Object response) {
+        return response instanceof Integer ? response : null;
+    }
+}
@@ -0,0 +1,40 @@
+package databases.crud.sql;
+
+import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide record of tables known to exist, so writes don't have to probe {@code pg_tables} first.
+ * Entries are added once a table has been verified or created and removed whenever it is dropped.
+ */
+public class SchemaRegistry {
+    private static final Set<String> VERIFIED_TABLES = ConcurrentHashMap.newKeySet();
+
+    private SchemaRegistry() {
+    }
+
+    public static boolean isVerified(DatabaseTableSchema schema) {
+        return VERIFIED_TABLES.contains(createKey(schema));
+    }
+
+    public static void markVerified(DatabaseTableSchema schema) {
+        VERIFIED_TABLES.add(createKey(schema));
+    }
+
+    public static void invalidate(DatabaseTableSchema schema) {
+        VERIFIED_TABLES.remove(createKey(schema));
+    }
+
+    /**
+     * Forgets every table, e.g. after the database was reset outside of this process
+     */
+    public static void invalidateAll() {
+        VERIFIED_TABLES.clear();
+    }
+
+    private static String createKey(DatabaseTableSchema schema) {
+        return schema.getPostgresqlSchemaName() + "." + schema.getTableName();
+    }
+}
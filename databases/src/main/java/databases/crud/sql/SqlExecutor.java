@@ -1,11 +1,57 @@
 package databases.crud.sql;
 
+import commons.OptionalProvider;
 import databases.crud.core.DatabaseResponse;
 import databases.crud.core.Deserializer;
 
+import java.io.InputStream;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Optional;
+
 public interface SqlExecutor {
     DatabaseResponse executeUpdate(String update, Deserializer deserializer) throws Exception;
 
     DatabaseResponse executeQuery(String query, Deserializer deserializer) throws Exception;
+
+    DatabaseResponse executePreparedUpdate(ParameterizedStatement update, Deserializer deserializer) throws Exception;
+
+    DatabaseResponse executePreparedQuery(ParameterizedStatement query, Deserializer deserializer) throws Exception;
+
+    /**
+     * Runs every query on one connection inside a single transaction, concatenating the deserialized results
+     */
+    DatabaseResponse executePreparedQueries(List<ParameterizedStatement> queries, Deserializer deserializer) throws Exception;
+
+    /**
+     * Streams {@code data} through a {@code COPY ... FROM STDIN} statement, responding with the number of rows copied.
+     * Throws {@link SqlExecutorException#COPY_NOT_SUPPORTED} before reading any data if the connection cannot COPY.
+     */
+    DatabaseResponse executeCopy(String copyStatement, InputStream data) throws Exception;
+
+    /**
+     * Opens a cursor that fetches {@code fetchSize} rows per round trip. The caller must close it to release the connection.
+     */
+    QueryCursor executeStreamingQuery(ParameterizedStatement query, int fetchSize) throws Exception;
+
+    /**
+     * Sends every statement in one round trip on one connection and transaction, returning a response per statement in order
+     */
+    List<DatabaseResponse> executePipeline(List<PipelinedStatement> statements) throws Exception;
+
+    /**
+     * Whether the calling thread's last query was answered by a read replica, whose results may lag behind the primary
+     */
+    default boolean isLastQueryFromReplica() {
+        return false;
+    }
+
+    /**
+     * Provider of the connections writes run on, so callers can open a {@link TransactionContext} the executor's
+     * statements join. Empty for executors that can't take part in one.
+     */
+    default Optional<OptionalProvider<Connection>> getConnectionProvider() {
+        return Optional.empty();
+    }
 }
 
@@ -6,6 +6,9 @@ public class SqlExecutorException extends Exception {
     public static final Exception FAILED_TO_OPEN_STATEMENT_ENTRY_POINT = new SqlExecutorException("Failed to open statement entry point");
     public static final Exception FAILED_TO_FETCH_RESULTS_FROM_DATABASE = new SqlExecutorException("Failed to fetch results from database");
     public static final Exception FAILED_TO_DESERIALIZE_DATABASE_RESULTS = new SqlExecutorException("Failed to deserialize results from database");
+    public static final Exception FAILED_TO_BIND_STATEMENT_PARAMETERS = new SqlExecutorException("Failed to bind statement parameters");
+    public static final Exception COPY_NOT_SUPPORTED = new SqlExecutorException("Connection does not support COPY");
+    public static final Exception FAILED_TO_COPY_ROWS = new SqlExecutorException("Failed to copy rows into database");
     private SqlExecutorException(String errorMessage) {
         super(errorMessage);
     }
@@ -1,16 +1,39 @@
 package databases.crud.sql;
 
 import com.google.inject.Inject;
+import commons.OptionalProvider;
 import databases.crud.core.*;
+import databases.crud.sql.cache.QueryCache;
+import databases.crud.sql.cache.QueryCacheStatistics;
+import databases.crud.sql.instrumentation.SqlInstrumentation;
+import databases.crud.sql.instrumentation.StatementKind;
+import databases.crud.sql.postgresql.copy.BulkLoadResult;
+import databases.crud.sql.postgresql.copy.CopyFormat;
+import databases.crud.sql.postgresql.copy.CopyInputStream;
+import databases.crud.sql.postgresql.copy.CopyStatement;
 import databases.crud.sql.postgresql.deserializers.TableExistsDeserializer;
 import databases.crud.sql.postgresql.statements.*;
 import databases.crud.sql.postgresql.statements.builders.*;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static databases.crud.sql.postgresql.statements.builders.DropTableStatement.CASCADE_DELETE_TEMPLATE;
 import static databases.crud.sql.postgresql.statements.builders.DropTableStatement.DELETE_TEMPLATE;
@@ -19,6 +42,9 @@ import static databases.crud.sql.postgresql.statements.builders.DropTableStateme
  * Base class for concrete SQL CRUD implementations to share logic
  */
 public class SqlTableController<T> implements RelationalDatabase<T> {
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    private static final Logger LOGGER = Logger.getLogger(SqlTableController.class.getName());
+
     @Inject
     private SqlExecutor executor;
 
@@ -27,23 +53,100 @@ public class SqlTableController<T> implements RelationalDatabase<T> {
 
     private ResultSetDeserializer<T> deserializer;
 
+    private final List<String> declaredIndexStatements = new CopyOnWriteArrayList<>();
+
+    private QueryCache queryCache;
+
+    private UnaryOperator<T> queryCacheCopier;
+
+    private SqlInstrumentation instrumentation = SqlInstrumentation.NOOP;
+
     public boolean createTable() {
         // TODO: add schema-defined permission to selectively allow this functionality
         final Optional<String> statement = CreateTableStatement.create(schema);
 
         if (statement.isEmpty()) {
-            // TODO: Add logging here
+            LOGGER.warning(String.format("Cannot build a CREATE TABLE statement for %s", schema.getTableName()));
             return false;
         } else {
-            return executeUpdateWithBooleanReturnValue(statement.get(), new SQLUpdateDeserializer());
+            final boolean created = executeUpdateWithBooleanReturnValue(statement.get(), new SQLUpdateDeserializer());
+            if (created) {
+                SchemaRegistry.markVerified(schema);
+            }
+            return created;
+        }
+    }
+
+    /**
+     * Creates the table, along with its declared indexes, unless the {@link SchemaRegistry} already knows it exists.
+     * Only the first call per table and process touches the database.
+     */
+    public boolean ensureTableExists() {
+        if (SchemaRegistry.isVerified(schema)) {
+            return true;
+        }
+
+        final Optional<String> statement = CreateTableStatement.createIfNotExists(schema);
+        if (statement.isEmpty()) {
+            LOGGER.warning(String.format("Cannot build a CREATE TABLE statement for %s", schema.getTableName()));
+            return false;
+        }
+
+        final List<PipelinedStatement> statements = createBootstrapStatements(statement.get());
+        final boolean verified = pipeline(statements)
+                .map(responses -> responses.size() == statements.size())
+                .orElse(false);
+        if (verified) {
+            SchemaRegistry.markVerified(schema);
+        }
+        return verified;
+    }
+
+    /**
+     * Registers an index to be created ({@code IF NOT EXISTS}) whenever the table is bootstrapped
+     */
+    public boolean declareIndex(CreateIndexStatement.Builder builder) {
+        if (builder.isConcurrent()) {
+            // concurrent builds can't share the bootstrap's implicit transaction, use createIndex instead
+            return false;
+        }
+
+        final Optional<String> statement = builder.ifNotExists().build();
+        statement.ifPresent(declaredIndexStatements::add);
+        return statement.isPresent();
+    }
+
+    public boolean createIndex(CreateIndexStatement.Builder builder) {
+        final Optional<String> statement = builder.build();
+        if (statement.isEmpty()) {
+            LOGGER.warning(String.format("Cannot build a CREATE INDEX statement for %s", schema.getTableName()));
+            return false;
         }
+
+        return executeUpdateWithBooleanReturnValue(statement.get(), new SQLUpdateDeserializer());
+    }
+
+    public CreateIndexStatement.Builder createIndexStatementBuilder() {
+        return CreateIndexStatement.newBuilder(schema);
+    }
+
+    private List<PipelinedStatement> createBootstrapStatements(String createTableStatement) {
+        final List<PipelinedStatement> statements = new ArrayList<>();
+        statements.add(PipelinedStatement.of(createTableStatement, new SQLUpdateDeserializer()));
+        declaredIndexStatements.forEach(index -> statements.add(PipelinedStatement.of(index, new SQLUpdateDeserializer())));
+        return statements;
+    }
+
+    public boolean isTableVerified() {
+        return SchemaRegistry.isVerified(schema);
     }
 
     public boolean dropTable(boolean cascadeDelete) {
         // TODO: add schema-defined permission to selectively disable this functionality for certain resources
         final String template = cascadeDelete ? CASCADE_DELETE_TEMPLATE : DELETE_TEMPLATE;
         final String statement = String.format(template, schema.getTableName());
-        return executeUpdateWithBooleanReturnValue(statement, new SQLUpdateDeserializer());
+        SchemaRegistry.invalidate(schema);
+        return write(() -> executeUpdateWithBooleanReturnValue(statement, new SQLUpdateDeserializer()));
     }
 
     public boolean tableExists() {
@@ -52,8 +155,7 @@ public class SqlTableController<T> implements RelationalDatabase<T> {
             final DatabaseResponse response = executor.executeQuery(query, new TableExistsDeserializer());
             return response.getCastedObject(Boolean.class).orElse(false);
         } catch (Exception e) {
-            // TODO: add error logging here
-            e.printStackTrace();
+            instrumentation.onError(StatementKind.DDL, e);
             return false;
         }
     }
@@ -62,6 +164,10 @@ public class SqlTableController<T> implements RelationalDatabase<T> {
         return InsertStatement.newBuilder(schema);
     }
 
+    public InsertStatement.BatchBuilder insertBatchStatementBuilder() {
+        return InsertStatement.newBatchBuilder(schema);
+    }
+
     public SelectStatement.Builder selectStatementBuilder() {
         return SelectStatement.newBuilder(schema);
     }
@@ -82,94 +188,358 @@ public class SqlTableController<T> implements RelationalDatabase<T> {
             return Optional.empty();
         }
 
-        try {
-            final String statement = builder.build();
-            final DatabaseResponse response = executor.executeQuery(statement, deserializer);
-            return response.getCastedObjectOrDefault(List.class, List.of()).stream()
-                    .filter(deserializer.getGenericClassReference()::isInstance)
-                    .map(deserializer.getGenericClassReference()::cast)
-                    .findFirst();
-        } catch (InsertStatement.Builder.Exception e) {
-            // TODO: Add logging here
-            e.printStackTrace();
+        return write(() -> {
+            final long start = startTiming();
+            final ParameterizedStatement statement = builder.buildParameterized();
+            try {
+                final DatabaseResponse response = executor.executePreparedQuery(statement, deserializer);
+                final Optional<T> inserted = response.getCastedObjectOrDefault(List.class, List.of()).stream()
+                        .filter(deserializer.getGenericClassReference()::isInstance)
+                        .map(deserializer.getGenericClassReference()::cast)
+                        .findFirst();
+                recordStatement(StatementKind.INSERT, statement.getSql(), start, inserted.isPresent() ? 1 : 0);
+                return inserted;
+            } catch (Exception e) {
+                recordFailure(StatementKind.INSERT, statement.getSql(), start, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Creates the table if it's missing and inserts in one round trip, instead of existence check, create & insert
+     */
+    public Optional<T> insertCreatingTableIfNeeded(InsertStatement.Builder builder) {
+        final Optional<String> createStatement = CreateTableStatement.createIfNotExists(schema);
+        if (createStatement.isEmpty() || insertBuilderIsMissingRequiredFields(builder)) {
             return Optional.empty();
+        }
+
+        return write(() -> {
+            final long start = startTiming();
+            final ParameterizedStatement insertStatement = builder.buildParameterized();
+            try {
+                final List<PipelinedStatement> statements = createBootstrapStatements(createStatement.get());
+                statements.add(PipelinedStatement.of(insertStatement, deserializer));
+                final List<DatabaseResponse> responses = pipeline(statements).orElse(List.of());
+
+                if (responses.size() != statements.size()) {
+                    recordStatement(StatementKind.INSERT, insertStatement.getSql(), start, 0);
+                    return Optional.empty();
+                }
+
+                SchemaRegistry.markVerified(schema);
+                final Optional<T> inserted = responses.get(responses.size() - 1).getCastedObjectOrDefault(List.class, List.of()).stream()
+                        .filter(deserializer.getGenericClassReference()::isInstance)
+                        .map(deserializer.getGenericClassReference()::cast)
+                        .findFirst();
+                recordStatement(StatementKind.INSERT, insertStatement.getSql(), start, inserted.isPresent() ? 1 : 0);
+                return inserted;
+            } catch (Exception e) {
+                recordFailure(StatementKind.INSERT, insertStatement.getSql(), start, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    public Optional<List<DatabaseResponse>> pipeline(List<PipelinedStatement> statements) {
+        try {
+            return Optional.of(executor.executePipeline(statements));
         } catch (Exception e) {
-            e.printStackTrace();
+            LOGGER.log(Level.WARNING, String.format("Pipeline of %d statements on %s failed", statements.size(), schema.getTableName()), e);
             return Optional.empty();
         }
     }
 
     @Override
-    public Optional<List<T>> read(SelectStatement.Builder builder) {
-        try {
-            final String query = builder.build();
-            return executeQueryWithListReturnValue(query, deserializer);
-        } catch (Exception e) {
-            // TODO: Add logging here
+    public Optional<List<T>> insertAll(InsertStatement.BatchBuilder builder) {
+        if (builder.getRows().stream().anyMatch(this::rowIsMissingRequiredFields)) {
             return Optional.empty();
         }
+
+        if (builder.getRows().isEmpty()) {
+            return Optional.of(List.of());
+        }
+
+        return executeInsertAll(builder.buildParameterized());
+    }
+
+    private Optional<List<T>> executeInsertAll(List<ParameterizedStatement> statements) {
+        return write(() -> {
+            final long start = startTiming();
+            try {
+                Optional<List> response = executor.executePreparedQueries(statements, deserializer).getCastedObject(List.class);
+                final Optional<List<T>> inserted = castResponseList(response, deserializer);
+                recordStatement(StatementKind.INSERT, statements.get(0).getSql(), start, inserted.map(List::size).orElse(-1));
+                return inserted;
+            } catch (Exception e) {
+                recordFailure(StatementKind.INSERT, statements.get(0).getSql(), start, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Streams rows into the table with {@code COPY ... FROM STDIN}, falling back to chunked batch inserts
+     * when the executor's connections cannot COPY. Each row holds one value per column, in column order.
+     * <p>
+     * The fallback runs every chunk in one transaction when the executor can open one, so a failure loads nothing.
+     */
+    public Optional<BulkLoadResult> bulkLoad(List<Column> columns, Iterator<List<Object>> rows, CopyFormat format) {
+        final long start = System.nanoTime();
+        final String statement = CopyStatement.create(schema.getTableName(), columns, format);
+        final CopyInputStream data = new CopyInputStream(rows, columns, format);
+
+        return write(() -> {
+            try {
+                final DatabaseResponse response = executor.executeCopy(statement, data);
+                final long rowCount = response.getCastedObjectOrDefault(Long.class, data.getRowCount());
+                final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                recordStatement(StatementKind.COPY, statement, start, (int) Math.min(Integer.MAX_VALUE, rowCount));
+                return Optional.of(new BulkLoadResult(rowCount, data.getByteCount(), elapsed, true));
+            } catch (Exception e) {
+                if (e == SqlExecutorException.COPY_NOT_SUPPORTED) {
+                    return bulkLoadWithBatchedInserts(columns, rows, start);
+                }
+
+                recordFailure(StatementKind.COPY, statement, start, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    private Optional<BulkLoadResult> bulkLoadWithBatchedInserts(List<Column> columns, Iterator<List<Object>> rows, long start) {
+        final Optional<OptionalProvider<Connection>> connectionProvider = executor.getConnectionProvider();
+        if (connectionProvider.isEmpty()) {
+            return insertInChunks(columns, rows, start);
+        }
+
+        // a failing chunk rolls back the ones before it instead of leaving a partial load
+        return TransactionContext.execute(connectionProvider.get(), context -> {
+            final Optional<BulkLoadResult> result = insertInChunks(columns, rows, start);
+            if (result.isEmpty()) {
+                context.setRollbackOnly();
+            }
+            return result.orElse(null);
+        });
+    }
+
+    /**
+     * Inserts the rows {@link InsertStatement.BatchBuilder#DEFAULT_CHUNK_SIZE} at a time, counting the bytes of SQL
+     * sent. Bound values aren't counted, so the byte count is lower than what a COPY of the same rows reports.
+     */
+    private Optional<BulkLoadResult> insertInChunks(List<Column> columns, Iterator<List<Object>> rows, long start) {
+        long rowCount = 0;
+        long byteCount = 0;
+
+        while (rows.hasNext()) {
+            final InsertStatement.BatchBuilder builder = insertBatchStatementBuilder();
+            int chunkRowCount = 0;
+
+            while (rows.hasNext() && chunkRowCount < InsertStatement.BatchBuilder.DEFAULT_CHUNK_SIZE) {
+                builder.addRow(createColumnValuePairs(columns, rows.next()));
+                chunkRowCount++;
+            }
+
+            if (builder.getRows().stream().anyMatch(this::rowIsMissingRequiredFields)) {
+                LOGGER.warning(String.format("Cannot bulk load %s, a row is missing required columns", schema.getTableName()));
+                return Optional.empty();
+            }
+
+            final List<ParameterizedStatement> statements = builder.buildParameterized();
+            if (executeInsertAll(statements).isEmpty()) {
+                return Optional.empty();
+            }
+            rowCount += chunkRowCount;
+            byteCount += statements.stream()
+                    .mapToLong(statement -> statement.getSql().getBytes(StandardCharsets.UTF_8).length)
+                    .sum();
+        }
+
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return Optional.of(new BulkLoadResult(rowCount, byteCount, elapsed, false));
+    }
+
+    private List<ColumnValuePair> createColumnValuePairs(List<Column> columns, List<Object> values) {
+        final List<ColumnValuePair> pairs = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            final Object value = values.get(i);
+            if (value != null) {
+                pairs.add(new ColumnValuePair(columns.get(i), value));
+            }
+        }
+        return pairs;
     }
 
     @Override
-    public Boolean update(UpdateStatement.Builder builder) {
+    public Optional<List<T>> read(SelectStatement.Builder builder) {
+        final long start = startTiming();
+        final ParameterizedStatement query = builder.buildParameterized();
+        final Optional<List<T>> result = readThroughQueryCache(query);
+        recordStatement(StatementKind.READ, query.getSql(), start, result.map(List::size).orElse(-1));
+        return result;
+    }
+
+    private Optional<List<T>> readThroughQueryCache(ParameterizedStatement query) {
+        // inside a transaction reads may see its uncommitted writes, which must not leak to other threads
+        if (queryCache == null || TransactionContext.isActive()) {
+            return executePreparedQueryWithListReturnValue(StatementKind.READ, query, deserializer);
+        }
+
+        final Optional<List<?>> cached = queryCache.get(query);
+        if (cached.isPresent()) {
+            return castResponseList(Optional.<List>of(cached.get()), deserializer).map(this::copyForQueryCache);
+        }
+
+        final long generation = queryCache.getGeneration();
+        final Optional<List<T>> result = executePreparedQueryWithListReturnValue(StatementKind.READ, query, deserializer);
+        // a replica may not have replayed writes that committed, and invalidated the cache, before the read began
+        if (!executor.isLastQueryFromReplica()) {
+            result.ifPresent(ts -> queryCache.put(query, copyForQueryCache(ts), generation));
+        }
+        return result;
+    }
+
+    private List<T> copyForQueryCache(List<T> ts) {
+        return ts.stream().map(queryCacheCopier).collect(Collectors.toList());
+    }
+
+    public Stream<T> readStream(SelectStatement.Builder builder) {
+        return readStream(builder, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Lazily reads rows through a server-side cursor. The returned stream holds a connection until it is closed
+     * or fully consumed, so callers should use it in a try-with-resources block.
+     */
+    public Stream<T> readStream(SelectStatement.Builder builder, int fetchSize) {
         try {
-            final String statement = builder.build();
-            return executeUpdateWithBooleanReturnValue(statement, new SQLUpdateDeserializer());
+            final QueryCursor cursor = executor.executeStreamingQuery(builder.buildParameterized(), fetchSize);
+            final ResultSetIterator<T> iterator = new ResultSetIterator<>(cursor, deserializer);
+            final Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+            return StreamSupport.stream(spliterator, false).onClose(iterator::close);
         } catch (Exception e) {
-            // TODO: Add logging here
-            return false;
+            instrumentation.onError(StatementKind.READ, e);
+            return Stream.empty();
         }
     }
 
+    @Override
+    public Boolean update(UpdateStatement.Builder builder) {
+        return updateReturningCount(builder).map(count -> count > 0).orElse(false);
+    }
+
     @Override
     public Boolean delete(DeleteStatement.Builder builder) {
-        try {
-            final String statement = builder.build();
-            return executeUpdateWithBooleanReturnValue(statement, new SQLUpdateDeserializer());
-        } catch (Exception e) {
-            // TODO: Add logging here
-            return false;
-        }
+        return deleteReturningCount(builder).map(count -> count > 0).orElse(false);
+    }
+
+    /**
+     * Runs the update as a single set-based statement and returns how many rows it changed
+     */
+    public Optional<Integer> updateReturningCount(UpdateStatement.Builder builder) {
+        return write(() -> executePreparedUpdateWithCountReturnValue(StatementKind.UPDATE, builder.buildParameterized()));
+    }
+
+    public Optional<Integer> deleteReturningCount(DeleteStatement.Builder builder) {
+        return write(() -> executePreparedUpdateWithCountReturnValue(StatementKind.DELETE, builder.buildParameterized()));
     }
 
     @Override
     public Optional<List<T>> join(JoinStatement.Builder builder) {
         final String statement = builder.build();
-       return executeQueryWithListReturnValue(statement, deserializer);
+        return executeQueryWithListReturnValue(StatementKind.JOIN, statement, deserializer);
     }
 
     private Boolean executeUpdateWithBooleanReturnValue(final String statement, final Deserializer deserializer) {
+        final long start = startTiming();
         try {
             final DatabaseResponse response = executor.executeUpdate(statement, deserializer);
+            recordStatement(StatementKind.DDL, statement, start, -1);
             return response.getCastedObject(Boolean.class).orElse(false);
         } catch (Exception e) {
-            // TODO: Add logging here
+            recordFailure(StatementKind.DDL, statement, start, e);
             return false;
         }
     }
 
-    private Optional<List<T>> executeQueryWithListReturnValue(final String query, final ResultSetDeserializer<T> deserializer) {
+    private Optional<Integer> executePreparedUpdateWithCountReturnValue(final StatementKind kind, final ParameterizedStatement statement) {
+        final long start = startTiming();
         try {
-            Optional<List> response = executor.executeQuery(query, deserializer).getCastedObject(List.class);
+            final DatabaseResponse response = executor.executePreparedUpdate(statement, new SQLUpdateCountDeserializer());
+            final Optional<Integer> count = response.getCastedObject(Integer.class);
+            recordStatement(kind, statement.getSql(), start, count.orElse(-1));
+            return count;
+        } catch (Exception e) {
+            recordFailure(kind, statement.getSql(), start, e);
+            return Optional.empty();
+        }
+    }
 
-            if (response.isEmpty()) {
-                return Optional.empty();
-            }
+    private Optional<List<T>> executeQueryWithListReturnValue(final StatementKind kind,
+                                                              final String query,
+                                                              final ResultSetDeserializer<T> deserializer) {
+        final long start = startTiming();
+        try {
+            Optional<List> response = executor.executeQuery(query, deserializer).getCastedObject(List.class);
+            final Optional<List<T>> result = castResponseList(response, deserializer);
+            recordStatement(kind, query, start, result.map(List::size).orElse(-1));
+            return result;
+        } catch (Exception e) {
+            recordFailure(kind, query, start, e);
+            return Optional.empty();
+        }
+    }
 
-            final Class<T> tClass = deserializer.getGenericClassReference();
-            final List<T> castedObjectList = (List<T>) response.get().stream()
-                    .filter(tClass::isInstance)
-                    .map(tClass::cast)
-                    .collect(Collectors.toList());
-            return Optional.of(castedObjectList);
+    /**
+     * Only reports errors, as the caller times the whole read including the query cache
+     */
+    private Optional<List<T>> executePreparedQueryWithListReturnValue(final StatementKind kind,
+                                                                      final ParameterizedStatement query,
+                                                                      final ResultSetDeserializer<T> deserializer) {
+        try {
+            Optional<List> response = executor.executePreparedQuery(query, deserializer).getCastedObject(List.class);
+            return castResponseList(response, deserializer);
         } catch (Exception e) {
-            // TODO: add logging here
+            instrumentation.onError(kind, e);
             return Optional.empty();
         }
     }
 
+    private long startTiming() {
+        return instrumentation.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    private void recordStatement(StatementKind kind, String sql, long start, int rowCount) {
+        if (instrumentation.isEnabled()) {
+            instrumentation.onStatement(kind, sql, System.nanoTime() - start, rowCount);
+        }
+    }
+
+    private void recordFailure(StatementKind kind, String sql, long start, Exception exception) {
+        recordStatement(kind, sql, start, -1);
+        instrumentation.onError(kind, exception);
+    }
+
+    private Optional<List<T>> castResponseList(final Optional<List> response, final ResultSetDeserializer<T> deserializer) {
+        if (response.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Class<T> tClass = deserializer.getGenericClassReference();
+        final List<T> castedObjectList = (List<T>) response.get().stream()
+                .filter(tClass::isInstance)
+                .map(tClass::cast)
+                .collect(Collectors.toList());
+        return Optional.of(castedObjectList);
+    }
+
     private Boolean insertBuilderIsMissingRequiredFields(InsertStatement.Builder builder) {
-        final Set<Column> insertBuilderRequestsColumns = builder.getColumnValuePairs().stream()
+        return rowIsMissingRequiredFields(builder.getColumnValuePairs());
+    }
+
+    private Boolean rowIsMissingRequiredFields(List<ColumnValuePair> row) {
+        final Set<Column> insertBuilderRequestsColumns = row.stream()
                 .map(ColumnValuePair::getColumn)
                 .collect(Collectors.toSet());
         return schema.getColumns().stream()
@@ -177,6 +547,55 @@ public class SqlTableController<T> implements RelationalDatabase<T> {
                 .anyMatch(Predicate.not(insertBuilderRequestsColumns::contains));
     }
 
+    /**
+     * Drops every cached result now, and again once the enclosing transaction (if any) completes, so results read
+     * by other threads before the write committed aren't kept either
+     */
+    public void invalidateQueryCache() {
+        if (queryCache != null) {
+            queryCache.invalidateAll();
+            if (TransactionContext.isActive()) {
+                TransactionContext.afterCompletion(queryCache::invalidateAll);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the query cache around {@code write}: before, so reads stop being served from it, and again after,
+     * so results cached by reads that ran while the write did aren't kept
+     */
+    private <R> R write(Supplier<R> write) {
+        invalidateQueryCache();
+        try {
+            return write.get();
+        } finally {
+            if (queryCache != null) {
+                queryCache.invalidateAll();
+            }
+        }
+    }
+
+    public Optional<QueryCacheStatistics> getQueryCacheStatistics() {
+        return Optional.ofNullable(queryCache).map(QueryCache::getStatistics);
+    }
+
+    /**
+     * Reports the latency, row count & failures of every statement the controller runs
+     */
+    public void setInstrumentation(SqlInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Caches reads in {@code queryCache}. Cached models are shared by every thread, so {@code copier} copies each one
+     * going into the cache and each one handed out of it, and callers can modify what they read. Pass
+     * {@link UnaryOperator#identity()} only for immutable models.
+     */
+    public void setQueryCache(QueryCache queryCache, UnaryOperator<T> copier) {
+        this.queryCache = queryCache;
+        this.queryCacheCopier = copier;
+    }
+
     public void setDeserializer(ResultSetDeserializer<T> deserializer) {
         this.deserializer = deserializer;
     }
@@ -0,0 +1,11 @@
+package databases.crud.sql;
+
+/**
+ * Thrown by {@link TransactionContext#execute} when the work completed but its transaction failed to commit, so
+ * callers can tell it apart from a transaction that was rolled back
+ */
+public class TransactionCommitException extends RuntimeException {
+    public TransactionCommitException(Throwable cause) {
+        super("Failed to commit transaction", cause);
+    }
+}
@@ -0,0 +1,248 @@
+package databases.crud.sql;
+
+import commons.OptionalProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Unit of work bound to the calling thread. While one is open, executors sharing its connection provider run every
+ * statement on its connection and leave committing to the context, so several controller calls share one
+ * connection and one commit.
+ */
+public class TransactionContext {
+    private static final Logger LOGGER = Logger.getLogger(TransactionContext.class.getName());
+    private static final ThreadLocal<Map<OptionalProvider<Connection>, TransactionContext>> ACTIVE_TRANSACTIONS =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private final OptionalProvider<Connection> connectionProvider;
+    private final Connection connection;
+    private final List<Runnable> completionCallbacks = new ArrayList<>();
+    private boolean rollbackOnly = false;
+    private int savepointCount = 0;
+
+    public enum IsolationLevel {
+        DEFAULT(-1),
+        READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+        REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+        SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+        private final int level;
+
+        IsolationLevel(int level) {
+            this.level = level;
+        }
+
+        public int get() {
+            return level;
+        }
+    }
+
+    public interface Work<R> {
+        R run(TransactionContext context) throws Exception;
+    }
+
+    private TransactionContext(OptionalProvider<Connection> connectionProvider, Connection connection) {
+        this.connectionProvider = connectionProvider;
+        this.connection = connection;
+    }
+
+    public static Optional<TransactionContext> current(OptionalProvider<Connection> connectionProvider) {
+        return Optional.ofNullable(ACTIVE_TRANSACTIONS.get().get(connectionProvider));
+    }
+
+    /**
+     * Whether the calling thread has any transaction open, whichever connection provider it belongs to
+     */
+    public static boolean isActive() {
+        return !ACTIVE_TRANSACTIONS.get().isEmpty();
+    }
+
+    /**
+     * Runs {@code callback} when each transaction open on the calling thread commits or rolls back, or right away
+     * when none is open
+     */
+    public static void afterCompletion(Runnable callback) {
+        final Map<OptionalProvider<Connection>, TransactionContext> transactions = ACTIVE_TRANSACTIONS.get();
+        if (transactions.isEmpty()) {
+            callback.run();
+            return;
+        }
+        transactions.values().forEach(context -> context.completionCallbacks.add(callback));
+    }
+
+    public static <R> Optional<R> execute(OptionalProvider<Connection> connectionProvider, Work<R> work) {
+        return execute(connectionProvider, IsolationLevel.DEFAULT, work);
+    }
+
+    /**
+     * Runs {@code work} on a single connection and commits once it returns. The transaction is rolled back, and an
+     * empty Optional returned, if the work throws or any statement inside it failed. If the commit itself fails, the
+     * transaction is rolled back and a {@link TransactionCommitException} thrown instead. Nested calls join the
+     * enclosing transaction, in which case the isolation level is ignored.
+     */
+    public static <R> Optional<R> execute(OptionalProvider<Connection> connectionProvider, IsolationLevel isolationLevel, Work<R> work) {
+        final Optional<TransactionContext> enclosingContext = current(connectionProvider);
+        if (enclosingContext.isPresent()) {
+            try {
+                return Optional.ofNullable(work.run(enclosingContext.get()));
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, "Nested work failed, marking the transaction rollback-only", e);
+                enclosingContext.get().setRollbackOnly();
+                return Optional.empty();
+            }
+        }
+
+        final Optional<Connection> connection = connectionProvider.get();
+        if (connection.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final TransactionContext context = new TransactionContext(connectionProvider, connection.get());
+        int previousIsolationLevel = -1;
+
+        try {
+            connection.get().setAutoCommit(false);
+            if (isolationLevel != IsolationLevel.DEFAULT) {
+                previousIsolationLevel = connection.get().getTransactionIsolation();
+                connection.get().setTransactionIsolation(isolationLevel.get());
+            }
+
+            ACTIVE_TRANSACTIONS.get().put(connectionProvider, context);
+            final R result = work.run(context);
+
+            if (context.rollbackOnly) {
+                connection.get().rollback();
+                return Optional.empty();
+            }
+
+            context.commit();
+            return Optional.ofNullable(result);
+        } catch (TransactionCommitException e) {
+            context.rollbackQuietly();
+            throw e;
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Work failed, rolling the transaction back", e);
+            context.rollbackQuietly();
+            return Optional.empty();
+        } finally {
+            ACTIVE_TRANSACTIONS.get().remove(connectionProvider);
+            context.restoreIsolationLevel(previousIsolationLevel);
+            context.release();
+            context.completionCallbacks.forEach(Runnable::run);
+        }
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Marks the transaction so that it rolls back instead of committing once the work completes
+     */
+    public void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    public Savepoint setSavepoint() throws SQLException {
+        return connection.setSavepoint("savepoint_" + ++savepointCount);
+    }
+
+    public void rollbackTo(Savepoint savepoint) throws SQLException {
+        connection.rollback(savepoint);
+    }
+
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        connection.releaseSavepoint(savepoint);
+    }
+
+    /**
+     * Runs {@code work} behind a savepoint. If it throws or a statement inside it fails, only its changes are rolled
+     * back and the enclosing transaction can still commit.
+     */
+    public <R> Optional<R> inSavepoint(Work<R> work) {
+        final boolean wasRollbackOnly = rollbackOnly;
+        final Savepoint savepoint;
+        try {
+            savepoint = setSavepoint();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to set a savepoint, marking the transaction rollback-only", e);
+            setRollbackOnly();
+            return Optional.empty();
+        }
+
+        try {
+            final R result = work.run(this);
+            if (rollbackOnly && !wasRollbackOnly) {
+                rollbackTo(savepoint);
+                rollbackOnly = false;
+                return Optional.empty();
+            }
+
+            releaseSavepoint(savepoint);
+            return Optional.ofNullable(result);
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Work failed, rolling back to its savepoint", e);
+            try {
+                rollbackTo(savepoint);
+                rollbackOnly = wasRollbackOnly;
+            } catch (SQLException rollbackException) {
+                setRollbackOnly();
+            }
+            return Optional.empty();
+        }
+    }
+
+    private void commit() {
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            throw new TransactionCommitException(e);
+        }
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException throwables) {
+            LOGGER.log(Level.WARNING, "Failed to roll back transaction", throwables);
+        }
+    }
+
+    private void restoreIsolationLevel(int isolationLevel) {
+        if (isolationLevel == -1) {
+            return;
+        }
+
+        try {
+            connection.setTransactionIsolation(isolationLevel);
+        } catch (SQLException throwables) {
+            LOGGER.log(Level.WARNING, "Failed to restore the connection's isolation level", throwables);
+        }
+    }
+
+    private void release() {
+        if (connectionProvider instanceof ConnectionPool) {
+            ((ConnectionPool) connectionProvider).release(connection);
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException throwables) {
+            LOGGER.log(Level.WARNING, "Failed to close the transaction's connection", throwables);
+        }
+    }
+}
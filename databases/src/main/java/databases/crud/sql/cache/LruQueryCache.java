@@ -0,0 +1,163 @@
+package databases.crud.sql.cache;
+
+import databases.crud.sql.ParameterizedStatement;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded {@link QueryCache} evicting the least recently used result, with optional expiry a fixed time after
+ * an entry was written and/or last read. Expired entries are dropped lazily when looked up or when making room.
+ */
+public class LruQueryCache implements QueryCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final int maximumSize;
+    private final long expireAfterWriteMillis;
+    private final long expireAfterAccessMillis;
+    private final Clock clock;
+    private final LinkedHashMap<ParameterizedStatement, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long generation = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    private LruQueryCache(Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.expireAfterWriteMillis = builder.expireAfterWrite.toMillis();
+        this.expireAfterAccessMillis = builder.expireAfterAccess.toMillis();
+        this.clock = builder.clock;
+    }
+
+    private static class Entry {
+        private final List<?> result;
+        private final long writtenAt;
+        private long accessedAt;
+
+        private Entry(List<?> result, long now) {
+            this.result = result;
+            this.writtenAt = now;
+            this.accessedAt = now;
+        }
+    }
+
+    public static class Builder {
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Duration expireAfterWrite = Duration.ZERO;
+        private Duration expireAfterAccess = Duration.ZERO;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {
+        }
+
+        public Builder maximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Drops entries this long after they were cached, however often they're read. Zero (the default) disables it.
+         */
+        public Builder expireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * Drops entries not read for this long. Zero (the default) disables it.
+         */
+        public Builder expireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public LruQueryCache build() {
+            return new LruQueryCache(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public synchronized Optional<List<?>> get(ParameterizedStatement query) {
+        final Entry entry = entries.get(query);
+        final long now = clock.millis();
+
+        if (entry == null || isExpired(entry, now)) {
+            if (entry != null) {
+                entries.remove(query);
+                evictions++;
+            }
+            misses++;
+            return Optional.empty();
+        }
+
+        entry.accessedAt = now;
+        hits++;
+        return Optional.of(entry.result);
+    }
+
+    @Override
+    public synchronized void put(ParameterizedStatement query, List<?> result, long generation) {
+        if (generation != this.generation || maximumSize <= 0) {
+            return;
+        }
+
+        entries.put(query, new Entry(List.copyOf(result), clock.millis()));
+        if (entries.size() > maximumSize) {
+            evictExpiredEntries();
+        }
+
+        final Iterator<ParameterizedStatement> leastRecentlyUsed = entries.keySet().iterator();
+        while (entries.size() > maximumSize) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    @Override
+    public synchronized QueryCacheStatistics getStatistics() {
+        return new QueryCacheStatistics(hits, misses, evictions, entries.size());
+    }
+
+    private void evictExpiredEntries() {
+        final long now = clock.millis();
+        final Iterator<Map.Entry<ParameterizedStatement, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next().getValue(), now)) {
+                iterator.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return (expireAfterWriteMillis > 0 && now - entry.writtenAt >= expireAfterWriteMillis)
+                || (expireAfterAccessMillis > 0 && now - entry.accessedAt >= expireAfterAccessMillis);
+    }
+}
@@ -0,0 +1,34 @@
+package databases.crud.sql.cache;
+
+import databases.crud.sql.ParameterizedStatement;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Second-level cache of query results for a single table, shared by every thread reading it. Results are keyed by
+ * their {@link ParameterizedStatement}, i.e. SQL text plus bound values, so a lookup by primary key is cached under
+ * its key like any other query. A write can change the result of any query on the table, so writes invalidate the
+ * whole cache rather than individual entries.
+ * <p>
+ * The cache holds on to the result objects it's given and hands the same ones to every caller, so callers put and
+ * get copies of anything mutable.
+ */
+public interface QueryCache {
+    Optional<List<?>> get(ParameterizedStatement query);
+
+    /**
+     * Caches the result unless the cache was invalidated since {@code generation} was read, which means a write
+     * may have landed while the query ran and the result could already be stale
+     */
+    void put(ParameterizedStatement query, List<?> result, long generation);
+
+    /**
+     * Number of invalidations so far; read it before running a query whose result will be {@link #put}
+     */
+    long getGeneration();
+
+    void invalidateAll();
+
+    QueryCacheStatistics getStatistics();
+}
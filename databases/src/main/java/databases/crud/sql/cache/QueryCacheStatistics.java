@@ -0,0 +1,42 @@
+package databases.crud.sql.cache;
+
+public class QueryCacheStatistics {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    public QueryCacheStatistics(long hits, long misses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        final long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, evictions=%d, size=%d, hitRate=%.2f",
+                hits, misses, evictions, size, getHitRate());
+    }
+}
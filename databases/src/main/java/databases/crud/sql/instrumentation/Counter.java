@@ -0,0 +1,22 @@
+package databases.crud.sql.instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic count, mirroring Micrometer's {@code Counter}
+ */
+public class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void increment(long amount) {
+        count.add(amount);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+}
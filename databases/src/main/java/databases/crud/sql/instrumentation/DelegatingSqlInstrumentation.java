@@ -0,0 +1,42 @@
+package databases.crud.sql.instrumentation;
+
+/**
+ * Forwards to an instrumentation that can be swapped at runtime, so long-lived executors and controllers can be
+ * handed this once and still report to whatever instrumentation is installed later
+ */
+public class DelegatingSqlInstrumentation implements SqlInstrumentation {
+    private volatile SqlInstrumentation delegate = SqlInstrumentation.NOOP;
+
+    public SqlInstrumentation getDelegate() {
+        return delegate;
+    }
+
+    public void setDelegate(SqlInstrumentation delegate) {
+        this.delegate = delegate == null ? SqlInstrumentation.NOOP : delegate;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return delegate.isEnabled();
+    }
+
+    @Override
+    public void onStatement(StatementKind kind, String sql, long elapsedNanos, int rowCount) {
+        delegate.onStatement(kind, sql, elapsedNanos, rowCount);
+    }
+
+    @Override
+    public void onDeserialization(long elapsedNanos, int rowCount) {
+        delegate.onDeserialization(elapsedNanos, rowCount);
+    }
+
+    @Override
+    public void onConnectionAcquired(long elapsedNanos) {
+        delegate.onConnectionAcquired(elapsedNanos);
+    }
+
+    @Override
+    public void onError(StatementKind kind, Exception exception) {
+        delegate.onError(kind, exception);
+    }
+}
@@ -0,0 +1,36 @@
+package databases.crud.sql.instrumentation;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Reports every statement taking at least {@code threshold}, along with its rendered SQL. Parameterized statements
+ * are reported with their placeholders, so bound values don't end up in logs.
+ */
+public class SlowQueryLog implements SqlInstrumentation {
+    public static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(500);
+    private static final Logger LOGGER = Logger.getLogger(SlowQueryLog.class.getName());
+
+    private final long thresholdNanos;
+    private final Consumer<String> log;
+
+    /**
+     * Logs slow statements as warnings to the {@code databases.crud.sql.instrumentation.SlowQueryLog} logger
+     */
+    public SlowQueryLog(Duration threshold) {
+        this(threshold, LOGGER::warning);
+    }
+
+    public SlowQueryLog(Duration threshold, Consumer<String> log) {
+        this.thresholdNanos = threshold.toNanos();
+        this.log = log;
+    }
+
+    @Override
+    public void onStatement(StatementKind kind, String sql, long elapsedNanos, int rowCount) {
+        if (elapsedNanos >= thresholdNanos) {
+            log.accept(String.format("Slow %s took %d ms (%d rows): %s", kind, elapsedNanos / 1_000_000, rowCount, sql));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package databases.crud.sql.instrumentation;
+
+import java.util.List;
+
+/**
+ * Receives timings and outcomes from {@link databases.crud.sql.SqlTableController} and
+ * {@link databases.crud.sql.postgresql.executors.PostgresqlExecutor}. Every callback runs on the calling thread in the
+ * hot path, so implementations should only update meters, e.g. Micrometer timers & counters, or {@link SqlMetrics}.
+ * <p>
+ * Callers skip timing entirely while {@link #isEnabled()} is false, which is what {@link #NOOP} relies on.
+ */
+public interface SqlInstrumentation {
+    SqlInstrumentation NOOP = new SqlInstrumentation() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * A statement completed, {@code rowCount} being the rows returned or affected, or -1 when unknown
+     */
+    default void onStatement(StatementKind kind, String sql, long elapsedNanos, int rowCount) {
+    }
+
+    /**
+     * Results were deserialized, {@code rowCount} being the number of objects produced, or -1 when unknown
+     */
+    default void onDeserialization(long elapsedNanos, int rowCount) {
+    }
+
+    /**
+     * A connection was borrowed from the pool (or opened), excluding connections of an open transaction
+     */
+    default void onConnectionAcquired(long elapsedNanos) {
+    }
+
+    default void onError(StatementKind kind, Exception exception) {
+    }
+
+    /**
+     * Forwards every callback to each of the instrumentations in order, e.g. metrics and a {@link SlowQueryLog}
+     */
+    static SqlInstrumentation of(SqlInstrumentation... instrumentations) {
+        final List<SqlInstrumentation> delegates = List.of(instrumentations);
+        final boolean enabled = delegates.stream().anyMatch(SqlInstrumentation::isEnabled);
+        return new SqlInstrumentation() {
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            @Override
+            public void onStatement(StatementKind kind, String sql, long elapsedNanos, int rowCount) {
+                delegates.forEach(delegate -> delegate.onStatement(kind, sql, elapsedNanos, rowCount));
+            }
+
+            @Override
+            public void onDeserialization(long elapsedNanos, int rowCount) {
+                delegates.forEach(delegate -> delegate.onDeserialization(elapsedNanos, rowCount));
+            }
+
+            @Override
+            public void onConnectionAcquired(long elapsedNanos) {
+                delegates.forEach(delegate -> delegate.onConnectionAcquired(elapsedNanos));
+            }
+
+            @Override
+            public void onError(StatementKind kind, Exception exception) {
+                delegates.forEach(delegate -> delegate.onError(kind, exception));
+            }
+        };
+    }
+}
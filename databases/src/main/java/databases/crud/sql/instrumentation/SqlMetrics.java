@@ -0,0 +1,120 @@
+package databases.crud.sql.instrumentation;
+
+import databases.crud.sql.SqlExecutorException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory meters for every {@link SqlInstrumentation} callback. A Micrometer bridge would register the same meters
+ * under the names below, tagging statement meters with {@code kind} and errors with {@code exception}.
+ */
+public class SqlMetrics implements SqlInstrumentation {
+    public static final String STATEMENT_TIMER = "sql.statement";
+    public static final String ROWS_COUNTER = "sql.statement.rows";
+    public static final String DESERIALIZATION_TIMER = "sql.deserialization";
+    public static final String DESERIALIZED_ROWS_COUNTER = "sql.deserialization.rows";
+    public static final String CONNECTION_ACQUIRE_TIMER = "sql.connection.acquire";
+    public static final String ERROR_COUNTER = "sql.errors";
+
+    private final Map<StatementKind, Timer> statementTimers = new EnumMap<>(StatementKind.class);
+    private final Map<StatementKind, Counter> rowCounters = new EnumMap<>(StatementKind.class);
+    private final Timer deserializationTimer = new Timer();
+    private final Counter deserializedRowCounter = new Counter();
+    private final Timer connectionAcquireTimer = new Timer();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public SqlMetrics() {
+        // every kind is registered up front, so the enum maps are only read afterwards
+        for (StatementKind kind : StatementKind.values()) {
+            statementTimers.put(kind, new Timer());
+            rowCounters.put(kind, new Counter());
+        }
+    }
+
+    @Override
+    public void onStatement(StatementKind kind, String sql, long elapsedNanos, int rowCount) {
+        statementTimers.get(kind).record(elapsedNanos);
+        if (rowCount > 0) {
+            rowCounters.get(kind).increment(rowCount);
+        }
+    }
+
+    @Override
+    public void onDeserialization(long elapsedNanos, int rowCount) {
+        deserializationTimer.record(elapsedNanos);
+        if (rowCount > 0) {
+            deserializedRowCounter.increment(rowCount);
+        }
+    }
+
+    @Override
+    public void onConnectionAcquired(long elapsedNanos) {
+        connectionAcquireTimer.record(elapsedNanos);
+    }
+
+    @Override
+    public void onError(StatementKind kind, Exception exception) {
+        errorCounters.computeIfAbsent(getErrorType(exception), type -> new Counter()).increment();
+    }
+
+    public Timer getStatementTimer(StatementKind kind) {
+        return statementTimers.get(kind);
+    }
+
+    public Counter getRowCounter(StatementKind kind) {
+        return rowCounters.get(kind);
+    }
+
+    public Timer getDeserializationTimer() {
+        return deserializationTimer;
+    }
+
+    public Counter getDeserializedRowCounter() {
+        return deserializedRowCounter;
+    }
+
+    public Timer getConnectionAcquireTimer() {
+        return connectionAcquireTimer;
+    }
+
+    public long getErrorCount(String errorType) {
+        final Counter counter = errorCounters.get(errorType);
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Error counts keyed by {@link #getErrorType(Exception)}
+     */
+    public Map<String, Long> getErrorCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        errorCounters.forEach((type, counter) -> counts.put(type, counter.count()));
+        return counts;
+    }
+
+    /**
+     * The message of a {@link SqlExecutorException}, as each of its constants stands for one kind of failure, or the
+     * class name of any other exception
+     */
+    public static String getErrorType(Exception exception) {
+        if (exception instanceof SqlExecutorException) {
+            return exception.getMessage();
+        }
+        return exception.getClass().getSimpleName();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder description = new StringBuilder();
+        statementTimers.forEach((kind, timer) -> {
+            if (timer.count() > 0) {
+                description.append(kind).append(": ").append(timer).append(", rows=").append(rowCounters.get(kind).count()).append('\n');
+            }
+        });
+        description.append("deserialization: ").append(deserializationTimer).append('\n');
+        description.append("connection acquire: ").append(connectionAcquireTimer).append('\n');
+        return description.append("errors: ").append(getErrorCounts()).toString();
+    }
+}
@@ -0,0 +1,12 @@
+package databases.crud.sql.instrumentation;
+
+public enum StatementKind {
+    INSERT,
+    READ,
+    UPDATE,
+    DELETE,
+    JOIN,
+    COPY,
+    // CREATE / DROP of tables and indexes
+    DDL
+}
@@ -0,0 +1,86 @@
+package databases.crud.sql.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram mirroring Micrometer's {@code Timer}. Durations are counted in power-of-two buckets from about a
+ * microsecond up to about 34 seconds, so percentiles are approximate (within a factor of two) but recording never
+ * allocates or locks.
+ */
+public class Timer {
+    // the first bucket holds everything up to 2^10 ns, the last everything from 2^35 ns
+    private static final int SMALLEST_BUCKET_SHIFT = 10;
+    private static final int BUCKET_COUNT = 26;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long elapsedNanos) {
+        final long nanos = Math.max(0, elapsedNanos);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        buckets.incrementAndGet(getBucket(nanos));
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double totalTime(TimeUnit unit) {
+        return toUnit(totalNanos.sum(), unit);
+    }
+
+    public double max(TimeUnit unit) {
+        return toUnit(maxNanos.get(), unit);
+    }
+
+    public double mean(TimeUnit unit) {
+        final long count = count();
+        return count == 0 ? 0 : toUnit(totalNanos.sum(), unit) / count;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile ({@code 0.99} for the 99th), capped at the maximum seen
+     */
+    public double percentile(double percentile, TimeUnit unit) {
+        final long count = count();
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= rank) {
+                return toUnit(Math.min(getBucketUpperBound(bucket), maxNanos.get()), unit);
+            }
+        }
+        return max(unit);
+    }
+
+    private static int getBucket(long nanos) {
+        final int magnitude = 64 - Long.numberOfLeadingZeros(nanos);
+        return Math.min(BUCKET_COUNT - 1, Math.max(0, magnitude - SMALLEST_BUCKET_SHIFT));
+    }
+
+    private static long getBucketUpperBound(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << (bucket + SMALLEST_BUCKET_SHIFT);
+    }
+
+    private static double toUnit(long nanos, TimeUnit unit) {
+        return (double) nanos / unit.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.3fms, p99=%.3fms, max=%.3fms",
+                count(), mean(TimeUnit.MILLISECONDS), percentile(0.99, TimeUnit.MILLISECONDS), max(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,354 @@
+package databases.crud.sql.postgresql;
+
+import commons.OptionalProvider;
+import databases.crud.sql.ConnectionPool;
+import databases.crud.sql.ConnectionPoolStatistics;
+import databases.crud.sql.PreparedStatementCache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of physical connections created by a delegate provider (usually a {@link PostgresqlConnection})
+ */
+public class PostgresqlConnectionPool implements ConnectionPool {
+    private final OptionalProvider<Connection> connectionFactory;
+    private final int minimumSize;
+    private final int maximumSize;
+    private final long idleTimeoutNanos;
+    private final long maxLifetimeNanos;
+    private final long borrowTimeoutNanos;
+    private final long validationBypassNanos;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final Semaphore borrowPermits;
+    private final BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Map<Connection, PooledConnection> borrowedConnections = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final LongAdder totalBorrows = new LongAdder();
+    private final LongAdder totalBorrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    private PostgresqlConnectionPool(Builder builder) {
+        this.connectionFactory = builder.connectionFactory;
+        this.minimumSize = builder.minimumSize;
+        this.maximumSize = builder.maximumSize;
+        this.idleTimeoutNanos = builder.idleTimeout.toNanos();
+        this.maxLifetimeNanos = builder.maxLifetime.toNanos();
+        this.borrowTimeoutNanos = builder.borrowTimeout.toNanos();
+        this.validationBypassNanos = builder.validationBypass.toNanos();
+        this.validationTimeoutSeconds = builder.validationTimeoutSeconds;
+        this.statementCacheSize = builder.statementCacheSize;
+        this.borrowPermits = new Semaphore(builder.maximumSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "postgresql-connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final long period = builder.housekeepingPeriod.toMillis();
+        this.housekeeper.scheduleWithFixedDelay(this::performHousekeeping, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    public static Builder newBuilder(OptionalProvider<Connection> connectionFactory) {
+        return new Builder(connectionFactory);
+    }
+
+    public static class Builder {
+        private final OptionalProvider<Connection> connectionFactory;
+        private int minimumSize = 2;
+        private int maximumSize = 10;
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Duration maxLifetime = Duration.ofMinutes(30);
+        private Duration borrowTimeout = Duration.ofSeconds(30);
+        private Duration validationBypass = Duration.ofMillis(500);
+        private Duration housekeepingPeriod = Duration.ofSeconds(30);
+        private int validationTimeoutSeconds = 5;
+        private int statementCacheSize = 64;
+
+        private Builder(OptionalProvider<Connection> connectionFactory) {
+            this.connectionFactory = connectionFactory;
+        }
+
+        public Builder setMinimumSize(int minimumSize) {
+            this.minimumSize = minimumSize;
+            return this;
+        }
+
+        public Builder setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        public Builder setMaxLifetime(Duration maxLifetime) {
+            this.maxLifetime = maxLifetime;
+            return this;
+        }
+
+        public Builder setBorrowTimeout(Duration borrowTimeout) {
+            this.borrowTimeout = borrowTimeout;
+            return this;
+        }
+
+        /**
+         * Connections returned to the pool more recently than this are handed out without a validation round trip
+         */
+        public Builder setValidationBypass(Duration validationBypass) {
+            this.validationBypass = validationBypass;
+            return this;
+        }
+
+        public Builder setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+            this.validationTimeoutSeconds = validationTimeoutSeconds;
+            return this;
+        }
+
+        /**
+         * Number of prepared statements kept open per connection, zero disables statement caching
+         */
+        public Builder setStatementCacheSize(int statementCacheSize) {
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        public Builder setHousekeepingPeriod(Duration housekeepingPeriod) {
+            this.housekeepingPeriod = housekeepingPeriod;
+            return this;
+        }
+
+        public PostgresqlConnectionPool build() {
+            if (connectionFactory == null || maximumSize < 1 || minimumSize < 0 || minimumSize > maximumSize
+                    || statementCacheSize < 0) {
+                throw new IllegalArgumentException("Invalid connection pool configuration");
+            }
+
+            return new PostgresqlConnectionPool(this);
+        }
+    }
+
+    @Override
+    public Optional<Connection> get() {
+        if (closed) {
+            return Optional.empty();
+        }
+
+        final long start = System.nanoTime();
+
+        try {
+            if (!borrowPermits.tryAcquire(borrowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+
+        Optional<PooledConnection> connection = takeIdleConnection();
+        if (connection.isEmpty()) {
+            connection = createConnection();
+        }
+
+        if (connection.isEmpty()) {
+            borrowPermits.release();
+            return Optional.empty();
+        }
+
+        final PooledConnection pooledConnection = connection.get();
+        borrowedConnections.put(pooledConnection.connection, pooledConnection);
+        recordBorrowLatency(System.nanoTime() - start);
+        return Optional.of(pooledConnection.connection);
+    }
+
+    @Override
+    public void release(Connection connection) {
+        final PooledConnection pooledConnection = borrowedConnections.remove(connection);
+
+        if (pooledConnection == null) {
+            // a repeated release of a connection that's already idle must not close it under the next borrower
+            if (!isIdle(connection)) {
+                closeQuietly(connection);
+            }
+            return;
+        }
+
+        try {
+            if (closed || connection.isClosed() || pooledConnection.isExpired(System.nanoTime())) {
+                destroy(pooledConnection);
+            } else {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                pooledConnection.lastUsedNanos = System.nanoTime();
+                idleConnections.offerFirst(pooledConnection);
+            }
+        } catch (SQLException e) {
+            destroy(pooledConnection);
+        } finally {
+            borrowPermits.release();
+        }
+    }
+
+    @Override
+    public Optional<PreparedStatementCache> getStatementCache(Connection connection) {
+        final PooledConnection pooledConnection = borrowedConnections.get(connection);
+        return pooledConnection == null ? Optional.empty() : Optional.ofNullable(pooledConnection.statementCache);
+    }
+
+    @Override
+    public ConnectionPoolStatistics getStatistics() {
+        return new ConnectionPoolStatistics(
+                borrowedConnections.size(),
+                idleConnections.size(),
+                borrowPermits.getQueueLength(),
+                totalBorrows.sum(),
+                totalBorrowNanos.sum(),
+                maxBorrowNanos.get()
+        );
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            destroy(pooledConnection);
+        }
+    }
+
+    private boolean isIdle(Connection connection) {
+        return idleConnections.stream().anyMatch(pooledConnection -> pooledConnection.connection == connection);
+    }
+
+    private Optional<PooledConnection> takeIdleConnection() {
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            final long now = System.nanoTime();
+            if (pooledConnection.isExpired(now) || !isValid(pooledConnection, now)) {
+                destroy(pooledConnection);
+            } else {
+                return Optional.of(pooledConnection);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isValid(PooledConnection pooledConnection, long now) {
+        if (now - pooledConnection.lastUsedNanos < validationBypassNanos) {
+            return true;
+        }
+
+        try {
+            return pooledConnection.connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Optional<PooledConnection> createConnection() {
+        if (totalConnections.incrementAndGet() > maximumSize) {
+            totalConnections.decrementAndGet();
+            return Optional.empty();
+        }
+
+        final Optional<Connection> connection = connectionFactory.get();
+        if (connection.isEmpty()) {
+            totalConnections.decrementAndGet();
+            return Optional.empty();
+        }
+
+        return Optional.of(new PooledConnection(connection.get(), System.nanoTime()));
+    }
+
+    private void destroy(PooledConnection pooledConnection) {
+        totalConnections.decrementAndGet();
+        if (pooledConnection.statementCache != null) {
+            pooledConnection.statementCache.clear();
+        }
+        closeQuietly(pooledConnection.connection);
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // the connection is being discarded either way
+        }
+    }
+
+    private void recordBorrowLatency(long nanos) {
+        totalBorrows.increment();
+        totalBorrowNanos.add(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void performHousekeeping() {
+        final long now = System.nanoTime();
+        final Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+
+        while (iterator.hasNext()) {
+            final PooledConnection pooledConnection = iterator.next();
+            final boolean idleTooLong = now - pooledConnection.lastUsedNanos > idleTimeoutNanos
+                    && totalConnections.get() > minimumSize;
+
+            if ((idleTooLong || pooledConnection.isExpired(now)) && idleConnections.remove(pooledConnection)) {
+                destroy(pooledConnection);
+            }
+        }
+
+        while (!closed && totalConnections.get() < minimumSize) {
+            final Optional<PooledConnection> connection = createConnection();
+            if (connection.isEmpty()) {
+                break;
+            }
+            idleConnections.offerLast(connection.get());
+        }
+    }
+
+    private class PooledConnection {
+        private final Connection connection;
+        private final long createdNanos;
+        private final PreparedStatementCache statementCache;
+        private volatile long lastUsedNanos;
+
+        private PooledConnection(Connection connection, long createdNanos) {
+            this.connection = connection;
+            this.createdNanos = createdNanos;
+            this.lastUsedNanos = createdNanos;
+            this.statementCache = statementCacheSize > 0 ? new PreparedStatementCache(connection, statementCacheSize) : null;
+        }
+
+        private boolean isExpired(long now) {
+            return now - createdNanos > maxLifetimeNanos;
+        }
+    }
+}
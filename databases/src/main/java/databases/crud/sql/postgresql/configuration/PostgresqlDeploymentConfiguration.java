@@ -1,7 +1,11 @@
 package databases.crud.sql.postgresql.configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class PostgresqlDeploymentConfiguration {
     private PostgresqlConfiguration postgresqlConfiguration;
+    private List<PostgresqlConfiguration> replicaConfigurations = new ArrayList<>();
     private PgAdminConfiguration pgAdminConfiguration;
 
     public PostgresqlDeploymentConfiguration() {
@@ -15,6 +19,19 @@ public class PostgresqlDeploymentConfiguration {
         this.postgresqlConfiguration = postgresqlConfiguration;
     }
 
+    /**
+     * Read-only streaming replicas of the primary, empty when every statement should go to the primary. Only used to
+     * connect to replicas set up elsewhere, {@link databases.crud.sql.postgresql.configuration.adapters.PostgresqlConfigurationToDeployment}
+     * doesn't deploy them.
+     */
+    public List<PostgresqlConfiguration> getReplicaConfigurations() {
+        return replicaConfigurations;
+    }
+
+    private void setReplicaConfigurations(List<PostgresqlConfiguration> replicaConfigurations) {
+        this.replicaConfigurations = replicaConfigurations == null ? new ArrayList<>() : replicaConfigurations;
+    }
+
     public PgAdminConfiguration getPgAdminConfiguration() {
         return pgAdminConfiguration;
     }
@@ -23,7 +40,7 @@ public class PostgresqlDeploymentConfiguration {
         this.pgAdminConfiguration = pgAdminConfiguration;
     }
 
-    public class PostgresqlConfiguration {
+    public static class PostgresqlConfiguration {
         private String serviceName;
         private String host;
         private int port;
@@ -0,0 +1,48 @@
+package databases.crud.sql.postgresql.copy;
+
+import java.time.Duration;
+
+public class BulkLoadResult {
+    private final long rowCount;
+    private final long bytesWritten;
+    private final Duration elapsed;
+    private final boolean usedCopy;
+
+    public BulkLoadResult(long rowCount, long bytesWritten, Duration elapsed, boolean usedCopy) {
+        this.rowCount = rowCount;
+        this.bytesWritten = bytesWritten;
+        this.elapsed = elapsed;
+        this.usedCopy = usedCopy;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Bytes streamed to the server. When the load fell back to batched inserts, only the bytes of the statements' SQL,
+     * not of their bound values.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public double getRowsPerSecond() {
+        final long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : rowCount * 1_000_000_000d / nanos;
+    }
+
+    public boolean usedCopy() {
+        return usedCopy;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rows=%d, bytes=%d, elapsed=%s, rows/sec=%.1f, copy=%b",
+                rowCount, bytesWritten, elapsed, getRowsPerSecond(), usedCopy);
+    }
+}
@@ -0,0 +1,20 @@
+package databases.crud.sql.postgresql.copy;
+
+public enum CopyFormat {
+    CSV,
+    BINARY;
+
+    CopyFormat() {
+    }
+
+    public String get() {
+        switch (this) {
+            case CSV:
+                return "csv";
+            case BINARY:
+                return "binary";
+            default:
+                return null;
+        }
+    }
+}
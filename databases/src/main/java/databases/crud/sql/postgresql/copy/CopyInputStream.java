@@ -0,0 +1,251 @@
+package databases.crud.sql.postgresql.copy;
+
+import databases.crud.sql.Column;
+import databases.crud.sql.ColumnValues;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lazily encodes rows into {@code COPY ... FROM STDIN} payload as the driver reads from it,
+ * so only a few kilobytes of encoded rows are ever held in memory
+ */
+public class CopyInputStream extends InputStream {
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final int TARGET_BUFFER_SIZE = 8192;
+    private static final Instant POSTGRES_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+    private static final int JSONB_VERSION = 1;
+
+    private final Iterator<List<Object>> rows;
+    private final List<Column> columns;
+    private final CopyFormat format;
+    private final RowBuffer buffer = new RowBuffer();
+    private final DataOutputStream output = new DataOutputStream(buffer);
+    private int position = 0;
+    private boolean headerWritten = false;
+    private boolean trailerWritten = false;
+    private long rowCount = 0;
+    private long byteCount = 0;
+
+    public CopyInputStream(Iterator<List<Object>> rows, List<Column> columns, CopyFormat format) {
+        this.rows = rows;
+        this.columns = columns;
+        this.format = format;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+
+        byteCount++;
+        return buffer.bytes()[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] destination, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!fill()) {
+            return -1;
+        }
+
+        final int count = Math.min(length, buffer.size() - position);
+        System.arraycopy(buffer.bytes(), position, destination, offset, count);
+        position += count;
+        byteCount += count;
+        return count;
+    }
+
+    private boolean fill() throws IOException {
+        if (position < buffer.size()) {
+            return true;
+        }
+
+        buffer.reset();
+        position = 0;
+
+        if (!headerWritten) {
+            writeHeader();
+            headerWritten = true;
+        }
+
+        while (buffer.size() < TARGET_BUFFER_SIZE && rows.hasNext()) {
+            writeRow(rows.next());
+            rowCount++;
+        }
+
+        if (!rows.hasNext() && !trailerWritten) {
+            writeTrailer();
+            trailerWritten = true;
+        }
+
+        return buffer.size() > 0;
+    }
+
+    private void writeHeader() throws IOException {
+        if (format == CopyFormat.BINARY) {
+            output.write(BINARY_SIGNATURE);
+            output.writeInt(0);
+            output.writeInt(0);
+        }
+    }
+
+    private void writeTrailer() throws IOException {
+        if (format == CopyFormat.BINARY) {
+            output.writeShort(-1);
+        }
+    }
+
+    private void writeRow(List<Object> values) throws IOException {
+        if (values.size() != columns.size()) {
+            throw new IOException(String.format("Expected %d values but row has %d", columns.size(), values.size()));
+        }
+
+        if (format == CopyFormat.BINARY) {
+            writeBinaryRow(values);
+        } else {
+            writeCsvRow(values);
+        }
+    }
+
+    private void writeCsvRow(List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                output.write(',');
+            }
+
+            final Object value = values.get(i);
+            if (value != null) {
+                writeCsvValue(toCsvText(value));
+            }
+        }
+        output.write('\n');
+    }
+
+    private void writeCsvValue(String value) throws IOException {
+        final boolean needsQuotes = value.isEmpty() || value.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r');
+
+        if (!needsQuotes) {
+            output.write(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        output.write('"');
+        output.write(value.replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8));
+        output.write('"');
+    }
+
+    private void writeBinaryRow(List<Object> values) throws IOException {
+        output.writeShort(values.size());
+
+        for (int i = 0; i < values.size(); i++) {
+            final Object value = values.get(i);
+            if (value == null) {
+                output.writeInt(-1);
+                continue;
+            }
+
+            try {
+                writeBinaryValue(columns.get(i).getType(), value);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new IOException(String.format("Cannot encode '%s' as %s", value, columns.get(i).getType()), e);
+            }
+        }
+    }
+
+    private void writeBinaryValue(Column.Type type, Object value) throws IOException {
+        switch (type) {
+            case SERIAL_PRIMARY_KEY:
+            case FOREIGN_KEY:
+            case INTEGER:
+                output.writeInt(4);
+                output.writeInt(ColumnValues.toInt(value));
+                break;
+            case BIGINT:
+                output.writeInt(8);
+                output.writeLong(ColumnValues.toLong(value));
+                break;
+            case DOUBLE:
+                output.writeInt(8);
+                output.writeDouble(ColumnValues.toDouble(value));
+                break;
+            case BOOLEAN:
+                output.writeInt(1);
+                output.writeByte(ColumnValues.toBoolean(value) ? 1 : 0);
+                break;
+            case TIMESTAMPTZ:
+                final Instant instant = ColumnValues.toInstant(value);
+                output.writeInt(8);
+                output.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, instant));
+                break;
+            case UUID:
+                final UUID uuid = ColumnValues.toUuid(value);
+                output.writeInt(16);
+                output.writeLong(uuid.getMostSignificantBits());
+                output.writeLong(uuid.getLeastSignificantBits());
+                break;
+            case BYTEA:
+                final byte[] bytes = ColumnValues.toBytes(value);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+                break;
+            case JSONB:
+                final byte[] json = value.toString().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(json.length + 1);
+                output.writeByte(JSONB_VERSION);
+                output.write(json);
+                break;
+            default:
+                final byte[] text = value.toString().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(text.length);
+                output.write(text);
+        }
+    }
+
+    private static String toCsvText(Object value) {
+        if (value instanceof byte[]) {
+            final StringBuilder hex = new StringBuilder("\\x");
+            for (byte b : (byte[]) value) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } else if (value instanceof Date || value instanceof OffsetDateTime || value instanceof ZonedDateTime) {
+            return ColumnValues.toInstant(value).toString();
+        }
+        return value.toString();
+    }
+
+    private static class RowBuffer extends ByteArrayOutputStream {
+        private RowBuffer() {
+            super(TARGET_BUFFER_SIZE * 2);
+        }
+
+        private byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package databases.crud.sql.postgresql.copy;
+
+import databases.crud.sql.Column;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CopyStatement {
+    public static String create(final String tableName, final List<Column> columns, final CopyFormat format) {
+        final String template = "COPY \"%s\" (%s) FROM STDIN WITH (FORMAT %s)";
+        final String columnsDescription = columns.stream()
+                .map(column -> String.format("\"%s\"", column.getName()))
+                .collect(Collectors.joining(", "));
+        return String.format(template, tableName, columnsDescription, format.get());
+    }
+}
@@ -3,19 +3,48 @@ package databases.crud.sql.postgresql.executors;
 import commons.OptionalProvider;
 import databases.crud.core.DatabaseResponse;
 import databases.crud.core.Deserializer;
+import databases.crud.sql.ConnectionPool;
+import databases.crud.sql.ParameterizedStatement;
+import databases.crud.sql.PipelinedStatement;
+import databases.crud.sql.PreparedStatementCache;
+import databases.crud.sql.QueryCursor;
 import databases.crud.sql.SqlExecutorException;
 import databases.crud.sql.SqlExecutor;
+import databases.crud.sql.TransactionContext;
+import databases.crud.sql.instrumentation.SqlInstrumentation;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class PostgresqlExecutor implements SqlExecutor {
+    private static final int COPY_BUFFER_SIZE = 65536;
+    private static final Logger LOGGER = Logger.getLogger(PostgresqlExecutor.class.getName());
     OptionalProvider<Connection> connectionProvider;
+    private final SqlInstrumentation instrumentation;
 
     public PostgresqlExecutor(OptionalProvider<Connection> connectionProvider) {
+        this(connectionProvider, SqlInstrumentation.NOOP);
+    }
+
+    /**
+     * Reports connection acquire and deserialization times to {@code instrumentation}
+     */
+    public PostgresqlExecutor(OptionalProvider<Connection> connectionProvider, SqlInstrumentation instrumentation) {
         this.connectionProvider = connectionProvider;
+        this.instrumentation = instrumentation;
     }
 
     @Override
@@ -28,39 +57,387 @@ public class PostgresqlExecutor implements SqlExecutor {
         return executeSql(query, PostgresqlStatementExecutors.QUERY_EXECUTOR, deserializer);
     }
 
+    @Override
+    public DatabaseResponse executePreparedUpdate(ParameterizedStatement update, Deserializer deserializer) throws Exception {
+        return executePreparedSql(update, PostgresqlStatementExecutors.PREPARED_UPDATE_EXECUTOR, deserializer);
+    }
+
+    @Override
+    public DatabaseResponse executePreparedQuery(ParameterizedStatement query, Deserializer deserializer) throws Exception {
+        return executePreparedSql(query, PostgresqlStatementExecutors.PREPARED_QUERY_EXECUTOR, deserializer);
+    }
+
+    @Override
+    public DatabaseResponse executePreparedQueries(List<ParameterizedStatement> queries, Deserializer deserializer) throws Exception {
+        Optional<Connection> connection = acquireConnection();
+
+        if (connection.isEmpty())
+            throw SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION;
+
+        final Optional<PreparedStatementCache> statementCache = getStatementCache(connection.get());
+        final List<Object> results = new ArrayList<>();
+
+        try {
+            for (ParameterizedStatement query : queries) {
+                final PreparedStatement statement = prepareStatement(connection.get(), statementCache, query.getSql())
+                        .orElseThrow(() -> SqlExecutorException.FAILED_TO_OPEN_STATEMENT_ENTRY_POINT);
+
+                try {
+                    query.bind(statement);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        addDeserializedResults(results, deserialize(deserializer, resultSet));
+                    }
+                } finally {
+                    closeStatement(statement, statementCache);
+                }
+            }
+
+            commit(connection.get());
+            return DatabaseResponse.newBuilder()
+                    .setObject(results)
+                    .build();
+        } catch (Exception e) {
+            rollbackQuietly(connection.get());
+            throw SqlExecutorException.FAILED_TO_FETCH_RESULTS_FROM_DATABASE;
+        } finally {
+            releaseConnection(connection.get());
+        }
+    }
+
+    @Override
+    public DatabaseResponse executeCopy(String copyStatement, InputStream data) throws Exception {
+        Optional<Connection> connection = acquireConnection();
+
+        if (connection.isEmpty())
+            throw SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION;
+
+        final CopyManager copyManager;
+        try {
+            copyManager = connection.get().unwrap(PGConnection.class).getCopyAPI();
+        } catch (SQLException e) {
+            releaseConnection(connection.get());
+            throw SqlExecutorException.COPY_NOT_SUPPORTED;
+        }
+
+        try {
+            final long rowCount = copyManager.copyIn(copyStatement, data, COPY_BUFFER_SIZE);
+            commit(connection.get());
+            return DatabaseResponse.newBuilder()
+                    .setObject(rowCount)
+                    .build();
+        } catch (SQLException | IOException e) {
+            rollbackQuietly(connection.get());
+            throw SqlExecutorException.FAILED_TO_COPY_ROWS;
+        } finally {
+            releaseConnection(connection.get());
+        }
+    }
+
+    @Override
+    public QueryCursor executeStreamingQuery(ParameterizedStatement query, int fetchSize) throws Exception {
+        Optional<Connection> connection = acquireConnection();
+
+        if (connection.isEmpty())
+            throw SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION;
+
+        PreparedStatement statement = null;
+        try {
+            // Postgres only honours the fetch size with a server-side cursor, which needs an open transaction
+            connection.get().setAutoCommit(false);
+            statement = connection.get().prepareStatement(query.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            query.bind(statement);
+            final ResultSet resultSet = statement.executeQuery();
+            final boolean transactional = getTransaction(connection.get()).isPresent();
+            return new QueryCursor(statement, resultSet, () -> {
+                if (!transactional) {
+                    rollbackQuietly(connection.get());
+                    releaseConnection(connection.get());
+                }
+            });
+        } catch (SQLException e) {
+            if (statement != null) {
+                closeStatement(statement, Optional.empty());
+            }
+            rollbackQuietly(connection.get());
+            releaseConnection(connection.get());
+            throw SqlExecutorException.FAILED_TO_FETCH_RESULTS_FROM_DATABASE;
+        }
+    }
+
+    @Override
+    public List<DatabaseResponse> executePipeline(List<PipelinedStatement> statements) throws Exception {
+        if (statements.isEmpty()) {
+            return List.of();
+        }
+
+        Optional<Connection> connection = acquireConnection();
+
+        if (connection.isEmpty())
+            throw SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION;
+
+        final Optional<PreparedStatementCache> statementCache = getStatementCache(connection.get());
+        final ParameterizedStatement pipeline = PipelinedStatement.combine(statements);
+        final PreparedStatement statement = prepareStatement(connection.get(), statementCache, pipeline.getSql()).orElse(null);
+
+        if (statement == null) {
+            releaseConnection(connection.get());
+            throw SqlExecutorException.FAILED_TO_OPEN_STATEMENT_ENTRY_POINT;
+        }
+
+        try {
+            pipeline.bind(statement);
+            // the driver splits the string on ';' and sends every statement before a single sync
+            boolean isResultSet = statement.execute();
+            final List<DatabaseResponse> responses = new ArrayList<>(statements.size());
+
+            for (PipelinedStatement pipelinedStatement : statements) {
+                final Object result;
+                if (isResultSet) {
+                    try (ResultSet resultSet = statement.getResultSet()) {
+                        result = deserialize(pipelinedStatement.getDeserializer(), resultSet);
+                    }
+                } else {
+                    result = pipelinedStatement.getDeserializer().deserialize(statement.getUpdateCount());
+                }
+
+                responses.add(DatabaseResponse.newBuilder()
+                        .setObject(result)
+                        .build());
+                isResultSet = statement.getMoreResults();
+            }
+
+            commit(connection.get());
+            return responses;
+        } catch (SQLException e) {
+            rollbackQuietly(connection.get());
+            throw SqlExecutorException.FAILED_TO_FETCH_RESULTS_FROM_DATABASE;
+        } finally {
+            closeStatement(statement, statementCache);
+            releaseConnection(connection.get());
+        }
+    }
+
+    private Object deserialize(Deserializer deserializer, Object results) {
+        if (!instrumentation.isEnabled()) {
+            return deserializer.deserialize(results);
+        }
+
+        final long start = System.nanoTime();
+        final Object deserializedResults = deserializer.deserialize(results);
+        final int rowCount = deserializedResults instanceof Collection ? ((Collection<?>) deserializedResults).size() : -1;
+        instrumentation.onDeserialization(System.nanoTime() - start, rowCount);
+        return deserializedResults;
+    }
+
+    private void addDeserializedResults(List<Object> results, Object deserializedResults) {
+        if (deserializedResults instanceof Collection) {
+            results.addAll((Collection<?>) deserializedResults);
+        } else if (deserializedResults != null) {
+            results.add(deserializedResults);
+        }
+    }
+
+    private void rollbackQuietly(Connection connection) {
+        final Optional<TransactionContext> transaction = getTransaction(connection);
+        if (transaction.isPresent()) {
+            transaction.get().setRollbackOnly();
+            return;
+        }
+
+        try {
+            connection.rollback();
+        } catch (SQLException throwables) {
+            LOGGER.log(Level.WARNING, "Failed to roll back", throwables);
+        }
+    }
+
     private DatabaseResponse executeSql(String sql,
                                         PostgresqlStatementExecutor statementExecutor,
                                         Deserializer deserializer) throws Exception {
-        Optional<Connection> connection = connectionProvider.get();
+        Optional<Connection> connection = acquireConnection();
 
         if (connection.isEmpty())
             throw SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION;
 
         Optional<Statement> statement = createSqlStatementWithConnection(connection.get());
 
-        if (statement.isEmpty())
+        if (statement.isEmpty()) {
+            releaseConnection(connection.get());
             throw SqlExecutorException.FAILED_TO_OPEN_STATEMENT_ENTRY_POINT;
+        }
 
         try {
             Object results = statementExecutor.apply(statement.get(), sql);
-            Object deserializedResults = deserializer.deserialize(results);
+            if (results == null) {
+                // the statement executors swallow driver errors, a failed statement must still doom the unit of work
+                markTransactionRollbackOnly(connection.get());
+            }
+            Object deserializedResults = deserialize(deserializer, results);
 
             return DatabaseResponse.newBuilder()
                     .setObject(deserializedResults)
                     .build();
         } catch (Exception e) {
+            markTransactionRollbackOnly(connection.get());
             throw SqlExecutorException.FAILED_TO_DESERIALIZE_DATABASE_RESULTS;
         } finally {
             try {
-                connection.get().commit();
+                commit(connection.get());
                 statement.get().close();
-                connection.get().close();
             } catch (SQLException throwables) {
-                throwables.printStackTrace();
+                LOGGER.log(Level.WARNING, "Failed to commit or close statement", throwables);
+            } finally {
+                releaseConnection(connection.get());
+            }
+        }
+    }
+
+    @Override
+    public Optional<OptionalProvider<Connection>> getConnectionProvider() {
+        return Optional.of(connectionProvider);
+    }
+
+    private DatabaseResponse executePreparedSql(ParameterizedStatement parameterizedStatement,
+                                                PostgresqlPreparedStatementExecutor statementExecutor,
+                                                Deserializer deserializer) throws Exception {
+        Optional<Connection> connection = acquireConnection();
+
+        if (connection.isEmpty())
+            throw SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION;
+
+        final Optional<PreparedStatementCache> statementCache = getStatementCache(connection.get());
+        Optional<PreparedStatement> statement = prepareStatement(connection.get(), statementCache, parameterizedStatement.getSql());
+
+        if (statement.isEmpty()) {
+            releaseConnection(connection.get());
+            throw SqlExecutorException.FAILED_TO_OPEN_STATEMENT_ENTRY_POINT;
+        }
+
+        try {
+            parameterizedStatement.bind(statement.get());
+        } catch (SQLException e) {
+            closeStatement(statement.get(), statementCache);
+            markTransactionRollbackOnly(connection.get());
+            releaseConnection(connection.get());
+            throw SqlExecutorException.FAILED_TO_BIND_STATEMENT_PARAMETERS;
+        }
+
+        try {
+            Object results = statementExecutor.apply(statement.get());
+            if (results == null) {
+                // the statement executors swallow driver errors, a failed statement must still doom the unit of work
+                markTransactionRollbackOnly(connection.get());
+            }
+            Object deserializedResults = deserialize(deserializer, results);
+
+            if (results instanceof ResultSet) {
+                ((ResultSet) results).close();
+            }
+
+            return DatabaseResponse.newBuilder()
+                    .setObject(deserializedResults)
+                    .build();
+        } catch (Exception e) {
+            markTransactionRollbackOnly(connection.get());
+            throw SqlExecutorException.FAILED_TO_DESERIALIZE_DATABASE_RESULTS;
+        } finally {
+            try {
+                commit(connection.get());
+            } catch (SQLException throwables) {
+                LOGGER.log(Level.WARNING, "Failed to commit", throwables);
+            } finally {
+                closeStatement(statement.get(), statementCache);
+                releaseConnection(connection.get());
             }
         }
     }
 
+    /**
+     * Connection of the unit of work open on this thread, or a freshly borrowed one outside of a transaction
+     */
+    private Optional<Connection> acquireConnection() {
+        final Optional<TransactionContext> transaction = TransactionContext.current(connectionProvider);
+        if (transaction.isPresent()) {
+            return Optional.of(transaction.get().getConnection());
+        }
+
+        if (!instrumentation.isEnabled()) {
+            return connectionProvider.get();
+        }
+
+        final long start = System.nanoTime();
+        final Optional<Connection> connection = connectionProvider.get();
+        instrumentation.onConnectionAcquired(System.nanoTime() - start);
+        return connection;
+    }
+
+    private Optional<TransactionContext> getTransaction(Connection connection) {
+        return TransactionContext.current(connectionProvider)
+                .filter(transaction -> transaction.getConnection() == connection);
+    }
+
+    private void commit(Connection connection) throws SQLException {
+        if (getTransaction(connection).isEmpty()) {
+            connection.commit();
+        }
+    }
+
+    private void markTransactionRollbackOnly(Connection connection) {
+        getTransaction(connection).ifPresent(TransactionContext::setRollbackOnly);
+    }
+
+    private Optional<PreparedStatementCache> getStatementCache(Connection connection) {
+        if (connectionProvider instanceof ConnectionPool) {
+            return ((ConnectionPool) connectionProvider).getStatementCache(connection);
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<PreparedStatement> prepareStatement(Connection connection,
+                                                         Optional<PreparedStatementCache> statementCache,
+                                                         String sql) {
+        try {
+            if (statementCache.isPresent()) {
+                return Optional.of(statementCache.get().prepare(sql));
+            }
+
+            return Optional.of(connection.prepareStatement(sql));
+        } catch (SQLException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private void closeStatement(PreparedStatement statement, Optional<PreparedStatementCache> statementCache) {
+        if (statementCache.isPresent()) {
+            return;
+        }
+
+        try {
+            statement.close();
+        } catch (SQLException throwables) {
+            LOGGER.log(Level.WARNING, "Failed to close statement", throwables);
+        }
+    }
+
+    private void releaseConnection(Connection connection) {
+        if (getTransaction(connection).isPresent()) {
+            return;
+        }
+
+        if (connectionProvider instanceof ConnectionPool) {
+            ((ConnectionPool) connectionProvider).release(connection);
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException throwables) {
+            LOGGER.log(Level.WARNING, "Failed to close connection", throwables);
+        }
+    }
+
     private Optional<Statement> createSqlStatementWithConnection(Connection connection) {
         try {
             return Optional.of(connection.createStatement());
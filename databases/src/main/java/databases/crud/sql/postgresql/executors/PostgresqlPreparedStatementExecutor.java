@@ -0,0 +1,8 @@
+package databases.crud.sql.postgresql.executors;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public interface PostgresqlPreparedStatementExecutor {
+    Object apply(PreparedStatement statement) throws SQLException;
+}
@@ -1,5 +1,6 @@
 package databases.crud.sql.postgresql.executors;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -25,4 +26,26 @@ public class PostgresqlStatementExecutors {
             }
         }
     };
+
+    public static PostgresqlPreparedStatementExecutor PREPARED_QUERY_EXECUTOR = new PostgresqlPreparedStatementExecutor() {
+        @Override
+        public Object apply(PreparedStatement statement) {
+            try {
+                return statement.executeQuery();
+            } catch (SQLException throwables) {
+                return null;
+            }
+        }
+    };
+
+    public static PostgresqlPreparedStatementExecutor PREPARED_UPDATE_EXECUTOR = new PostgresqlPreparedStatementExecutor() {
+        @Override
+        public Object apply(PreparedStatement statement) {
+            try {
+                return statement.executeUpdate();
+            } catch (SQLException throwables) {
+                return null;
+            }
+        }
+    };
 }
@@ -0,0 +1,8 @@
+package databases.crud.sql.postgresql.statements;
+
+/**
+ * Anything that can appear in a WHERE statement: a single {@link WhereClause}, or a parenthesized
+ * {@link databases.crud.sql.postgresql.statements.builders.CompoundClause} of further conditions
+ */
+public interface Condition {
+}
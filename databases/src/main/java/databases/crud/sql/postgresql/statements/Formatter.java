@@ -1,90 +1,235 @@
 package databases.crud.sql.postgresql.statements;
 
 import databases.crud.core.ColumnValuePair;
+import databases.crud.sql.BindParameter;
 import databases.crud.sql.Column;
 import databases.crud.sql.postgresql.statements.builders.CompoundClause;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Renders statement fragments into a {@link SqlWriter}, so builders write a whole statement through one buffer
+ */
 public class Formatter {
-    private final static String COMMA_SPACE_DELIMITER = ", ";
-    private final static String QUOTATION_MARK = "\"";
+    public static void writeColumnNames(SqlWriter sql, List<Column> columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            sql.separator(i).append(columns.get(i).getName());
+        }
+    }
+
+    public static void writeColumnDescription(SqlWriter sql, Column column) {
+        sql.identifier(column.getParentTableName()).append('.').append(column.getName());
+    }
 
-    public static String createColumnsDescription(List<Column> columns) {
-        return columns.stream()
-                .map(Column::getName)
-                .collect(Collectors.joining(COMMA_SPACE_DELIMITER));
+    public static void writeWhereClause(SqlWriter sql, WhereClause clause) {
+        final Operator operator = clause.getOperator();
+
+        switch (operator) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+                sql.identifier(clause.getColumn().getName()).append(' ').append(operator.get());
+                return;
+            case IN:
+                final List<?> values = toList(clause.getValue());
+                if (values.isEmpty()) {
+                    sql.append("FALSE");
+                    return;
+                }
+
+                sql.identifier(clause.getColumn().getName()).append(" IN (");
+                for (int i = 0; i < values.size(); i++) {
+                    sql.separator(i).value(values.get(i));
+                }
+                sql.append(')');
+                return;
+            case BETWEEN:
+                sql.identifier(clause.getColumn().getName()).append(" BETWEEN ").value(clause.getValue())
+                        .append(" AND ").value(clause.getUpperValue());
+                return;
+            case STARTS_WITH:
+                sql.identifier(clause.getColumn().getName()).append(" LIKE ").value(createPrefixPattern(clause.getValue()));
+                return;
+            default:
+                sql.identifier(clause.getColumn().getName()).append(' ').append(operator.get()).append(' ').value(clause.getValue());
+        }
     }
 
-    public static String createColumnDescription(Column column) {
-        return joinWithSeparator(
-                surroundString(column.getParentTableName(), QUOTATION_MARK),
-                column.getName(),
-                ".");
+    public static void writeCondition(SqlWriter sql, Condition condition) {
+        if (condition instanceof CompoundClause) {
+            sql.append('(');
+            writeWhereStatement(sql, (CompoundClause) condition);
+            sql.append(')');
+        } else {
+            writeWhereClause(sql, (WhereClause) condition);
+        }
     }
 
-    public static String createColumnDescriptionWithAlternateName(Column column, String alternateName) {
-        return joinWithSeparator(
-                surroundString(alternateName, QUOTATION_MARK),
-                column.getName(),
-                ".");
+    public static void writeWhereStatement(SqlWriter sql, CompoundClause clause) {
+        if (clause.getLeadingClause() == null) {
+            return;
+        }
+
+        writeCondition(sql, clause.getLeadingClause());
+        if (clause.getTrailingClauses() == null) {
+            return;
+        }
+
+        for (Pair<LogicalOperator, Condition> trailingClause : clause.getTrailingClauses()) {
+            sql.append(' ').append(trailingClause.getKey().name()).append(' ');
+            writeCondition(sql, trailingClause.getValue());
+        }
     }
 
-    private static String joinWithSpace(String prefix, String suffix) {
-        return joinWithSeparator(prefix, suffix, " ");
+    public static void writeUpdate(SqlWriter sql, ColumnValuePair update) {
+        sql.identifier(update.getColumn().getName()).append(" = ").value(update.getValue());
     }
 
-    private static String joinWithSeparator(String prefix, String suffix, String separator) {
-        return String.format("%s%s%s", prefix, separator, suffix);
+    public static void writeParameterizedWhereClause(SqlWriter sql, WhereClause clause, List<BindParameter> parameters) {
+        final Operator operator = clause.getOperator();
+        addWhereClauseParameters(clause, parameters);
+        sql.identifier(clause.getColumn().getName());
+
+        switch (operator) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+                sql.append(' ').append(operator.get());
+                return;
+            case IN:
+                // a single array parameter keeps one prepared statement for any number of values
+                sql.append(" = ANY(").placeholder().append(')');
+                return;
+            case BETWEEN:
+                sql.append(" BETWEEN ").placeholder().append(" AND ").placeholder();
+                return;
+            case STARTS_WITH:
+                sql.append(" LIKE ").placeholder();
+                return;
+            default:
+                sql.append(' ').append(operator.get()).append(' ').placeholder();
+        }
     }
 
-    public static String surroundString(String string, String surroundingString) {
-        return String.format("%s%s%s", surroundingString, string, surroundingString);
+    public static void writeParameterizedCondition(SqlWriter sql, Condition condition, List<BindParameter> parameters) {
+        if (condition instanceof CompoundClause) {
+            sql.append('(');
+            writeParameterizedWhereStatement(sql, (CompoundClause) condition, parameters);
+            sql.append(')');
+        } else {
+            writeParameterizedWhereClause(sql, (WhereClause) condition, parameters);
+        }
     }
 
+    public static void writeParameterizedWhereStatement(SqlWriter sql, CompoundClause clause, List<BindParameter> parameters) {
+        if (clause.getLeadingClause() == null) {
+            return;
+        }
 
+        writeParameterizedCondition(sql, clause.getLeadingClause(), parameters);
+        if (clause.getTrailingClauses() == null) {
+            return;
+        }
 
-    public static String createWhereClauseDescription(WhereClause clause) {
-        final String valueDescription = createValueDescription(clause.getValue());
-        return String.format("\"%s\" %s %s", clause.getColumn().getName(), clause.getOperator().get(), valueDescription);
+        for (Pair<LogicalOperator, Condition> trailingClause : clause.getTrailingClauses()) {
+            sql.append(' ').append(trailingClause.getKey().name()).append(' ');
+            writeParameterizedCondition(sql, trailingClause.getValue(), parameters);
+        }
     }
 
-    public static String createOperatorWhereClauseDescription(Pair<LogicalOperator, WhereClause> operatorWhereClausePair) {
-        final String whereClauseDescription = createWhereClauseDescription(operatorWhereClausePair.getValue());
-        return String.format("%s %s", operatorWhereClausePair.getKey(), whereClauseDescription);
+    public static void writeParameterizedUpdate(SqlWriter sql, ColumnValuePair update, List<BindParameter> parameters) {
+        parameters.add(new BindParameter(update.getValue(), update.getColumn().getType()));
+        sql.identifier(update.getColumn().getName()).append(" = ").placeholder();
     }
 
-    private static String createValueDescription(Object value) {
-        return value instanceof String ? String.format("'%s'", value) : value.toString();
+    public static void writeOrderBy(SqlWriter sql, List<Pair<Column, SortOrder>> orderings) {
+        for (int i = 0; i < orderings.size(); i++) {
+            sql.separator(i).identifier(orderings.get(i).getKey().getName()).append(' ').append(orderings.get(i).getValue().get());
+        }
     }
 
     public static String createWhereStatement(CompoundClause clause) {
+        try (SqlWriter sql = SqlWriter.acquire()) {
+            writeWhereStatement(sql, clause);
+            return sql.toString();
+        }
+    }
+
+    /**
+     * Adds the values the clause binds, in the order its placeholders appear
+     */
+    public static void addWhereClauseParameters(WhereClause clause, List<BindParameter> parameters) {
+        final Column.Type type = clause.getColumn().getType();
+        switch (clause.getOperator()) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+                break;
+            case IN:
+                parameters.add(new BindParameter(toList(clause.getValue()), type));
+                break;
+            case BETWEEN:
+                parameters.add(new BindParameter(clause.getValue(), type));
+                parameters.add(new BindParameter(clause.getUpperValue(), type));
+                break;
+            case STARTS_WITH:
+                parameters.add(new BindParameter(createPrefixPattern(clause.getValue()), type));
+                break;
+            default:
+                parameters.add(new BindParameter(clause.getValue(), type));
+        }
+    }
+
+    /**
+     * Appends the structure of the where statement to the shape while adding its bound values, in the same order as
+     * {@link #writeParameterizedWhereStatement(SqlWriter, CompoundClause, List)}, without rendering any SQL
+     */
+    public static void appendWhereStatementShape(CompoundClause clause, StatementShape shape, List<BindParameter> parameters) {
         if (clause.getLeadingClause() == null) {
-            return "";
+            return;
         }
 
-        String statement = createWhereClauseDescription(clause.getLeadingClause());
+        appendConditionShape(clause.getLeadingClause(), shape, parameters);
         if (clause.getTrailingClauses() == null) {
-            return statement;
+            return;
+        }
+
+        for (Pair<LogicalOperator, Condition> trailingClause : clause.getTrailingClauses()) {
+            shape.append(trailingClause.getKey());
+            appendConditionShape(trailingClause.getValue(), shape, parameters);
         }
+    }
 
-        for (Pair<LogicalOperator, WhereClause> trailingClause : clause.getTrailingClauses()) {
-            final String description = createTrailingClauseDescription(trailingClause);
-            statement += String.format(" %s", description);
+    private static void appendConditionShape(Condition condition, StatementShape shape, List<BindParameter> parameters) {
+        if (condition instanceof CompoundClause) {
+            shape.append("(");
+            appendWhereStatementShape((CompoundClause) condition, shape, parameters);
+            shape.append(")");
+            return;
         }
-        return statement;
+
+        final WhereClause clause = (WhereClause) condition;
+        shape.append(clause.getColumn().getName()).append(clause.getOperator());
+        addWhereClauseParameters(clause, parameters);
     }
 
-    private static String createTrailingClauseDescription(Pair<LogicalOperator, WhereClause> operatorWhereClausePair) {
-        final String whereClauseDescription = createWhereClauseDescription((WhereClause) operatorWhereClausePair.getValue());
-        return String.format("%s %s", operatorWhereClausePair.getKey(), whereClauseDescription);
+    /**
+     * Escapes LIKE wildcards in the value and appends {@code %}, so only the literal prefix is matched
+     */
+    private static String createPrefixPattern(Object value) {
+        final String prefix = String.valueOf(value)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return prefix + "%";
     }
 
-    public static String createUpdateDescription(ColumnValuePair update) {
-        final String template = "%s = %s";
-        final String columnDescription = surroundString(update.getColumn().getName(), "\"");
-        final String valueDescription = createValueDescription(update.getValue());
-        return String.format(template, columnDescription, valueDescription);
+    private static List<?> toList(Object value) {
+        if (value instanceof Collection) {
+            return new ArrayList<>((Collection<?>) value);
+        } else if (value instanceof Object[]) {
+            return Arrays.asList((Object[]) value);
+        }
+        return value == null ? List.of() : List.of(value);
     }
-}
\ No newline at end of file
+}
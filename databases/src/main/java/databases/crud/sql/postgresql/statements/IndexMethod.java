@@ -0,0 +1,20 @@
+package databases.crud.sql.postgresql.statements;
+
+public enum IndexMethod {
+    BTREE,
+    HASH;
+
+    IndexMethod() {
+    }
+
+    public String get() {
+        switch (this) {
+            case BTREE:
+                return "btree";
+            case HASH:
+                return "hash";
+            default:
+                return null;
+        }
+    }
+}
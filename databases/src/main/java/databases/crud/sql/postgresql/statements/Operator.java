@@ -2,8 +2,17 @@ package databases.crud.sql.postgresql.statements;
 
 public enum Operator {
     EQUALS,
+    NOT_EQUALS,
     LESS_THAN,
-    GREATER_THAN;
+    LESS_THAN_OR_EQUALS,
+    GREATER_THAN,
+    GREATER_THAN_OR_EQUALS,
+    IN,
+    BETWEEN,
+    LIKE,
+    STARTS_WITH,
+    IS_NULL,
+    IS_NOT_NULL;
 
     Operator() {
     }
@@ -12,12 +21,36 @@ public enum Operator {
         switch (this) {
             case EQUALS:
                 return "=";
+            case NOT_EQUALS:
+                return "<>";
             case GREATER_THAN:
                 return ">";
+            case GREATER_THAN_OR_EQUALS:
+                return ">=";
             case LESS_THAN:
                 return "<";
+            case LESS_THAN_OR_EQUALS:
+                return "<=";
+            case IN:
+                return "IN";
+            case BETWEEN:
+                return "BETWEEN";
+            case LIKE:
+            case STARTS_WITH:
+                return "LIKE";
+            case IS_NULL:
+                return "IS NULL";
+            case IS_NOT_NULL:
+                return "IS NOT NULL";
             default:
                 return null;
         }
     }
+
+    /**
+     * Whether the operator compares against no value at all, e.g. IS NULL
+     */
+    public boolean isUnary() {
+        return this == IS_NULL || this == IS_NOT_NULL;
+    }
 }
@@ -0,0 +1,20 @@
+package databases.crud.sql.postgresql.statements;
+
+public enum SortOrder {
+    ASCENDING,
+    DESCENDING;
+
+    SortOrder() {
+    }
+
+    public String get() {
+        switch (this) {
+            case ASCENDING:
+                return "ASC";
+            case DESCENDING:
+                return "DESC";
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package databases.crud.sql.postgresql.statements;
+
+/**
+ * Streams SQL into a {@link StringBuilder} reused by the calling thread, so rendering a statement allocates little
+ * beyond the final String. Use it in a try-with-resources block and call {@link #toString()} before it closes:
+ * <pre>
+ * try (SqlWriter sql = SqlWriter.acquire()) {
+ *     sql.append("SELECT * FROM ").identifier(tableName);
+ *     return sql.toString();
+ * }
+ * </pre>
+ * Writers acquired while the thread's own one is in use (e.g. a description rendered in the middle of a statement)
+ * get a fresh buffer instead.
+ */
+public class SqlWriter implements AutoCloseable {
+    private static final int INITIAL_CAPACITY = 256;
+    // buffers grown past this by a huge statement (e.g. a batch insert) aren't kept for reuse
+    private static final int MAXIMUM_RETAINED_CAPACITY = 16 * 1024;
+    private static final ThreadLocal<SqlWriter> THREAD_WRITER = ThreadLocal.withInitial(SqlWriter::new);
+
+    private StringBuilder sql = new StringBuilder(INITIAL_CAPACITY);
+    private boolean inUse = false;
+
+    private SqlWriter() {
+    }
+
+    public static SqlWriter acquire() {
+        final SqlWriter writer = THREAD_WRITER.get();
+        if (writer.inUse) {
+            final SqlWriter nestedWriter = new SqlWriter();
+            nestedWriter.inUse = true;
+            return nestedWriter;
+        }
+
+        writer.inUse = true;
+        return writer;
+    }
+
+    public SqlWriter append(String string) {
+        sql.append(string);
+        return this;
+    }
+
+    public SqlWriter append(char character) {
+        sql.append(character);
+        return this;
+    }
+
+    /**
+     * Writes a double-quoted identifier, doubling any quotes inside it
+     */
+    public SqlWriter identifier(String name) {
+        sql.append('"');
+        appendEscaped(name, '"');
+        sql.append('"');
+        return this;
+    }
+
+    /**
+     * Writes a single-quoted string literal, doubling any quotes inside it
+     */
+    public SqlWriter literal(String value) {
+        sql.append('\'');
+        appendEscaped(value, '\'');
+        sql.append('\'');
+        return this;
+    }
+
+    /**
+     * Writes numbers and booleans bare, {@code null} as {@code NULL}, byte arrays as {@code bytea} hex literals and
+     * anything else (strings, UUIDs, timestamps...) as a {@link #literal(String)} of its string form
+     */
+    public SqlWriter value(Object value) {
+        if (value == null) {
+            sql.append("NULL");
+        } else if (value instanceof Boolean || value instanceof Number && isFinite((Number) value)) {
+            sql.append(value);
+        } else if (value instanceof byte[]) {
+            appendHex((byte[]) value);
+        } else {
+            literal(String.valueOf(value));
+        }
+        return this;
+    }
+
+    public SqlWriter placeholder() {
+        sql.append('?');
+        return this;
+    }
+
+    /**
+     * Writes {@code ", "} unless {@code index} is the first element of a list
+     */
+    public SqlWriter separator(int index) {
+        if (index > 0) {
+            sql.append(", ");
+        }
+        return this;
+    }
+
+    public int length() {
+        return sql.length();
+    }
+
+    public boolean isEmpty() {
+        return sql.length() == 0;
+    }
+
+    @Override
+    public void close() {
+        if (sql.capacity() > MAXIMUM_RETAINED_CAPACITY) {
+            sql = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            sql.setLength(0);
+        }
+        inUse = false;
+    }
+
+    @Override
+    public String toString() {
+        return sql.toString();
+    }
+
+    // NaN & infinities are only valid as quoted literals
+    private static boolean isFinite(Number number) {
+        return !(number instanceof Double || number instanceof Float) || Double.isFinite(number.doubleValue());
+    }
+
+    private void appendHex(byte[] bytes) {
+        sql.append("'\\x");
+        for (byte b : bytes) {
+            sql.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        sql.append("'::bytea");
+    }
+
+    private void appendEscaped(String value, char quote) {
+        final String string = String.valueOf(value);
+        for (int i = 0; i < string.length(); i++) {
+            final char character = string.charAt(i);
+            if (character == quote) {
+                sql.append(quote);
+            }
+            sql.append(character);
+        }
+    }
+}
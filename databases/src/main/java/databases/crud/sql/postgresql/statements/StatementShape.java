@@ -0,0 +1,39 @@
+package databases.crud.sql.postgresql.statements;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Structural key of a statement: every token that affects its SQL text (table & column names, operators, clause
+ * nesting, which optional parts are present) but none of its bound values. Two builders with equal shapes render
+ * the same parameterized SQL.
+ */
+public class StatementShape {
+    private final List<Object> tokens = new ArrayList<>(16);
+    private int hash = 1;
+
+    public StatementShape append(Object token) {
+        tokens.add(token);
+        hash = 31 * hash + Objects.hashCode(token);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StatementShape that = (StatementShape) o;
+        return hash == that.hash && tokens.equals(that.tokens);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return tokens.toString();
+    }
+}
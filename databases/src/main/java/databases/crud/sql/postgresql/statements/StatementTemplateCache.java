@@ -0,0 +1,40 @@
+package databases.crud.sql.postgresql.statements;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of rendered parameterized SQL per {@link StatementShape}. An application only issues a small,
+ * fixed set of query shapes, so after warm-up builders skip formatting entirely and only collect bound values.
+ * Once {@link #MAXIMUM_SIZE} shapes are cached new ones are rendered every time instead, so dynamically generated
+ * shapes can't grow it without bound.
+ */
+public class StatementTemplateCache {
+    public static final int MAXIMUM_SIZE = 1024;
+
+    private static final Map<StatementShape, String> TEMPLATES = new ConcurrentHashMap<>();
+
+    private StatementTemplateCache() {
+    }
+
+    /**
+     * The SQL rendered for the shape, or null if it hasn't been cached
+     */
+    public static String get(StatementShape shape) {
+        return TEMPLATES.get(shape);
+    }
+
+    public static void put(StatementShape shape, String sql) {
+        if (TEMPLATES.size() < MAXIMUM_SIZE) {
+            TEMPLATES.putIfAbsent(shape, sql);
+        }
+    }
+
+    public static int size() {
+        return TEMPLATES.size();
+    }
+
+    public static void clear() {
+        TEMPLATES.clear();
+    }
+}
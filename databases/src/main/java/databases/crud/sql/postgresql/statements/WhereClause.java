@@ -2,15 +2,33 @@ package databases.crud.sql.postgresql.statements;
 
 import databases.crud.sql.Column;
 
-public class WhereClause {
+public class WhereClause implements Condition {
     private final Column column;
     private final Operator operator;
     private final Object value;
+    private final Object upperValue;
 
     public WhereClause(Column column, Operator operator, Object value) {
+        this(column, operator, value, null);
+    }
+
+    private WhereClause(Column column, Operator operator, Object value, Object upperValue) {
         this.column = column;
         this.operator = operator;
         this.value = value;
+        this.upperValue = upperValue;
+    }
+
+    public static WhereClause between(Column column, Object lowerValue, Object upperValue) {
+        return new WhereClause(column, Operator.BETWEEN, lowerValue, upperValue);
+    }
+
+    public static WhereClause isNull(Column column) {
+        return new WhereClause(column, Operator.IS_NULL, null);
+    }
+
+    public static WhereClause isNotNull(Column column) {
+        return new WhereClause(column, Operator.IS_NOT_NULL, null);
     }
 
     public Column getColumn() {
@@ -24,4 +42,11 @@ public class WhereClause {
     public Object getValue() {
         return this.value;
     }
+
+    /**
+     * Inclusive upper bound of a {@link Operator#BETWEEN} clause, whose lower bound is {@link #getValue()}
+     */
+    public Object getUpperValue() {
+        return this.upperValue;
+    }
 }
@@ -1,26 +1,30 @@
 package databases.crud.sql.postgresql.statements.builders;
 
+import databases.crud.sql.postgresql.statements.Condition;
 import databases.crud.sql.postgresql.statements.LogicalOperator;
 import databases.crud.sql.postgresql.statements.Pair;
-import databases.crud.sql.postgresql.statements.WhereClause;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class CompoundClause {
-    private WhereClause leadingClause;
-    private List<Pair<LogicalOperator, WhereClause>> trailingClauses;
+/**
+ * Left-to-right chain of conditions joined by AND/OR. Nested inside another chain it's rendered in parentheses,
+ * which is how arbitrary boolean trees are built.
+ */
+public class CompoundClause implements Condition {
+    private Condition leadingClause;
+    private List<Pair<LogicalOperator, Condition>> trailingClauses;
 
     private CompoundClause(Builder builder) {
         this.leadingClause = builder.leadingClause;
         this.trailingClauses = builder.trailingClauses;
     }
 
-    public WhereClause getLeadingClause() {
+    public Condition getLeadingClause() {
         return leadingClause;
     }
 
-    public List<Pair<LogicalOperator, WhereClause>> getTrailingClauses() {
+    public List<Pair<LogicalOperator, Condition>> getTrailingClauses() {
         return trailingClauses;
     }
 
@@ -29,23 +33,23 @@ public class CompoundClause {
     }
 
     public static class Builder {
-        private WhereClause leadingClause;
-        private List<Pair<LogicalOperator, WhereClause>> trailingClauses = new ArrayList<>();
+        private Condition leadingClause;
+        private List<Pair<LogicalOperator, Condition>> trailingClauses = new ArrayList<>();
 
         private Builder() {
         }
 
-        public Builder where(WhereClause clause) {
+        public Builder where(Condition clause) {
             this.leadingClause = clause;
             return this;
         }
 
-        public Builder and(WhereClause clause) {
+        public Builder and(Condition clause) {
             addTrailingClauseWithOperator(clause, LogicalOperator.AND);
             return this;
         }
 
-        public Builder or(WhereClause clause) {
+        public Builder or(Condition clause) {
             addTrailingClauseWithOperator(clause, LogicalOperator.OR);
             return this;
         }
@@ -54,8 +58,8 @@ public class CompoundClause {
             return new CompoundClause(this);
         }
 
-        private void addTrailingClauseWithOperator(WhereClause clause, LogicalOperator operator) {
-            final Pair<LogicalOperator, WhereClause> pair = new Pair<>(operator, clause);
+        private void addTrailingClauseWithOperator(Condition clause, LogicalOperator operator) {
+            final Pair<LogicalOperator, Condition> pair = new Pair<>(operator, clause);
             this.trailingClauses.add(pair);
         }
     }
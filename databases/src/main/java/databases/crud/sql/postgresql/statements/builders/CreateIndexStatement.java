@@ -0,0 +1,151 @@
+package databases.crud.sql.postgresql.statements.builders;
+
+import databases.crud.sql.Column;
+import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+import databases.crud.sql.postgresql.statements.Formatter;
+import databases.crud.sql.postgresql.statements.IndexMethod;
+import databases.crud.sql.postgresql.statements.Operator;
+import databases.crud.sql.postgresql.statements.SqlWriter;
+import databases.crud.sql.postgresql.statements.WhereClause;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class CreateIndexStatement {
+    // postgres silently truncates longer identifiers, which could make two generated names collide
+    private static final int MAXIMUM_IDENTIFIER_LENGTH = 63;
+
+    private CreateIndexStatement() {
+    }
+
+    public static Builder newBuilder(final DatabaseTableSchema schema) {
+        return new Builder(schema.getTableName());
+    }
+
+    public static class Builder {
+        private final String tableName;
+        private final List<Column> columns = new ArrayList<>();
+        private CompoundClause.Builder clauseBuilder = CompoundClause.newBuilder();
+        private String name;
+        private IndexMethod method = IndexMethod.BTREE;
+        private boolean unique = false;
+        private boolean concurrently = false;
+        private boolean ifNotExists = false;
+
+        private Builder(final String tableName) {
+            this.tableName = tableName;
+        }
+
+        public Builder on(Column column) {
+            this.columns.add(column);
+            return this;
+        }
+
+        public Builder named(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder using(IndexMethod method) {
+            this.method = method;
+            return this;
+        }
+
+        public Builder unique() {
+            this.unique = true;
+            return this;
+        }
+
+        /**
+         * Builds the index without locking out writes. Postgres refuses this inside a transaction block, so such
+         * statements must be executed on their own rather than pipelined.
+         */
+        public Builder concurrently() {
+            this.concurrently = true;
+            return this;
+        }
+
+        public Builder ifNotExists() {
+            this.ifNotExists = true;
+            return this;
+        }
+
+        /**
+         * Restricts the index to rows matching the clause, making it a partial index
+         */
+        public Builder where(WhereClause clause) {
+            clauseBuilder = clauseBuilder.where(clause);
+            return this;
+        }
+
+        public Builder where(Column column, Operator operator, Object value) {
+            return where(new WhereClause(column, operator, value));
+        }
+
+        public Builder and(Column column, Operator operator, Object value) {
+            clauseBuilder = clauseBuilder.and(new WhereClause(column, operator, value));
+            return this;
+        }
+
+        public Builder or(Column column, Operator operator, Object value) {
+            clauseBuilder = clauseBuilder.or(new WhereClause(column, operator, value));
+            return this;
+        }
+
+        public boolean isConcurrent() {
+            return concurrently;
+        }
+
+        public Optional<String> build() {
+            if (tableName == null || tableName.isEmpty() || columns.isEmpty()) {
+                return Optional.empty();
+            }
+
+            // hash indexes support neither uniqueness nor multiple columns
+            if (method == IndexMethod.HASH && (unique || columns.size() > 1)) {
+                return Optional.empty();
+            }
+
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                sql.append(unique ? "CREATE UNIQUE INDEX " : "CREATE INDEX ");
+                if (concurrently) {
+                    sql.append("CONCURRENTLY ");
+                }
+                if (ifNotExists) {
+                    sql.append("IF NOT EXISTS ");
+                }
+
+                sql.identifier(getName()).append(" ON ").identifier(tableName).append(" USING ").append(method.get()).append(" (");
+                for (int i = 0; i < columns.size(); i++) {
+                    sql.separator(i).identifier(columns.get(i).getName());
+                }
+                sql.append(')');
+
+                final CompoundClause whereClause = clauseBuilder.build();
+                if (whereClause.getLeadingClause() != null) {
+                    sql.append(" WHERE ");
+                    Formatter.writeWhereStatement(sql, whereClause);
+                }
+
+                return Optional.of(sql.append(';').toString());
+            }
+        }
+
+        public String getName() {
+            if (name != null) {
+                return name;
+            }
+
+            final String columnNames = columns.stream().map(Column::getName).collect(Collectors.joining("_"));
+            final String generatedName = String.format("%s_%s_%s", tableName, columnNames, unique ? "key" : "idx");
+            if (generatedName.length() <= MAXIMUM_IDENTIFIER_LENGTH) {
+                return generatedName;
+            }
+
+            final String hash = Integer.toHexString(generatedName.hashCode());
+            return generatedName.substring(0, MAXIMUM_IDENTIFIER_LENGTH - hash.length() - 1) + "_" + hash;
+        }
+    }
+}
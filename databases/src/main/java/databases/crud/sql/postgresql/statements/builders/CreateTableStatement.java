@@ -2,13 +2,12 @@ package databases.crud.sql.postgresql.statements.builders;
 
 import databases.crud.sql.Column;
 import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
-import databases.crud.sql.postgresql.statements.Formatter;
+import databases.crud.sql.postgresql.statements.SqlWriter;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class CreateTableStatement {
     public CreateTableStatement() {
@@ -21,6 +20,16 @@ public class CreateTableStatement {
         return builder.build();
     }
 
+    /**
+     * Same as {@link #create(DatabaseTableSchema)} but a no-op when the table already exists, so it can be sent
+     * ahead of other statements without a separate existence check
+     */
+    public static Optional<String> createIfNotExists(DatabaseTableSchema schema) {
+        Builder builder = newBuilder().setTableName(schema.getTableName()).ifNotExists();
+        schema.getColumns().forEach(builder::addColumn);
+        return builder.build();
+    }
+
     public static CreateTableStatement.Builder newBuilder() {
         return new CreateTableStatement.Builder();
     }
@@ -28,6 +37,7 @@ public class CreateTableStatement {
     public static class Builder {
         private String tableName;
         private List<Column> columnList = new ArrayList();
+        private boolean ifNotExists = false;
 
         private Builder() {
         }
@@ -37,57 +47,72 @@ public class CreateTableStatement {
             return this;
         }
 
+        public CreateTableStatement.Builder ifNotExists() {
+            this.ifNotExists = true;
+            return this;
+        }
+
         public CreateTableStatement.Builder addColumn(Column column) {
             this.columnList.add(column);
             return this;
         }
 
         public Optional<String> build() {
-            if (this.tableName != null && !this.tableName.isEmpty() && !this.columnList.isEmpty()) {
-                final String template = "CREATE TABLE \"%s\" (%s);";
-                final String columnDescription = createColumnsDescription(columnList);
-                final String statement = String.format(template, this.tableName, columnDescription);
-                return Optional.of(statement);
-            } else {
+            if (this.tableName == null || this.tableName.isEmpty() || this.columnList.isEmpty()) {
                 return Optional.empty();
             }
-        }
 
-        private static String createColumnsDescription(List<Column> columns) {
-            return columns.stream()
-                    .map(Builder::createColumnDescription)
-                    .collect(Collectors.joining(", "));
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                sql.append(ifNotExists ? "CREATE TABLE IF NOT EXISTS " : "CREATE TABLE ").identifier(tableName).append(" (");
+                for (int i = 0; i < columnList.size(); i++) {
+                    writeColumnDescription(sql.separator(i), columnList.get(i));
+                }
+                return Optional.of(sql.append(");").toString());
+            }
         }
 
-        private static String createColumnDescription(Column column) {
-            final String template = "%s %s";
-            final String name = column.getName();
-            final String typeDescription = createColumnTypeDescription(column);
-            return String.format(template, name, typeDescription);
-        };
+        private static void writeColumnDescription(SqlWriter sql, Column column) {
+            sql.append(column.getName()).append(' ');
+            if (column.getType() == Column.Type.FOREIGN_KEY) {
+                writeForeignKeyDescription(sql, column);
+            } else {
+                sql.append(createColumnTypeDescription(column));
+            }
+        }
 
         private static String createColumnTypeDescription(Column column) {
             switch (column.getType()) {
-                case FOREIGN_KEY:
-                    return createForeignKeyDescription(column);
                 case SERIAL_PRIMARY_KEY:
                     return "SERIAL PRIMARY KEY";
                 case VARCHAR_255:
                     return "VARCHAR(255)";
+                case INTEGER:
+                    return "INTEGER";
+                case BIGINT:
+                    return "BIGINT";
+                case DOUBLE:
+                    return "DOUBLE PRECISION";
+                case BOOLEAN:
+                    return "BOOLEAN";
+                case TIMESTAMPTZ:
+                    return "TIMESTAMPTZ";
+                case UUID:
+                    return "UUID";
+                case TEXT:
+                    return "TEXT";
+                case BYTEA:
+                    return "BYTEA";
+                case JSONB:
+                    return "JSONB";
                 default:
                     return "";
             }
         }
 
-        private static String createForeignKeyDescription(Column column) {
-            if (column.getAssociatedColumn().isEmpty()) {
-                return "";
-            } else {
-                final Column columnReference = column.getAssociatedColumn().get();
-                final String template = "INT references %s (%s)";
-                final String tableName = Formatter.surroundString(columnReference.getParentTableName(), "\"");
-                return String.format(template, tableName, columnReference.getName());
-            }
+        private static void writeForeignKeyDescription(SqlWriter sql, Column column) {
+            column.getAssociatedColumn().ifPresent(columnReference -> sql.append("INT references ")
+                    .identifier(columnReference.getParentTableName())
+                    .append(" (").append(columnReference.getName()).append(')'));
         }
     }
 }
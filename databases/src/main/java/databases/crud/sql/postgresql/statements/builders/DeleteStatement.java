@@ -1,10 +1,11 @@
 package databases.crud.sql.postgresql.statements.builders;
 
+import databases.crud.sql.BindParameter;
+import databases.crud.sql.ParameterizedStatement;
 import databases.crud.sql.postgresql.statements.*;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class DeleteStatement {
     public DeleteStatement() {
@@ -17,51 +18,74 @@ public class DeleteStatement {
 
     public static class Builder {
         private final String tableName;
-        private WhereClause initialClause;
-        private List<Pair<LogicalOperator, WhereClause>> trailingClauses;
+        private Condition initialClause;
+        private List<Pair<LogicalOperator, Condition>> trailingClauses;
 
         private Builder(String tableName) {
             this.tableName = tableName;
             this.trailingClauses = new ArrayList();
         }
 
-        public DeleteStatement.Builder where(WhereClause clause) {
+        public DeleteStatement.Builder where(Condition clause) {
             this.initialClause = clause;
             return this;
         }
 
-        public DeleteStatement.Builder or(WhereClause clause) {
-            Pair<LogicalOperator, WhereClause> pair = new Pair(LogicalOperator.OR, clause);
+        public DeleteStatement.Builder or(Condition clause) {
+            Pair<LogicalOperator, Condition> pair = new Pair<>(LogicalOperator.OR, clause);
             this.trailingClauses.add(pair);
             return this;
         }
 
-        public DeleteStatement.Builder and(WhereClause clause) {
-            Pair<LogicalOperator, WhereClause> pair = new Pair(LogicalOperator.AND, clause);
+        public DeleteStatement.Builder and(Condition clause) {
+            Pair<LogicalOperator, Condition> pair = new Pair<>(LogicalOperator.AND, clause);
             this.trailingClauses.add(pair);
             return this;
         }
 
-        public DeleteStatement.Builder setTrailingClauses(List<Pair<LogicalOperator, WhereClause>> trailingClauses) {
+        public DeleteStatement.Builder setTrailingClauses(List<Pair<LogicalOperator, Condition>> trailingClauses) {
             this.trailingClauses = trailingClauses;
             return this;
         }
 
         public String build() {
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                write(sql, null);
+                return sql.toString();
+            }
+        }
+
+        public ParameterizedStatement buildParameterized() {
+            final List<BindParameter> parameters = new ArrayList<>();
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                write(sql, parameters);
+                return new ParameterizedStatement(sql.toString(), parameters);
+            }
+        }
+
+        /**
+         * Writes the statement with values inlined, or as placeholders added to {@code parameters} when given
+         */
+        private void write(SqlWriter sql, List<BindParameter> parameters) {
             if (this.initialClause == null) {
-                return String.format("SELECT * FROM %s;", this.tableName);
+                sql.append("SELECT * FROM ").append(this.tableName).append(';');
+                return;
+            }
+
+            sql.append("DELETE FROM ").identifier(this.tableName).append(" WHERE ");
+            writeCondition(sql, this.initialClause, parameters);
+            for (Pair<LogicalOperator, Condition> trailingClause : this.trailingClauses) {
+                sql.append(' ').append(trailingClause.getKey().name()).append(' ');
+                writeCondition(sql, trailingClause.getValue(), parameters);
+            }
+            sql.append(';');
+        }
+
+        private static void writeCondition(SqlWriter sql, Condition condition, List<BindParameter> parameters) {
+            if (parameters == null) {
+                Formatter.writeCondition(sql, condition);
             } else {
-                String initialValueDescription = Formatter.createWhereClauseDescription(this.initialClause);
-                String prefix = String.format("DELETE FROM \"%s\" WHERE %s", this.tableName, initialValueDescription);
-
-                if (this.trailingClauses.isEmpty()) {
-                    return String.format("%s;", prefix);
-                } else {
-                    String valueDescription = this.trailingClauses.stream()
-                            .map(c -> Formatter.createOperatorWhereClauseDescription(c))
-                            .collect(Collectors.joining(" "));
-                    return String.format("%s %s;", prefix, valueDescription);
-                }
+                Formatter.writeParameterizedCondition(sql, condition, parameters);
             }
         }
     }
@@ -1,13 +1,18 @@
 package databases.crud.sql.postgresql.statements.builders;
 
 import databases.crud.core.ColumnValuePair;
+import databases.crud.sql.BindParameter;
 import databases.crud.sql.Column;
+import databases.crud.sql.ParameterizedStatement;
 import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+import databases.crud.sql.postgresql.statements.Formatter;
+import databases.crud.sql.postgresql.statements.SqlWriter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class InsertStatement {
@@ -18,16 +23,73 @@ public class InsertStatement {
         return new Builder(schema);
     }
 
+    public static BatchBuilder newBatchBuilder(final DatabaseTableSchema schema) {
+        return new BatchBuilder(schema);
+    }
+
+    private static void writeReturning(SqlWriter sql, List<Column> columnsToReturn) {
+        if (columnsToReturn.isEmpty()) {
+            sql.append("RETURNING *");
+            return;
+        }
+
+        sql.append("RETURNING ");
+        Formatter.writeColumnNames(sql, columnsToReturn);
+    }
+
+    /**
+     * {@code ON CONFLICT (target) DO NOTHING} or {@code DO UPDATE SET column = EXCLUDED.column, ...}. Without explicit
+     * update columns every inserted column outside the conflict target is overwritten.
+     */
+    private static void writeConflict(SqlWriter sql, List<Column> conflictTarget, ConflictAction action,
+                                      List<Column> columnsToUpdate, List<Column> insertedColumns) {
+        if (conflictTarget.isEmpty() || action == null) {
+            return;
+        }
+
+        sql.append(" ON CONFLICT (");
+        for (int i = 0; i < conflictTarget.size(); i++) {
+            sql.separator(i).identifier(conflictTarget.get(i).getName());
+        }
+        sql.append(')');
+
+        final List<Column> updatedColumns = columnsToUpdate.isEmpty()
+                ? insertedColumns.stream()
+                        .filter(column -> conflictTarget.stream().noneMatch(target -> target.getName().equals(column.getName())))
+                        .collect(Collectors.toList())
+                : columnsToUpdate;
+
+        // DO UPDATE with nothing to set isn't valid sql, and would be a no-op anyway
+        if (action == ConflictAction.DO_NOTHING || updatedColumns.isEmpty()) {
+            sql.append(" DO NOTHING");
+            return;
+        }
+
+        sql.append(" DO UPDATE SET ");
+        for (int i = 0; i < updatedColumns.size(); i++) {
+            final String name = updatedColumns.get(i).getName();
+            sql.separator(i).identifier(name).append(" = EXCLUDED.").identifier(name);
+        }
+    }
+
+    private enum ConflictAction {
+        DO_NOTHING,
+        DO_UPDATE
+    }
+
     public static class Builder {
         private DatabaseTableSchema tableSchema;
         private List<ColumnValuePair> columnValuePairs = new ArrayList<>();
         private List<Column> columnsToReturn = new ArrayList<>();
+        private List<Column> conflictTarget = new ArrayList<>();
+        private List<Column> columnsToUpdate = new ArrayList<>();
+        private ConflictAction conflictAction;
 
         private Builder(final DatabaseTableSchema tableSchema) {
             this.tableSchema = tableSchema;
         }
 
-        public Builder insert(String value, Column column) {
+        public Builder insert(Object value, Column column) {
             columnValuePairs.add(new ColumnValuePair(column, value));
             return this;
         }
@@ -37,65 +99,197 @@ public class InsertStatement {
             return this;
         }
 
+        /**
+         * Columns of a unique index or constraint the insert may collide with, followed by {@link #doNothing()} or
+         * {@link #doUpdate(Column...)}
+         */
+        public Builder onConflict(Column... columns) {
+            conflictTarget.addAll(Arrays.asList(columns));
+            return this;
+        }
+
+        /**
+         * Skips conflicting rows. Note that RETURNING yields nothing for a skipped row.
+         */
+        public Builder doNothing() {
+            conflictAction = ConflictAction.DO_NOTHING;
+            return this;
+        }
+
+        /**
+         * Overwrites the given columns of the conflicting row, or all inserted columns when none are given
+         */
+        public Builder doUpdate(Column... columns) {
+            conflictAction = ConflictAction.DO_UPDATE;
+            columnsToUpdate.addAll(Arrays.asList(columns));
+            return this;
+        }
+
         public String build() throws Exception {
-            final String tableName = surroundWithDoubleQuotes(tableSchema.getTableName());
-            final String prefix = String.format("INSERT into %s", tableName);
-            final String columnsDescription = generateColumnDescriptions();
-            final String valuesDescription = generateValuesDescription();
-            final String returningDescription = generateReturningDescription();
-            return String.format("%s %s VALUES %s %s;", prefix, columnsDescription, valuesDescription, returningDescription);
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                write(sql, false);
+                return sql.toString();
+            }
+        }
+
+        public ParameterizedStatement buildParameterized() {
+            final List<BindParameter> parameters = columnValuePairs.stream()
+                    .map(pair -> new BindParameter(pair.getValue(), pair.getColumn().getType()))
+                    .collect(Collectors.toList());
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                write(sql, true);
+                return new ParameterizedStatement(sql.toString(), parameters);
+            }
+        }
+
+        private void write(SqlWriter sql, boolean parameterized) {
+            sql.append("INSERT into ").identifier(tableSchema.getTableName()).append(" (");
+            for (int i = 0; i < columnValuePairs.size(); i++) {
+                sql.separator(i).identifier(columnValuePairs.get(i).getColumn().getName());
+            }
+
+            sql.append(") VALUES (");
+            for (int i = 0; i < columnValuePairs.size(); i++) {
+                sql.separator(i);
+                if (parameterized) {
+                    sql.placeholder();
+                } else {
+                    sql.literal(String.valueOf(columnValuePairs.get(i).getValue()));
+                }
+            }
+            sql.append(')');
+
+            final List<Column> insertedColumns = columnValuePairs.stream().map(ColumnValuePair::getColumn).collect(Collectors.toList());
+            writeConflict(sql, conflictTarget, conflictAction, columnsToUpdate, insertedColumns);
+            sql.append(' ');
+            writeReturning(sql, columnsToReturn);
+            sql.append(';');
         }
 
         public List<ColumnValuePair> getColumnValuePairs() {
             return columnValuePairs;
         }
 
-        private String generateReturningDescription() {
-            if (columnsToReturn.isEmpty()) {
-                return "RETURNING *";
-            }
+        public class Exception extends java.lang.Exception {
+        }
+    }
+
+    /**
+     * Renders many rows as chunked multi-row {@code INSERT ... VALUES (...), (...) RETURNING} statements.
+     * Columns missing from a row are written as {@code DEFAULT}.
+     */
+    public static class BatchBuilder {
+        public static final int DEFAULT_CHUNK_SIZE = 500;
+        private static final int MAXIMUM_BIND_PARAMETERS = 32767;
 
-            final String template = "RETURNING %s";
-            final List<Column> columns = columnsToReturn;
-            final String columnsDescription = columns.stream()
-                    .map(Column::getName)
-                    .collect(Collectors.joining(", "));
-            return String.format(template, columnsDescription);
+        private final DatabaseTableSchema tableSchema;
+        private final List<List<ColumnValuePair>> rows = new ArrayList<>();
+        private final List<Column> columnsToReturn = new ArrayList<>();
+        private final List<Column> conflictTarget = new ArrayList<>();
+        private final List<Column> columnsToUpdate = new ArrayList<>();
+        private ConflictAction conflictAction;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        private BatchBuilder(final DatabaseTableSchema tableSchema) {
+            this.tableSchema = tableSchema;
         }
 
-        private String generateColumnDescriptions() {
-            return generateParameterDescription(param -> surroundWithDoubleQuotes(param.getColumn().getName()));
+        public BatchBuilder addRow(Builder row) {
+            return addRow(row.getColumnValuePairs());
         }
 
-        private String generateValuesDescription() {
-            return generateParameterDescription(param -> surroundWithSingleQuotes(param.getValue()));
+        public BatchBuilder addRow(List<ColumnValuePair> row) {
+            rows.add(row);
+            return this;
         }
 
-        private String generateParameterDescription(Function<ColumnValuePair, String> mapperFunction) {
-            return surroundWithParentheses(
-                    this.columnValuePairs.stream()
-                            .map(mapperFunction::apply)
-                            .collect(Collectors.joining(", "))
-            );
+        public BatchBuilder chunkSize(int chunkSize) {
+            this.chunkSize = Math.max(1, chunkSize);
+            return this;
         }
 
-        private String surroundWithParentheses(String string) {
-            return String.format("(%s)", string);
+        public BatchBuilder returning(Column... columns) {
+            columnsToReturn.addAll(Arrays.asList(columns));
+            return this;
         }
 
-        private String surroundWithDoubleQuotes(String string) {
-            return surroundStringWithDelimiter(string, "\"");
+        /**
+         * Same as {@link Builder#onConflict(Column...)}. Postgres rejects a DO UPDATE chunk in which two rows hit the
+         * same conflicting row, so callers should de-duplicate rows on the conflict target first.
+         */
+        public BatchBuilder onConflict(Column... columns) {
+            conflictTarget.addAll(Arrays.asList(columns));
+            return this;
         }
 
-        private String surroundWithSingleQuotes(String string) {
-            return surroundStringWithDelimiter(string, "'");
+        public BatchBuilder doNothing() {
+            conflictAction = ConflictAction.DO_NOTHING;
+            return this;
         }
 
-        private String surroundStringWithDelimiter(String string, String delimiter) {
-            return delimiter + string + delimiter;
+        public BatchBuilder doUpdate(Column... columns) {
+            conflictAction = ConflictAction.DO_UPDATE;
+            columnsToUpdate.addAll(Arrays.asList(columns));
+            return this;
         }
 
-        public class Exception extends java.lang.Exception {
+        public List<List<ColumnValuePair>> getRows() {
+            return rows;
+        }
+
+        public List<ParameterizedStatement> buildParameterized() {
+            final List<Column> columns = collectColumns();
+            final int rowsPerChunk = Math.max(1, Math.min(chunkSize, MAXIMUM_BIND_PARAMETERS / Math.max(1, columns.size())));
+            final List<ParameterizedStatement> statements = new ArrayList<>();
+
+            for (int start = 0; start < rows.size(); start += rowsPerChunk) {
+                final List<List<ColumnValuePair>> chunk = rows.subList(start, Math.min(rows.size(), start + rowsPerChunk));
+                statements.add(buildChunk(columns, chunk));
+            }
+
+            return statements;
+        }
+
+        private ParameterizedStatement buildChunk(List<Column> columns, List<List<ColumnValuePair>> chunk) {
+            final List<BindParameter> parameters = new ArrayList<>();
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                sql.append("INSERT into ").identifier(tableSchema.getTableName()).append(" (");
+                for (int i = 0; i < columns.size(); i++) {
+                    sql.separator(i).identifier(columns.get(i).getName());
+                }
+                sql.append(") VALUES ");
+
+                for (int rowIndex = 0; rowIndex < chunk.size(); rowIndex++) {
+                    final Map<String, ColumnValuePair> valuesByColumnName = new LinkedHashMap<>();
+                    chunk.get(rowIndex).forEach(pair -> valuesByColumnName.put(pair.getColumn().getName(), pair));
+
+                    sql.separator(rowIndex).append('(');
+                    for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+                        final Column column = columns.get(columnIndex);
+                        final ColumnValuePair pair = valuesByColumnName.get(column.getName());
+                        sql.separator(columnIndex);
+
+                        if (pair == null) {
+                            sql.append("DEFAULT");
+                        } else {
+                            sql.placeholder();
+                            parameters.add(new BindParameter(pair.getValue(), column.getType()));
+                        }
+                    }
+                    sql.append(')');
+                }
+
+                writeConflict(sql, conflictTarget, conflictAction, columnsToUpdate, columns);
+                sql.append(' ');
+                writeReturning(sql, columnsToReturn);
+                return new ParameterizedStatement(sql.append(';').toString(), parameters);
+            }
+        }
+
+        private List<Column> collectColumns() {
+            final Map<String, Column> columnsByName = new LinkedHashMap<>();
+            rows.forEach(row -> row.forEach(pair -> columnsByName.putIfAbsent(pair.getColumn().getName(), pair.getColumn())));
+            return new ArrayList<>(columnsByName.values());
         }
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,15 @@
 package databases.crud.sql.postgresql.statements.builders;
 
 
+import databases.crud.sql.BindParameter;
 import databases.crud.sql.Column;
 import databases.crud.sql.ColumnAlias;
+import databases.crud.sql.ParameterizedStatement;
 import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
 import databases.crud.sql.postgresql.statements.Formatter;
+import databases.crud.sql.postgresql.statements.SqlWriter;
+import databases.crud.sql.postgresql.statements.StatementShape;
+import databases.crud.sql.postgresql.statements.StatementTemplateCache;
 import databases.crud.sql.postgresql.statements.WhereClause;
 
 import java.util.*;
@@ -41,35 +46,87 @@ public class JoinStatement {
         }
 
         public String build() {
-            final String template = "SELECT %s FROM %s %s %s;";
-            final String selectedColumnsDescription = createSelectedColumnsDescription();
-            final String targetTableName = surroundWithQuotes(tableName);
-            final String joinDescriptions = createJoinsDescription();
-            final String whereClause = createWhereClause();
-            return String.format(template, selectedColumnsDescription, targetTableName, joinDescriptions, whereClause);
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                sql.append(getSelectStatement());
+                if (whereClause != null) {
+                    sql.append("WHERE ");
+                    Formatter.writeWhereClause(sql, whereClause);
+                }
+                return sql.append(';').toString();
+            }
         }
 
-        private String createWhereClause() {
-            if (whereClause == null) {
-                return "";
-            } else {
-                return "WHERE " + Formatter.createWhereClauseDescription(whereClause);
+        public ParameterizedStatement buildParameterized() {
+            final List<BindParameter> parameters = new ArrayList<>();
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                sql.append(getSelectStatement());
+                if (whereClause != null) {
+                    sql.append("WHERE ");
+                    Formatter.writeParameterizedWhereClause(sql, whereClause, parameters);
+                }
+                return new ParameterizedStatement(sql.append(';').toString(), parameters);
             }
         }
 
-        private String surroundWithQuotes(String tableName) {
-            final String template = "\"%s\"";
-            return String.format(template, tableName);
-        }
+        /**
+         * The SELECT, FROM and JOIN part of the statement, which only depends on the builder's structure and is
+         * cached per {@link StatementShape}
+         */
+        private String getSelectStatement() {
+            final StatementShape shape = createShape();
+            final String cachedStatement = StatementTemplateCache.get(shape);
+            if (cachedStatement != null) {
+                return cachedStatement;
+            }
 
-        private String createSelectedColumnsDescription() {
             final Set<String> tableNamesWithMultipleJoins = getTableNamesWithMultipleJoins();
-            final List<String> columnDescriptions = new ArrayList<>();
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                sql.append("SELECT ");
+                writeSelectedColumns(sql, tableNamesWithMultipleJoins);
+                sql.append(" FROM ");
+                writeQuoted(sql, tableName).append(' ');
+                writeJoins(sql, tableNamesWithMultipleJoins);
+                final String statement = sql.append(' ').toString();
+                StatementTemplateCache.put(shape, statement);
+                return statement;
+            }
+        }
 
-            selectedColumns.stream()
-                    .filter(c -> !tableNamesWithMultipleJoins.contains(c.getParentTableName()))
-                    .map(Formatter::createColumnDescription)
-                    .forEach(columnDescriptions::add);
+        private StatementShape createShape() {
+            final StatementShape shape = new StatementShape().append("JOIN").append(tableName);
+            for (Column column : selectedColumns) {
+                appendColumn(shape, column);
+            }
+
+            for (Join join : joins) {
+                shape.append(join.getTypeDescription());
+                appendColumn(shape, join.getMapping().getFrom());
+                appendColumn(shape, join.getMapping().getTo());
+                for (ColumnAlias selectedColumn : join.getSelectedColumns()) {
+                    appendColumn(shape, selectedColumn.getColumn());
+                    shape.append(selectedColumn.getAlias());
+                }
+            }
+            return shape;
+        }
+
+        private static void appendColumn(StatementShape shape, Column column) {
+            // Column equality ignores the parent table, which the rendered statement depends on
+            shape.append(column).append(column.getParentTableName());
+        }
+
+        // table names are quoted verbatim rather than escaped, as join mappings pass already-quoted names through
+        private static SqlWriter writeQuoted(SqlWriter sql, String name) {
+            return sql.append('"').append(name).append('"');
+        }
+
+        private void writeSelectedColumns(SqlWriter sql, Set<String> tableNamesWithMultipleJoins) {
+            int columnCount = 0;
+            for (Column column : selectedColumns) {
+                if (!tableNamesWithMultipleJoins.contains(column.getParentTableName())) {
+                    Formatter.writeColumnDescription(sql.separator(columnCount++), column);
+                }
+            }
 
             final Map<String, Integer> seenTableCountMap = new HashMap<>();
             for (Join join : joins) {
@@ -82,26 +139,12 @@ public class JoinStatement {
                 seenTableCountMap.put(parentTableName, existingCount + 1);
 
                 final String numberedName = parentTableName + (existingCount + 1);
-                join.getSelectedColumns().stream()
-                        .map(column -> createMultiTableJoinDescription(column, numberedName))
-                        .forEach(columnDescriptions::add);
+                for (ColumnAlias reference : join.getSelectedColumns()) {
+                    writeQuoted(sql.separator(columnCount++), numberedName)
+                            .append('.').append(reference.getColumn().getName())
+                            .append(" as ").append(reference.getAlias());
+                }
             }
-
-            return flattenToCommaSeparatedString(columnDescriptions);
-        }
-
-        private String createMultiTableJoinDescription(ColumnAlias reference, String numberedName) {
-            final String template = "%s.%s as %s";
-            final String columnName = reference.getColumn().getName();
-            return String.format(template, surroundWithQuotes(numberedName), columnName, reference.getAlias());
-        }
-
-        private String flattenToCommaSeparatedString(List<String> strings) {
-            return flattenToStringWithDelimiter(strings, ", ");
-        }
-
-        private String flattenToStringWithDelimiter(List<String> strings, String delimiter) {
-            return String.join(delimiter, strings);
         }
 
         private Set<String> getTableNamesWithMultipleJoins() {
@@ -117,67 +160,47 @@ public class JoinStatement {
                     .collect(Collectors.toSet());
         }
 
-        private String createJoinsDescription() {
-            final Set<String> tableNamesWithMultipleJoins = getTableNamesWithMultipleJoins();
+        private void writeJoins(SqlWriter sql, Set<String> tableNamesWithMultipleJoins) {
             final Map<String, Integer> seenTableNameCountMap = new HashMap<>();
-            final List<String> descriptions = new ArrayList<>();
 
-            for (Join join : joins) {
+            for (int i = 0; i < joins.size(); i++) {
+                final Join join = joins.get(i);
                 final String otherTableNameForJoin = join.getMapping().getTo().getParentTableName();
-                final String typeDescription = join.getTypeDescription();
+                if (i > 0) {
+                    sql.append(' ');
+                }
+                sql.append(join.getTypeDescription()).append(' ');
 
                 if (tableNamesWithMultipleJoins.contains(otherTableNameForJoin)) {
                     final Integer existingValue = seenTableNameCountMap.getOrDefault(otherTableNameForJoin, 1);
                     seenTableNameCountMap.put(otherTableNameForJoin, existingValue + 1);
                     final String numberedTableName = otherTableNameForJoin + existingValue;
 
-                    final String template = "%s %s as %s ON %s";
-                    final String columnMappingDescription = createColumnMappingDescriptionWithTableName(
-                            join,
-                            numberedTableName
-                    );
-                    final String description = String.format(
-                            template, typeDescription,
-                            surroundWithQuotes(otherTableNameForJoin),
-                            surroundWithQuotes(numberedTableName),
-                            columnMappingDescription
-                    );
-                    descriptions.add(description);
+                    writeQuoted(sql, otherTableNameForJoin).append(" as ");
+                    writeQuoted(sql, numberedTableName).append(" ON ");
+                    writeColumnMapping(sql, join, numberedTableName);
                 } else {
-                    final String template = "%s %s ON %s";
-                    final String columnMappingDescription = createColumnMappingDescriptionWithTableName(
-                            join,
-                            surroundWithQuotes(otherTableNameForJoin)
-                    );
-                    final String description = String.format(template, typeDescription, otherTableNameForJoin, columnMappingDescription);
-                    descriptions.add(description);
+                    sql.append(otherTableNameForJoin).append(" ON ");
+                    writeColumnMapping(sql, join, '"' + otherTableNameForJoin + '"');
                 }
             }
-
-            return descriptions.stream().collect(Collectors.joining(" "));
         }
 
-        private String createColumnMappingDescriptionWithTableName(Join join, String tableName) {
-            final String template = "%s = %s";
-            final String leadingColumnDescription = createJoinTargetDescription(join.getMapping().getFrom(), tableName);
-            final String trailingColumnDescription = createJoinTargetDescription(join.getMapping().getTo(), tableName);
-            return String.format(template, leadingColumnDescription, trailingColumnDescription);
+        private void writeColumnMapping(SqlWriter sql, Join join, String tableName) {
+            writeJoinTarget(sql, join.getMapping().getFrom(), tableName);
+            sql.append(" = ");
+            writeJoinTarget(sql, join.getMapping().getTo(), tableName);
         }
 
-        private String createJoinTargetDescription(Column column, String tableName) {
-            Optional<String> columnAlias = getAliasForJoin(column);
+        private void writeJoinTarget(SqlWriter sql, Column column, String tableName) {
+            final Optional<String> columnAlias = getAliasForJoin(column);
             if (columnAlias.isPresent()) {
-                final String template = "%s.%s as %s";
-                final String formattedTableName = surroundWithQuotes(tableName);
-                final String formattedAlias = surroundWithQuotes(columnAlias.get());
-                return String.format(template, formattedTableName, column.getName(),formattedAlias);
+                writeQuoted(sql, tableName).append('.').append(column.getName()).append(" as ");
+                writeQuoted(sql, columnAlias.get());
             } else if (tableName.contains(column.getParentTableName())) {
-                final String template = "%s.%s";
-                return String.format(template, surroundWithQuotes(tableName), column.getName());
+                writeQuoted(sql, tableName).append('.').append(column.getName());
             } else {
-                final String template = "%s.%s";
-                final String formattedTableName = surroundWithQuotes(column.getParentTableName());
-                return String.format(template, formattedTableName, column.getName());
+                writeQuoted(sql, column.getParentTableName()).append('.').append(column.getName());
             }
         }
 
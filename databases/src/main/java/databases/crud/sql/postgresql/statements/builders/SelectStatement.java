@@ -1,15 +1,23 @@
 package databases.crud.sql.postgresql.statements.builders;
 
-import databases.crud.core.Pair;
+import databases.crud.sql.BindParameter;
 import databases.crud.sql.Column;
+import databases.crud.sql.ParameterizedStatement;
 import databases.crud.sql.SqlStatementBuilderException;
+import databases.crud.sql.postgresql.statements.Condition;
 import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
 import databases.crud.sql.postgresql.statements.Formatter;
+import databases.crud.sql.postgresql.statements.SortOrder;
+import databases.crud.sql.postgresql.statements.SqlWriter;
+import databases.crud.sql.postgresql.statements.StatementShape;
+import databases.crud.sql.postgresql.statements.StatementTemplateCache;
 import databases.crud.sql.postgresql.statements.WhereClause;
 import databases.crud.sql.postgresql.statements.Operator;
+import databases.crud.sql.postgresql.statements.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public class SelectStatement {
     private SelectStatement() {
@@ -17,17 +25,24 @@ public class SelectStatement {
     }
 
     public static Builder newBuilder(final DatabaseTableSchema schema) {
-        return new Builder(schema.getTableName());
+        return new Builder(schema);
     }
 
     public static class Builder {
+        private final DatabaseTableSchema schema;
         private final String tableName;
         private final List<Column> selectedColumnNames = new ArrayList<>();
+        private final List<Pair<Column, SortOrder>> orderings = new ArrayList<>();
         private CompoundClause.Builder clauseBuilder = CompoundClause.newBuilder();
-        private List<Pair<Column>> joinTargets;
+        private List<databases.crud.core.Pair<Column>> joinTargets;
+        private Column keysetColumn;
+        private Object lastSeenKey;
+        private Integer limit;
+        private Integer offset;
 
-        private Builder(final String tableName) {
-            this.tableName = tableName;
+        private Builder(final DatabaseTableSchema schema) {
+            this.schema = schema;
+            this.tableName = schema.getTableName();
         }
 
         public Builder select(Column column) {
@@ -35,7 +50,7 @@ public class SelectStatement {
             return this;
         }
 
-        public Builder where(WhereClause clause) {
+        public Builder where(Condition clause) {
             clauseBuilder = clauseBuilder.where(clause);
             return this;
         }
@@ -45,7 +60,7 @@ public class SelectStatement {
             return where(clause);
         }
 
-        public Builder or(WhereClause clause) {
+        public Builder or(Condition clause) {
             clauseBuilder = clauseBuilder.or(clause);
             return this;
         }
@@ -55,31 +70,222 @@ public class SelectStatement {
             return or(clause);
         }
 
-        public Builder and(WhereClause clause) {
+        public Builder and(Condition clause) {
             clauseBuilder = clauseBuilder.and(clause);
             return this;
         }
 
         public Builder and(Column column, Operator operator, Object value) {
             final WhereClause clause = new WhereClause(column, operator, value);
-            return where(clause);
+            return and(clause);
         }
 
         public Builder innerJoin(final String tableName) {
             return this;
         }
 
+        public Builder orderBy(Column column, SortOrder order) {
+            orderings.add(new Pair<>(column, order));
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder offset(int offset) {
+            this.offset = offset;
+            return this;
+        }
+
+        /**
+         * Continues a keyset-paginated read after {@code lastSeenKey} of the table's primary key. Unlike
+         * {@link #offset(int)}, the database seeks straight to the key instead of scanning every skipped row.
+         */
+        public Builder after(Object lastSeenKey) {
+            final Optional<Column> primaryKey = schema.getColumns().stream()
+                    .filter(column -> column.getType() == Column.Type.SERIAL_PRIMARY_KEY)
+                    .findFirst();
+            primaryKey.ifPresent(column -> after(column, lastSeenKey));
+            return this;
+        }
+
+        /**
+         * Continues a keyset-paginated read after {@code lastSeenKey} of {@code column}, which is also used to order
+         * the results unless an ordering on it was given explicitly
+         */
+        public Builder after(Column column, Object lastSeenKey) {
+            this.keysetColumn = column;
+            this.lastSeenKey = lastSeenKey;
+            return this;
+        }
+
         public String build() throws SqlStatementBuilderException {
-            final String columnsDescription = Formatter.createColumnsDescription(selectedColumnNames);
-            final String columnsStatement = selectedColumnNames.isEmpty() ? "*" : columnsDescription;
-            final String whereStatement = Formatter.createWhereStatement(clauseBuilder.build());
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                write(sql, clauseBuilder.build(), createKeysetClause(), null);
+                return sql.toString();
+            }
+        }
+
+        /**
+         * Renders the statement with {@code ?} placeholders. The SQL is cached per {@link StatementShape}, so repeated
+         * builds of the same shape only collect the bound values.
+         */
+        public ParameterizedStatement buildParameterized() {
+            final List<BindParameter> parameters = new ArrayList<>();
+            final CompoundClause whereClause = clauseBuilder.build();
+            final Optional<WhereClause> keysetClause = createKeysetClause();
+            final StatementShape shape = createShape(whereClause, keysetClause, parameters);
+
+            final String cachedSql = StatementTemplateCache.get(shape);
+            if (cachedSql != null) {
+                return new ParameterizedStatement(cachedSql, parameters);
+            }
+
+            final ParameterizedStatement statement = renderParameterized(whereClause, keysetClause);
+            StatementTemplateCache.put(shape, statement.getSql());
+            return statement;
+        }
+
+        private StatementShape createShape(CompoundClause whereClause, Optional<WhereClause> keysetClause, List<BindParameter> parameters) {
+            final StatementShape shape = new StatementShape().append("SELECT").append(tableName);
+            for (Column column : selectedColumnNames) {
+                shape.append(column.getName());
+            }
 
-            if (whereStatement.isEmpty()) {
-                final String template = "SELECT %s FROM \"%s\";";
-                return String.format(template, columnsStatement, tableName);
+            shape.append("WHERE");
+            Formatter.appendWhereStatementShape(whereClause, shape, parameters);
+
+            // the keyset column orders the results even when there's no key to continue after yet
+            shape.append(keysetColumn == null ? null : keysetColumn.getName());
+            if (keysetClause.isPresent()) {
+                shape.append(keysetClause.get().getOperator());
+                Formatter.addWhereClauseParameters(keysetClause.get(), parameters);
+            }
+
+            for (Pair<Column, SortOrder> ordering : orderings) {
+                shape.append(ordering.getKey().getName()).append(ordering.getValue());
+            }
+
+            shape.append(limit != null).append(offset != null);
+            addPagingParameters(parameters);
+            return shape;
+        }
+
+        private ParameterizedStatement renderParameterized(CompoundClause whereClause, Optional<WhereClause> keysetClause) {
+            final List<BindParameter> parameters = new ArrayList<>();
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                write(sql, whereClause, keysetClause, parameters);
+                return new ParameterizedStatement(sql.toString(), parameters);
+            }
+        }
+
+        /**
+         * Writes the statement with values inlined, or as placeholders added to {@code parameters} when given
+         */
+        private void write(SqlWriter sql, CompoundClause whereClause, Optional<WhereClause> keysetClause, List<BindParameter> parameters) {
+            sql.append("SELECT ");
+            if (selectedColumnNames.isEmpty()) {
+                sql.append('*');
+            } else {
+                Formatter.writeColumnNames(sql, selectedColumnNames);
+            }
+            sql.append(" FROM ").identifier(tableName);
+
+            final boolean hasWhereClause = whereClause.getLeadingClause() != null;
+            if (hasWhereClause || keysetClause.isPresent()) {
+                sql.append(" WHERE ");
+            }
+
+            // the existing clauses may contain ORs, which would otherwise bind tighter than the keyset's AND
+            final boolean groupWhereClause = hasWhereClause && keysetClause.isPresent() && !whereClause.getTrailingClauses().isEmpty();
+            if (groupWhereClause) {
+                sql.append('(');
+            }
+            if (parameters == null) {
+                Formatter.writeWhereStatement(sql, whereClause);
             } else {
-                final String template = "SELECT %s FROM \"%s\" WHERE %s;";
-                return String.format(template, columnsStatement, tableName, whereStatement);
+                Formatter.writeParameterizedWhereStatement(sql, whereClause, parameters);
+            }
+            if (groupWhereClause) {
+                sql.append(')');
+            }
+
+            if (keysetClause.isPresent()) {
+                if (hasWhereClause) {
+                    sql.append(" AND ");
+                }
+                if (parameters == null) {
+                    Formatter.writeWhereClause(sql, keysetClause.get());
+                } else {
+                    Formatter.writeParameterizedWhereClause(sql, keysetClause.get(), parameters);
+                }
+            }
+
+            writeOrderBy(sql);
+            writePaging(sql, parameters);
+            sql.append(';');
+        }
+
+        // limit & offset are bound too, so every page of a read shares one cached prepared statement
+        private void addPagingParameters(List<BindParameter> parameters) {
+            if (limit != null) {
+                parameters.add(new BindParameter(limit, null));
+            }
+            if (offset != null) {
+                parameters.add(new BindParameter(offset, null));
+            }
+        }
+
+        private Optional<WhereClause> createKeysetClause() {
+            if (keysetColumn == null || lastSeenKey == null) {
+                return Optional.empty();
+            }
+
+            final Operator operator = getKeysetOrder() == SortOrder.DESCENDING ? Operator.LESS_THAN : Operator.GREATER_THAN;
+            return Optional.of(new WhereClause(keysetColumn, operator, lastSeenKey));
+        }
+
+        private SortOrder getKeysetOrder() {
+            return orderings.stream()
+                    .filter(ordering -> ordering.getKey().getName().equals(keysetColumn.getName()))
+                    .map(Pair::getValue)
+                    .findFirst()
+                    .orElse(SortOrder.ASCENDING);
+        }
+
+        private void writeOrderBy(SqlWriter sql) {
+            final List<Pair<Column, SortOrder>> effectiveOrderings = new ArrayList<>(orderings);
+            if (keysetColumn != null && effectiveOrderings.stream().noneMatch(ordering -> ordering.getKey().getName().equals(keysetColumn.getName()))) {
+                effectiveOrderings.add(new Pair<>(keysetColumn, SortOrder.ASCENDING));
+            }
+
+            if (!effectiveOrderings.isEmpty()) {
+                sql.append(" ORDER BY ");
+                Formatter.writeOrderBy(sql, effectiveOrderings);
+            }
+        }
+
+        private void writePaging(SqlWriter sql, List<BindParameter> parameters) {
+            if (limit != null) {
+                sql.append(" LIMIT ");
+                if (parameters == null) {
+                    sql.append(limit.toString());
+                } else {
+                    sql.placeholder();
+                }
+            }
+            if (offset != null) {
+                sql.append(" OFFSET ");
+                if (parameters == null) {
+                    sql.append(offset.toString());
+                } else {
+                    sql.placeholder();
+                }
+            }
+            if (parameters != null) {
+                addPagingParameters(parameters);
             }
         }
     }
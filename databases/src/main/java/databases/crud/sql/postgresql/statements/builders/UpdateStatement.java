@@ -1,12 +1,13 @@
 package databases.crud.sql.postgresql.statements.builders;
 
 import databases.crud.core.ColumnValuePair;
+import databases.crud.sql.BindParameter;
 import databases.crud.sql.Column;
+import databases.crud.sql.ParameterizedStatement;
 import databases.crud.sql.postgresql.statements.*;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class UpdateStatement {
     public static Builder newBuilder(final DatabaseTableSchema schema) {
@@ -22,7 +23,7 @@ public class UpdateStatement {
             this.tableName = tableName;
         }
 
-        public Builder where(WhereClause clause) {
+        public Builder where(Condition clause) {
             whereClauseBuilder = whereClauseBuilder.where(clause);
             return this;
         }
@@ -32,7 +33,7 @@ public class UpdateStatement {
             return where(clause);
         }
 
-        public Builder and(WhereClause clause) {
+        public Builder and(Condition clause) {
             whereClauseBuilder = whereClauseBuilder.and(clause);
             return this;
         }
@@ -42,7 +43,7 @@ public class UpdateStatement {
             return and(clause);
         }
 
-        public Builder or(WhereClause clause) {
+        public Builder or(Condition clause) {
             whereClauseBuilder = whereClauseBuilder.or(clause);
             return this;
         }
@@ -53,22 +54,60 @@ public class UpdateStatement {
             return or(clause);
         }
 
-        public Builder update(String value, Column column) {
+        public Builder update(Object value, Column column) {
             this.updates.add(new ColumnValuePair(column, value));
             return this;
         }
 
         public String build() {
-            final String updatesStatement = updates.stream()
-                    .map(Formatter::createUpdateDescription)
-                    .collect(Collectors.joining(", "));
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                sql.append("UPDATE ").identifier(tableName).append(" SET ");
+                for (int i = 0; i < updates.size(); i++) {
+                    Formatter.writeUpdate(sql.separator(i), updates.get(i));
+                }
+
+                sql.append(" WHERE ");
+                Formatter.writeWhereStatement(sql, whereClauseBuilder.build());
+                return sql.append(';').toString();
+            }
+        }
 
-            final String tableNameDescrption = String.format("\"%s\"", this.tableName);
+        /**
+         * Renders the statement with {@code ?} placeholders, reusing the SQL cached for its {@link StatementShape}
+         */
+        public ParameterizedStatement buildParameterized() {
+            final List<BindParameter> parameters = new ArrayList<>();
             final CompoundClause compoundClause = whereClauseBuilder.build();
-            final String whereStatement = Formatter.createWhereStatement(compoundClause);
+            final StatementShape shape = new StatementShape().append("UPDATE").append(tableName);
+            for (ColumnValuePair update : updates) {
+                shape.append(update.getColumn().getName());
+                parameters.add(new BindParameter(update.getValue(), update.getColumn().getType()));
+            }
+            shape.append("WHERE");
+            Formatter.appendWhereStatementShape(compoundClause, shape, parameters);
+
+            final String cachedSql = StatementTemplateCache.get(shape);
+            if (cachedSql != null) {
+                return new ParameterizedStatement(cachedSql, parameters);
+            }
+
+            final ParameterizedStatement statement = renderParameterized(compoundClause);
+            StatementTemplateCache.put(shape, statement.getSql());
+            return statement;
+        }
 
-            final String template = "UPDATE %s SET %s WHERE %s;";
-            return String.format(template, tableNameDescrption, updatesStatement, whereStatement);
+        private ParameterizedStatement renderParameterized(CompoundClause compoundClause) {
+            final List<BindParameter> parameters = new ArrayList<>();
+            try (SqlWriter sql = SqlWriter.acquire()) {
+                sql.append("UPDATE ").identifier(tableName).append(" SET ");
+                for (int i = 0; i < updates.size(); i++) {
+                    Formatter.writeParameterizedUpdate(sql.separator(i), updates.get(i), parameters);
+                }
+
+                sql.append(" WHERE ");
+                Formatter.writeParameterizedWhereStatement(sql, compoundClause, parameters);
+                return new ParameterizedStatement(sql.append(';').toString(), parameters);
+            }
         }
     }
 }
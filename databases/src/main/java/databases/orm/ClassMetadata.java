@@ -0,0 +1,265 @@
+package databases.orm;
+
+import databases.crud.sql.Column;
+import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+import databases.orm.annotations.Indexed;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Reflective description of a persisted model class, computed once per class and shared by every
+ * {@link Database} and {@link GenericResultSetDeserializer} storing it
+ */
+public class ClassMetadata<T> {
+    private static final Logger LOGGER = Logger.getLogger(ClassMetadata.class.getName());
+    private static final Map<Class<?>, ClassMetadata<?>> REGISTRY = new ConcurrentHashMap<>();
+    private static final MethodType EXTRACTOR_TYPE = MethodType.methodType(Object[].class, Object.class);
+    private static final MethodType HYDRATOR_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private final Class<T> tClass;
+    private final List<Field> persistedFields;
+    private final List<Field> insertableFields;
+    private final List<Field> nestedObjectFields;
+    private final List<Field> indexedFields;
+    private final Optional<Field> primaryKeyField;
+    private final Map<Field, Column> columnsByField;
+    private final Map<Field, FieldAccessor> accessorsByField;
+    private final MethodHandle extractor;
+    private final MethodHandle hydrator;
+    private final DatabaseTableSchema schema;
+    private final Supplier<T> instantiator;
+
+    private ClassMetadata(Class<T> tClass) {
+        this.tClass = tClass;
+        this.persistedFields = Arrays.stream(tClass.getDeclaredFields())
+                .filter(Helpers::isPersisted)
+                .peek(field -> field.setAccessible(true))
+                .collect(Collectors.toUnmodifiableList());
+        this.insertableFields = persistedFields.stream()
+                .filter(Predicate.not(Helpers::isPrimaryKey))
+                .collect(Collectors.toUnmodifiableList());
+        this.nestedObjectFields = Helpers.getPersistedObjectFields(tClass);
+        this.indexedFields = persistedFields.stream()
+                .filter(field -> field.isAnnotationPresent(Indexed.class))
+                .collect(Collectors.toUnmodifiableList());
+        this.primaryKeyField = persistedFields.stream()
+                .filter(Helpers::isPrimaryKey)
+                .findFirst();
+
+        final Map<Field, Column> columns = new LinkedHashMap<>();
+        persistedFields.forEach(field -> columns.put(field, Helpers.createColumnForField(field, tClass)));
+        this.columnsByField = Collections.unmodifiableMap(columns);
+        this.accessorsByField = persistedFields.stream()
+                .collect(Collectors.toUnmodifiableMap(field -> field, FieldAccessor::create));
+        this.extractor = createExtractor(persistedFields, accessorsByField);
+        this.hydrator = createHydrator(persistedFields, accessorsByField);
+        this.schema = new DatabaseTableSchema(tClass.getName(), Collections.unmodifiableSet(new LinkedHashSet<>(columns.values())));
+        this.instantiator = createInstantiator(tClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ClassMetadata<T> of(Class<T> tClass) {
+        return (ClassMetadata<T>) REGISTRY.computeIfAbsent(tClass, ClassMetadata::new);
+    }
+
+    /**
+     * Builds metadata for the given model classes up front, so the first request against each doesn't pay for reflection
+     */
+    public static void register(Class<?>... tClasses) {
+        Arrays.stream(tClasses).forEach(ClassMetadata::of);
+    }
+
+    public Class<T> getModelClass() {
+        return tClass;
+    }
+
+    public List<Field> getPersistedFields() {
+        return persistedFields;
+    }
+
+    /**
+     * Persisted fields excluding the primary key, in declaration order
+     */
+    public List<Field> getInsertableFields() {
+        return insertableFields;
+    }
+
+    public List<Field> getNestedObjectFields() {
+        return nestedObjectFields;
+    }
+
+    /**
+     * Persisted fields annotated with {@link Indexed}
+     */
+    public List<Field> getIndexedFields() {
+        return indexedFields;
+    }
+
+    /**
+     * Whether lookups on the named field or column can use an index, i.e. it's the primary key or {@link Indexed}
+     */
+    public boolean isIndexed(String name) {
+        return persistedFields.stream()
+                .filter(field -> Helpers.isPrimaryKey(field) || field.isAnnotationPresent(Indexed.class))
+                .anyMatch(field -> field.getName().equals(name) || columnsByField.get(field).getName().equals(name));
+    }
+
+    public Optional<Field> getPrimaryKeyField() {
+        return primaryKeyField;
+    }
+
+    public Column getColumn(Field field) {
+        return columnsByField.get(field);
+    }
+
+    public FieldAccessor getAccessor(Field field) {
+        return accessorsByField.get(field);
+    }
+
+    public List<Column> getInsertableColumns() {
+        return insertableFields.stream()
+                .map(columnsByField::get)
+                .collect(Collectors.toList());
+    }
+
+    public Set<Column> getColumns() {
+        return schema.getColumns();
+    }
+
+    public DatabaseTableSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Values of the persisted fields, in the order of {@link #getPersistedFields()}
+     */
+    public Object[] extract(T t) {
+        try {
+            return (Object[]) extractor.invokeExact((Object) t);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            // field handles don't throw checked exceptions
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Sets the persisted fields to the given values, in the order of {@link #getPersistedFields()}
+     */
+    public void hydrate(T t, Object[] values) {
+        try {
+            hydrator.invokeExact((Object) t, values);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * New instance holding the same persisted field values. Field values themselves, e.g. arrays, aren't copied.
+     *
+     * @throws IllegalStateException if the model class can't be instantiated
+     */
+    public T copy(T t) {
+        final T copy = newInstance();
+        hydrate(copy, extract(t));
+        return copy;
+    }
+
+    /**
+     * @throws IllegalStateException if the model class has no accessible no-arg constructor or the constructor fails
+     */
+    public T newInstance() {
+        return instantiator.get();
+    }
+
+    /**
+     * Collects every field's getter into one {@code (Object)Object[]} handle, so extracting a whole model is a single
+     * call rather than one per field
+     */
+    private static MethodHandle createExtractor(List<Field> fields, Map<Field, FieldAccessor> accessors) {
+        final MethodHandle[] getters = fields.stream()
+                .map(field -> accessors.get(field).getGetter())
+                .toArray(MethodHandle[]::new);
+        final MethodHandle collector = MethodHandles.identity(Object[].class).asCollector(Object[].class, fields.size());
+        return MethodHandles.permuteArguments(MethodHandles.filterArguments(collector, 0, getters), EXTRACTOR_TYPE,
+                new int[fields.size()]);
+    }
+
+    /**
+     * Chains every field's setter into one {@code (Object, Object[])void} handle, setting field {@code i} to
+     * element {@code i}
+     */
+    private static MethodHandle createHydrator(List<Field> fields, Map<Field, FieldAccessor> accessors) {
+        MethodHandle hydrator = MethodHandles.empty(HYDRATOR_TYPE);
+        for (int i = fields.size() - 1; i >= 0; i--) {
+            final MethodHandle value = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(Object[].class), 1, i);
+            final MethodHandle setter = MethodHandles.filterArguments(accessors.get(fields.get(i)).getSetter(), 1, value);
+            hydrator = MethodHandles.foldArguments(hydrator, setter);
+        }
+        return hydrator;
+    }
+
+    /**
+     * Spins a {@link Supplier} calling the no-arg constructor directly, falling back to invoking its method handle
+     * when the metafactory can't link against the model class. Without an accessible no-arg constructor the supplier
+     * throws.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> createInstantiator(Class<T> tClass) {
+        final MethodHandles.Lookup lookup;
+        final MethodHandle constructor;
+        try {
+            lookup = MethodHandles.privateLookupIn(tClass, MethodHandles.lookup());
+            constructor = lookup.findConstructor(tClass, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return () -> {
+                throw new IllegalStateException(tClass.getName() + " has no accessible no-arg constructor", e);
+            };
+        }
+
+        try {
+            final CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    constructor,
+                    MethodType.methodType(tClass));
+            return (Supplier<T>) callSite.getTarget().invokeExact();
+        } catch (Throwable throwable) {
+            LOGGER.log(Level.FINE, String.format("Falling back to the constructor handle of %s", tClass.getName()), throwable);
+            final MethodHandle genericConstructor = constructor.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return (T) genericConstructor.invokeExact();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException("Failed to instantiate " + tClass.getName(), t);
+                }
+            };
+        }
+    }
+}
@@ -1,119 +1,559 @@
 package databases.orm;
 
+import databases.crud.sql.AsyncSqlTableController;
 import databases.crud.sql.Column;
 import databases.crud.sql.SqlTableController;
+import databases.crud.sql.TransactionContext;
+import databases.crud.sql.cache.LruQueryCache;
+import databases.crud.sql.cache.QueryCache;
+import databases.crud.sql.cache.QueryCacheStatistics;
+import databases.crud.sql.instrumentation.SlowQueryLog;
+import databases.crud.sql.instrumentation.SqlInstrumentation;
+import databases.crud.sql.instrumentation.SqlMetrics;
+import databases.crud.sql.postgresql.copy.BulkLoadResult;
+import databases.crud.sql.postgresql.copy.CopyFormat;
+import databases.crud.sql.postgresql.statements.Condition;
 import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+import databases.crud.sql.postgresql.statements.LogicalOperator;
+import databases.crud.sql.postgresql.statements.Operator;
+import databases.crud.sql.postgresql.statements.SortOrder;
 import databases.crud.sql.postgresql.statements.WhereClause;
+import databases.crud.sql.postgresql.statements.builders.CompoundClause;
+import databases.crud.sql.postgresql.statements.builders.CreateIndexStatement;
 import databases.crud.sql.postgresql.statements.builders.DeleteStatement;
 import databases.crud.sql.postgresql.statements.builders.InsertStatement;
 import databases.crud.sql.postgresql.statements.builders.SelectStatement;
 import databases.crud.sql.postgresql.statements.builders.UpdateStatement;
+import databases.orm.annotations.Cached;
+import databases.orm.annotations.Indexed;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Predicate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Database<T> implements CrudOperable<T> {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final Logger LOGGER = Logger.getLogger(Database.class.getName());
+    private static final Map<Class<?>, QueryCache> QUERY_CACHES = new ConcurrentHashMap<>();
+
     private final Class<T> tClass;
+    private final ClassMetadata<T> metadata;
     private final SqlTableController<T> controller;
+    private final AsyncSqlTableController<T> asyncController;
     private final List<Database<?>> nestedFieldDatabases;
 
     private Database(Class<T> tClass) {
         this.tClass = tClass;
+        this.metadata = ClassMetadata.of(tClass);
         this.controller = createController();
+        this.asyncController = new AsyncSqlTableController<>(controller, GenericDatabaseControllerModule.getAsyncExecutor());
         this.nestedFieldDatabases = createNestedObjectDatabases();
+        declareIndexes();
+        getQueryCache(tClass).ifPresent(queryCache -> controller.setQueryCache(queryCache, metadata::copy));
     }
 
     public static <T> Database<T> storing(Class<T> model) {
         return new Database<>(model);
     }
 
+    /**
+     * Verifies (creating where missing) the tables of every given model at startup, so no request pays for it later.
+     * Returns false if any table could not be verified.
+     */
+    public static boolean bootstrap(Class<?>... models) {
+        boolean verified = true;
+        for (Class<?> model : models) {
+            ClassMetadata.register(model);
+            verified &= Database.storing(model).createTablesIfNeeded();
+        }
+        return verified;
+    }
+
+    /**
+     * Caches the model's reads in {@code queryCache} instead of the {@link Cached} default, e.g. to plug in another
+     * eviction policy. Applies to Databases created for the model from then on.
+     */
+    public static void useQueryCache(Class<?> model, QueryCache queryCache) {
+        QUERY_CACHES.put(model, queryCache);
+    }
+
+    /**
+     * Reports statement latencies, row counts and errors of every Database to {@code instrumentation}, e.g. a
+     * {@link SqlMetrics} or a {@link SlowQueryLog}
+     */
+    public static void useInstrumentation(SqlInstrumentation instrumentation) {
+        GenericDatabaseControllerModule.useInstrumentation(instrumentation);
+    }
+
+    private static Optional<QueryCache> getQueryCache(Class<?> model) {
+        final Cached cached = model.getAnnotation(Cached.class);
+        if (cached == null) {
+            return Optional.ofNullable(QUERY_CACHES.get(model));
+        }
+
+        // one cache per model, so every Database storing it sees the same entries and invalidations
+        return Optional.of(QUERY_CACHES.computeIfAbsent(model, key -> LruQueryCache.newBuilder()
+                .maximumSize(cached.maximumSize())
+                .expireAfterWrite(Duration.ofSeconds(cached.expireAfterWriteSeconds()))
+                .expireAfterAccess(Duration.ofSeconds(cached.expireAfterAccessSeconds()))
+                .build()));
+    }
+
+    public Optional<QueryCacheStatistics> getQueryCacheStatistics() {
+        return controller.getQueryCacheStatistics();
+    }
+
+    /**
+     * Runs {@code work} as one unit of work: every Database call made inside it shares a single connection and
+     * is committed together, or rolled back if the work throws or any of those calls fail. Throws
+     * {@link databases.crud.sql.TransactionCommitException} if the commit fails.
+     */
+    public static <R> Optional<R> inTransaction(TransactionContext.Work<R> work) {
+        return inTransaction(TransactionContext.IsolationLevel.DEFAULT, work);
+    }
+
+    public static <R> Optional<R> inTransaction(TransactionContext.IsolationLevel isolationLevel, TransactionContext.Work<R> work) {
+        return TransactionContext.execute(GenericDatabaseControllerModule.getConnectionPool(), isolationLevel, work);
+    }
+
     @Override
     public Optional<T> insert(T t) {
+        final InsertStatement.Builder builder = createInsertStatementBuilder(t);
+        if (controller.isTableVerified()) {
+            return controller.insert(builder).map(this::attach);
+        }
+
+        nestedFieldDatabases.forEach(Database::createTablesIfNeeded);
+        return controller.insertCreatingTableIfNeeded(builder).map(this::attach);
+    }
+
+    @Override
+    public Optional<List<T>> insertAll(Collection<T> ts) {
+        return insertAll(ts, InsertStatement.BatchBuilder.DEFAULT_CHUNK_SIZE);
+    }
+
+    public Optional<List<T>> insertAll(Collection<T> ts, int chunkSize) {
         createTablesIfNeeded();
+        final InsertStatement.BatchBuilder builder = controller.insertBatchStatementBuilder().chunkSize(chunkSize);
+        ts.stream()
+                .map(this::createInsertStatementBuilder)
+                .forEach(builder::addRow);
+        return controller.insertAll(builder).map(this::attachAll);
+    }
+
+    /**
+     * Inserts the object or updates the row it collides with, atomically and in one round trip. Rows are matched on
+     * the primary key when the object has one, otherwise on its unique {@link Indexed} fields.
+     *
+     * @throws IllegalStateException if the object has no primary key set and the model has no unique fields
+     */
+    public Optional<T> upsert(T t) {
         final InsertStatement.Builder builder = createInsertStatementBuilder(t);
-        return controller.insert(builder);
+        final Optional<Field> primaryKeyField = metadata.getPrimaryKeyField();
+        final Object primaryKey = primaryKeyField.map(field -> metadata.getAccessor(field).get(t)).orElse(null);
+
+        if (isPrimaryKeySet(primaryKeyField, primaryKey)) {
+            final Column primaryKeyColumn = metadata.getColumn(primaryKeyField.get());
+            builder.insert(primaryKey, primaryKeyColumn).onConflict(primaryKeyColumn).doUpdate();
+        } else {
+            builder.onConflict(getUniqueColumnsForUpsert()).doUpdate();
+        }
+
+        createTablesIfNeeded();
+        return controller.insert(builder).map(this::replace);
+    }
+
+    /**
+     * Batched {@link #upsert(Object)}, matching rows on the model's unique {@link Indexed} fields. Objects colliding
+     * with each other must not be in the same call, as postgres refuses to update one row twice in a statement.
+     *
+     * @throws IllegalStateException if the model has no unique fields
+     */
+    public Optional<List<T>> upsertAll(Collection<T> ts) {
+        final Column[] uniqueColumns = getUniqueColumnsForUpsert();
+
+        createTablesIfNeeded();
+        final InsertStatement.BatchBuilder builder = controller.insertBatchStatementBuilder()
+                .onConflict(uniqueColumns)
+                .doUpdate();
+        ts.stream()
+                .map(this::createInsertStatementBuilder)
+                .forEach(builder::addRow);
+        return controller.insertAll(builder).map(upserted -> {
+            upserted.forEach(this::replace);
+            return upserted;
+        });
+    }
+
+    /**
+     * An unsaved object's primitive key holds its type's default (e.g. 0 for an int) rather than null, so that
+     * default counts as unset too
+     */
+    private static boolean isPrimaryKeySet(Optional<Field> primaryKeyField, Object primaryKey) {
+        if (primaryKey == null) {
+            return false;
+        }
+
+        if (primaryKeyField.isEmpty() || !primaryKeyField.get().getType().isPrimitive()) {
+            return true;
+        }
+
+        final Object defaultValue = Array.get(Array.newInstance(primaryKeyField.get().getType(), 1), 0);
+        return !primaryKey.equals(defaultValue);
+    }
+
+    private Column[] getUniqueColumnsForUpsert() {
+        final Column[] uniqueColumns = metadata.getIndexedFields().stream()
+                .filter(field -> field.getAnnotation(Indexed.class).unique())
+                .map(metadata::getColumn)
+                .toArray(Column[]::new);
+        if (uniqueColumns.length == 0) {
+            throw new IllegalStateException(String.format(
+                    "Cannot upsert %s without a primary key, it has no @Indexed(unique = true) fields to match rows on", tClass.getName()));
+        }
+        return uniqueColumns;
+    }
+
+    public Optional<BulkLoadResult> bulkLoad(Stream<T> ts, CopyFormat format) {
+        return bulkLoad(ts.iterator(), format);
+    }
+
+    /**
+     * Streams objects into the table through {@code COPY}, encoding one object at a time as the driver reads
+     */
+    public Optional<BulkLoadResult> bulkLoad(Iterator<T> ts, CopyFormat format) {
+        createTablesIfNeeded();
+        final List<Field> fields = metadata.getInsertableFields();
+        final List<Column> columns = metadata.getInsertableColumns();
+        final Iterator<List<Object>> rows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return ts.hasNext();
+            }
+
+            @Override
+            public List<Object> next() {
+                final T t = ts.next();
+                return fields.stream()
+                        .map(field -> metadata.getAccessor(field).get(t))
+                        .collect(Collectors.toList());
+            }
+        };
+        return controller.bulkLoad(columns, rows, format);
     }
 
     @Override
     public Optional<List<T>> read(Filter... filters) {
+        return controller.read(createSelectStatementBuilder(filters)).map(this::attachAll);
+    }
+
+    /**
+     * Reads the object with the given primary key. Inside a {@link Session} an object already loaded by it is
+     * returned without querying the database.
+     */
+    public Optional<T> findById(Object id) {
+        final Optional<Field> primaryKeyField = metadata.getPrimaryKeyField();
+        if (primaryKeyField.isEmpty() || id == null) {
+            LOGGER.warning(String.format("Cannot find %s by id %s, it needs a primary key and a non-null id", tClass.getName(), id));
+            return Optional.empty();
+        }
+
+        final Optional<T> cached = Session.current().flatMap(session -> session.get(tClass, id));
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        final Filter filter = newFilterBuilder().where(primaryKeyField.get().getName()).equalTo(id).build();
+        return read(filter).flatMap(ts -> ts.stream().findFirst());
+    }
+
+    public Optional<Page<T>> readPage(int pageSize, Filter... filters) {
+        return readPage(null, pageSize, filters);
+    }
+
+    /**
+     * Reads at most {@code pageSize} objects ordered by primary key, continuing after the page that produced
+     * {@code pageToken} (or from the start when it is null). Pages seek on the key rather than using OFFSET,
+     * so deep pages cost the same as the first one.
+     *
+     * @throws IllegalArgumentException if {@code pageToken} is malformed, rather than restarting from the first page
+     */
+    public Optional<Page<T>> readPage(String pageToken, int pageSize, Filter... filters) {
+        final Optional<Field> primaryKeyField = metadata.getPrimaryKeyField();
+        if (primaryKeyField.isEmpty() || pageSize <= 0) {
+            LOGGER.warning(String.format("Cannot page through %s with a page size of %d, paging needs a primary key "
+                    + "and a positive page size", tClass.getName(), pageSize));
+            return Optional.empty();
+        }
+
+        final Column primaryKeyColumn = metadata.getColumn(primaryKeyField.get());
+        final SelectStatement.Builder builder = createSelectStatementBuilder(filters)
+                .orderBy(primaryKeyColumn, SortOrder.ASCENDING)
+                // one extra row tells us whether another page follows without a separate COUNT query
+                .limit(pageSize + 1);
+
+        if (pageToken != null) {
+            builder.after(primaryKeyColumn, Page.decodeToken(pageToken));
+        }
+
+        final Optional<List<T>> rows = controller.read(builder);
+        if (rows.isEmpty()) {
+            LOGGER.warning(String.format("Failed to read a page of %s", tClass.getName()));
+        }
+
+        return rows.map(this::attachAll).map(ts -> {
+            if (ts.size() <= pageSize) {
+                return new Page<>(ts, null);
+            }
+
+            final List<T> items = new ArrayList<>(ts.subList(0, pageSize));
+            final Object lastSeenKey = metadata.getAccessor(primaryKeyField.get()).get(items.get(pageSize - 1));
+            return new Page<>(items, lastSeenKey == null ? null : Page.encodeToken(lastSeenKey));
+        });
+    }
+
+    /**
+     * Reads on the shared async executor, so independent reads can be fanned out without blocking the caller
+     */
+    public CompletableFuture<Optional<List<T>>> readAsync(Filter... filters) {
+        final SelectStatement.Builder builder = createSelectStatementBuilder(filters);
+        return asyncController.read(builder);
+    }
+
+    public CompletableFuture<Optional<T>> insertAsync(T t) {
+        return GenericDatabaseControllerModule.getAsyncExecutor().submit(() -> insert(t));
+    }
+
+    /**
+     * Lazily streams matching objects through a server-side cursor; close the stream to release its connection
+     */
+    public Stream<T> stream(Filter... filters) {
+        return controller.readStream(createSelectStatementBuilder(filters)).map(this::attach);
+    }
+
+    private SelectStatement.Builder createSelectStatementBuilder(Filter... filters) {
         final SelectStatement.Builder builder = SelectStatement.newBuilder(getSchema());
+        final List<Condition> clauses = createWhereClauses(filters);
 
-        for (Filter filter : filters) {
-            Optional<WhereClause> whereClause = createWhereClauseForFilter(filter);
-            whereClause.ifPresent(builder::where);
+        for (int i = 0; i < clauses.size(); i++) {
+            if (i == 0) {
+                builder.where(clauses.get(i));
+            } else {
+                builder.and(clauses.get(i));
+            }
         }
 
-        return controller.read(builder);
+        return builder;
     }
 
+    /**
+     * Overwrites the matching rows with the object's values. Without filters the row is matched on the object's
+     * primary key. False when no row matched.
+     */
     @Override
     public boolean update(T t, Filter... filters) {
-        final UpdateStatement.Builder builder = UpdateStatement.newBuilder(getSchema());
+        final Map<String, Object> values = new LinkedHashMap<>();
+        forEachInsertableValue(t, (field, value) -> values.put(field.getName(), value));
+        final boolean updated = updateWhere(values, filtersOrPrimaryKey(t, filters)).map(count -> count > 0).orElse(false);
+        if (updated && filters.length == 0) {
+            // updateWhere dropped the session's objects of this type, but t is now exactly what its row holds
+            replace(t);
+        }
+        return updated;
+    }
 
+    /**
+     * Deletes the matching rows, or the object's own row when no filters are given. False when no row matched.
+     */
+    @Override
+    public boolean delete(T t, Filter... filters) {
+        return deleteWhere(filtersOrPrimaryKey(t, filters)).map(count -> count > 0).orElse(false);
+    }
 
-        return controller.update(builder);
+    /**
+     * Sets the given fields (by field or column name) on every row matching the filters in one statement, without
+     * loading any objects, and returns the number of rows changed. At least one filter is required, so a forgotten
+     * filter can't rewrite the whole table.
+     */
+    public Optional<Integer> updateWhere(Map<String, Object> values, Filter... filters) {
+        final List<Condition> clauses = createWhereClauses(filters);
+        if (clauses.isEmpty() || clauses.size() != filters.length || values.isEmpty()) {
+            LOGGER.warning(String.format("Refusing to update %s without values or with unusable filters", tClass.getName()));
+            return Optional.empty();
+        }
+
+        final UpdateStatement.Builder builder = controller.updateStatementBuilder();
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            final Optional<Column> column = getColumnNamed(value.getKey());
+            if (column.isEmpty()) {
+                LOGGER.warning(String.format("Cannot update %s, it has no field or column named '%s'", tClass.getName(), value.getKey()));
+                return Optional.empty();
+            }
+            builder.update(value.getValue(), column.get());
+        }
+
+        for (int i = 0; i < clauses.size(); i++) {
+            if (i == 0) {
+                builder.where(clauses.get(i));
+            } else {
+                builder.and(clauses.get(i));
+            }
+        }
+
+        // the updated rows aren't known, so no loaded object of this type can be trusted any more
+        Session.current().ifPresent(session -> session.evictAll(tClass));
+        return controller.updateReturningCount(builder);
     }
 
-    private Set<Column> getColumnsForPersistedFields() {
-        return Helpers.getColumnsForObject(tClass);
+    /**
+     * Deletes every row matching the filters in one statement and returns how many were removed. At least one
+     * filter is required; use {@link #clearAllData()} to empty the table.
+     */
+    public Optional<Integer> deleteWhere(Filter... filters) {
+        final List<Condition> clauses = createWhereClauses(filters);
+        if (clauses.isEmpty() || clauses.size() != filters.length) {
+            LOGGER.warning(String.format("Refusing to delete from %s without usable filters", tClass.getName()));
+            return Optional.empty();
+        }
+
+        final DeleteStatement.Builder builder = controller.deleteStatementBuilder();
+        for (int i = 0; i < clauses.size(); i++) {
+            if (i == 0) {
+                builder.where(clauses.get(i));
+            } else {
+                builder.and(clauses.get(i));
+            }
+        }
+
+        Session.current().ifPresent(session -> session.evictAll(tClass));
+        return controller.deleteReturningCount(builder);
     }
 
-    private Set<Field> getPersistedPrimitiveFields() {
-        List<Field> nestedFieldPrimaryKeys = generateFieldsForNestedObjectPrimaryKeys();
-        return Helpers.getPersistedPrimitiveFields(tClass);
+    private Filter[] filtersOrPrimaryKey(T t, Filter... filters) {
+        if (filters.length > 0 || metadata.getPrimaryKeyField().isEmpty()) {
+            return filters;
+        }
+
+        final Field primaryKeyField = metadata.getPrimaryKeyField().get();
+        final Object primaryKey = metadata.getAccessor(primaryKeyField).get(t);
+        if (primaryKey == null) {
+            return filters;
+        }
+
+        return new Filter[]{newFilterBuilder().where(primaryKeyField.getName()).equalTo(primaryKey).build()};
     }
 
-    private List<Field> generateFieldsForNestedObjectPrimaryKeys() {
-        return Helpers.getPersistedObjectFields(tClass);
+    private List<Condition> createWhereClauses(Filter... filters) {
+        final List<Condition> clauses = new ArrayList<>();
+        for (Filter filter : filters) {
+            final Optional<Condition> clause = createWhereClauseForFilter(filter);
+            clause.ifPresent(clauses::add);
+        }
+        return clauses;
     }
 
-    @Override
-    public boolean delete(T t, Filter... filters) {
-        final DeleteStatement.Builder builder = DeleteStatement.newBuilder(getSchema());
-        // TODO: implement me
-        return controller.delete(builder);
+    private Optional<Column> getColumnNamed(String name) {
+        return metadata.getPersistedFields().stream()
+                .filter(field -> field.getName().equals(name) || metadata.getColumn(field).getName().equals(name))
+                .map(metadata::getColumn)
+                .findFirst();
     }
 
-    private void createTablesIfNeeded() {
-        if (!controller.tableExists()) {
-            controller.createTable();
+    private boolean createTablesIfNeeded() {
+        boolean verified = controller.ensureTableExists();
+        for (Database<?> nestedFieldDatabase : nestedFieldDatabases) {
+            verified &= nestedFieldDatabase.createTablesIfNeeded();
         }
+        return verified;
+    }
 
-        nestedFieldDatabases.stream()
-                .map
+    private void declareIndexes() {
+        for (Field field : metadata.getIndexedFields()) {
+            final Indexed indexed = field.getAnnotation(Indexed.class);
+            final CreateIndexStatement.Builder builder = controller.createIndexStatementBuilder()
+                    .on(metadata.getColumn(field))
+                    .using(indexed.method());
+            if (indexed.unique()) {
+                builder.unique();
+            }
+            controller.declareIndex(builder);
+        }
     }
 
     private InsertStatement.Builder createInsertStatementBuilder(T t) {
         final InsertStatement.Builder builder = controller.insertStatementBuilder();
 
-        getPersistedPrimitiveFields().stream()
-                .filter(Predicate.not(Helpers::isPrimaryKey))
-                .forEach(field -> {
-                    field.setAccessible(true);
-                    final Optional<String> valueToInsert = Helpers.extractValueFromField(field, t);
-
-                    if (valueToInsert.isEmpty()) {
-                        return;
-                    }
-
-                    final Column column = Helpers.createColumnForField(field, tClass);
-                    builder.insert(valueToInsert.get(), column);
-                });
+        forEachInsertableValue(t, (field, value) -> {
+            if (value != null) {
+                builder.insert(value, metadata.getColumn(field));
+            }
+        });
 
         return builder;
     }
 
+    /**
+     * Reads all persisted fields in one {@link ClassMetadata#extract(Object)} call rather than one accessor call each
+     */
+    private void forEachInsertableValue(T t, BiConsumer<Field, Object> consumer) {
+        final List<Field> fields = metadata.getPersistedFields();
+        final Object[] values = metadata.extract(t);
+        for (int i = 0; i < fields.size(); i++) {
+            if (!Helpers.isPrimaryKey(fields.get(i))) {
+                consumer.accept(fields.get(i), values[i]);
+            }
+        }
+    }
+
     public void clearAllData() {
+        Session.current().ifPresent(session -> session.evictAll(tClass));
         controller.dropTable(true);
         controller.createTable();
     }
 
+    private T attach(T t) {
+        final Optional<Session> session = Session.current();
+        final Object primaryKey = getPrimaryKey(t);
+        if (session.isEmpty() || primaryKey == null) {
+            return t;
+        }
+        return session.get().attach(tClass, primaryKey, t);
+    }
+
+    private List<T> attachAll(List<T> ts) {
+        if (Session.current().isEmpty()) {
+            return ts;
+        }
+        return ts.stream().map(this::attach).collect(Collectors.toList());
+    }
+
+    private T replace(T t) {
+        final Object primaryKey = getPrimaryKey(t);
+        if (primaryKey != null) {
+            Session.current().ifPresent(session -> session.replace(tClass, primaryKey, t));
+        }
+        return t;
+    }
+
+    private Object getPrimaryKey(T t) {
+        return metadata.getPrimaryKeyField().map(field -> metadata.getAccessor(field).get(t)).orElse(null);
+    }
+
     private DatabaseTableSchema getSchema() {
-        return new DatabaseTableSchema(tClass.getName(), Helpers.getColumnsForObject(tClass));
+        return metadata.getSchema();
     }
 
     private SqlTableController<T> createController() {
@@ -121,30 +561,53 @@ public class Database<T> implements CrudOperable<T> {
         return module.create();
     }
 
-    private <FieldType> Optional<WhereClause> createWhereClauseForFilter(Filter<T, FieldType> filter) {
-        if (filter.getFieldName() == null ||
-                filter.getOperator() == null ||
-                filter.getExpected() == null ||
-                filter.getFieldClassType() == null) {
+    private <FieldType> Optional<Condition> createWhereClauseForFilter(Filter<T, FieldType> filter) {
+        if (filter.isComposite()) {
+            return createCompoundClauseForFilter(filter);
+        }
+
+        final Operator operator = filter.getOperator();
+        if (filter.getFieldName() == null || operator == null) {
             return Optional.empty();
-        } else {
-            final Column column = getColumnForFilter(filter);
-            final WhereClause clause = new WhereClause(column, filter.getOperator(), filter.getExpected());
-            return Optional.of(clause);
+        }
+
+        final Column column = getColumnForFilter(filter);
+        switch (operator) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+                return Optional.of(new WhereClause(column, operator, null));
+            case IN:
+                return Optional.ofNullable(filter.getCandidates()).map(candidates -> new WhereClause(column, operator, candidates));
+            case BETWEEN:
+                if (filter.getExpected() == null || filter.getUpperBound() == null) {
+                    return Optional.empty();
+                }
+                return Optional.of(WhereClause.between(column, filter.getExpected(), filter.getUpperBound()));
+            default:
+                return Optional.ofNullable(filter.getExpected()).map(expected -> new WhereClause(column, operator, expected));
         }
     }
 
+    private Optional<Condition> createCompoundClauseForFilter(Filter<T, ?> filter) {
+        final List<Condition> conditions = createWhereClauses(filter.getChildren().toArray(new Filter[0]));
+        if (conditions.isEmpty() || conditions.size() != filter.getChildren().size()) {
+            return Optional.empty();
+        }
+
+        CompoundClause.Builder builder = CompoundClause.newBuilder().where(conditions.get(0));
+        for (Condition condition : conditions.subList(1, conditions.size())) {
+            builder = filter.getCombinator() == LogicalOperator.OR ? builder.or(condition) : builder.and(condition);
+        }
+        return Optional.of(builder.build());
+    }
+
     private Column getColumnForFilter(Filter filter) {
         // TODO: add validation & logging here
-        return Column.newBuilder()
+        return getColumnNamed(filter.getFieldName()).orElseGet(() -> Column.newBuilder()
                 .parentTableName(getClass().getName())
-                .type(getColumnTypeForFilter(filter))
+                .type(Helpers.getTypeForClass(filter.getFieldClassType()))
                 .named(filter.getFieldName())
-                .build();
-    }
-
-    private Column.Type getColumnTypeForFilter(Filter filter) {
-        return Column.Type.VARCHAR_255;
+                .build());
     }
 
     public Filter.Builder newFilterBuilder() {
@@ -152,7 +615,7 @@ public class Database<T> implements CrudOperable<T> {
     }
 
     private List<Database<?>> createNestedObjectDatabases() {
-        return Helpers.getPersistedObjectFields(tClass).stream()
+        return metadata.getNestedObjectFields().stream()
                 .map(Object::getClass)
                 .map(Database::storing)
                 .collect(Collectors.toList());
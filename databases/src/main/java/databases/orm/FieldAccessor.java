@@ -0,0 +1,116 @@
+package databases.orm;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Getter & setter for a single persisted field, backed by method handles resolved once instead of
+ * {@link Field#get(Object)} / {@link Field#set(Object, Object)} access checks on every call
+ */
+public class FieldAccessor {
+    private static final Logger LOGGER = Logger.getLogger(FieldAccessor.class.getName());
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle typedSetter;
+
+    private FieldAccessor(Field field, MethodHandle getter, MethodHandle typedSetter) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = skipNullsOfPrimitiveFields(field, typedSetter.asType(SETTER_TYPE));
+        this.typedSetter = typedSetter;
+    }
+
+    public static FieldAccessor create(Field field) {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+            final MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            return new FieldAccessor(field, getter, lookup.unreflectSetter(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access field " + field, e);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * {@code (Object)Object} getter
+     */
+    MethodHandle getGetter() {
+        return getter;
+    }
+
+    /**
+     * {@code (Object, Object)void} setter with the null handling of {@link #set(Object, Object)}
+     */
+    MethodHandle getSetter() {
+        return setter;
+    }
+
+    /**
+     * Setter taking the target as {@code Object} and the value as {@code valueType}, so primitive fields can be
+     * written without boxing
+     */
+    public MethodHandle getSetter(Class<?> valueType) {
+        return typedSetter.asType(MethodType.methodType(void.class, Object.class, valueType));
+    }
+
+    /**
+     * Throws {@link ClassCastException} if {@code target} doesn't declare the field
+     */
+    public Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            // field handles don't throw checked exceptions
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Skips nulls for primitive fields and values of the wrong type, which are logged
+     */
+    public void set(Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (ClassCastException e) {
+            LOGGER.log(Level.WARNING, String.format("Cannot set %s to a %s", field,
+                    value == null ? null : value.getClass().getName()), e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static MethodHandle skipNullsOfPrimitiveFields(Field field, MethodHandle setter) {
+        if (!field.getType().isPrimitive()) {
+            return setter;
+        }
+
+        final MethodHandle isNotNull;
+        try {
+            isNotNull = MethodHandles.lookup().findStatic(Objects.class, "nonNull",
+                    MethodType.methodType(boolean.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return MethodHandles.guardWithTest(
+                MethodHandles.dropArguments(isNotNull, 0, Object.class),
+                setter,
+                MethodHandles.empty(SETTER_TYPE));
+    }
+}
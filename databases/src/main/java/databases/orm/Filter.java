@@ -1,16 +1,45 @@
 package databases.orm;
 
+import databases.crud.sql.postgresql.statements.LogicalOperator;
 import databases.crud.sql.postgresql.statements.Operator;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
 public class Filter<ModelType, FieldType> {
+    private static final Logger LOGGER = Logger.getLogger(Filter.class.getName());
+    private static final Set<String> WARNED_FIELDS = ConcurrentHashMap.newKeySet();
+
     private final String fieldName;
     private final FieldType expected;
+    private final FieldType upperBound;
+    private final Collection<FieldType> candidates;
     private final Operator operator;
+    private final LogicalOperator combinator;
+    private final List<Filter> children;
 
     private Filter(Builder<ModelType, FieldType> builder) {
         this.fieldName = builder.fieldName;
         this.expected = builder.expected;
+        this.upperBound = builder.upperBound;
+        this.candidates = builder.candidates;
         this.operator = builder.operator;
+        this.combinator = null;
+        this.children = List.of();
+    }
+
+    private Filter(LogicalOperator combinator, List<Filter> children) {
+        this.fieldName = null;
+        this.expected = null;
+        this.upperBound = null;
+        this.candidates = null;
+        this.operator = null;
+        this.combinator = combinator;
+        this.children = children;
     }
 
     public static class Builder<ModelType, FieldType> {
@@ -18,6 +47,8 @@ public class Filter<ModelType, FieldType> {
         public Operator operator;
         private String fieldName;
         private FieldType expected;
+        private FieldType upperBound;
+        private Collection<FieldType> candidates;
 
         private Builder(Class<ModelType> tClass) {
             this.tClass = tClass;
@@ -29,13 +60,76 @@ public class Filter<ModelType, FieldType> {
         }
 
         public Builder equalTo(FieldType expected) {
-            this.operator = Operator.EQUALS;
+            return compare(Operator.EQUALS, expected);
+        }
+
+        public Builder notEqualTo(FieldType expected) {
+            return compare(Operator.NOT_EQUALS, expected);
+        }
+
+        public Builder lessThan(FieldType expected) {
+            return compare(Operator.LESS_THAN, expected);
+        }
+
+        public Builder atMost(FieldType expected) {
+            return compare(Operator.LESS_THAN_OR_EQUALS, expected);
+        }
+
+        public Builder greaterThan(FieldType expected) {
+            return compare(Operator.GREATER_THAN, expected);
+        }
+
+        public Builder atLeast(FieldType expected) {
+            return compare(Operator.GREATER_THAN_OR_EQUALS, expected);
+        }
+
+        /**
+         * Matches values from {@code lowerBound} to {@code upperBound}, both inclusive
+         */
+        public Builder between(FieldType lowerBound, FieldType upperBound) {
+            this.upperBound = upperBound;
+            return compare(Operator.BETWEEN, lowerBound);
+        }
+
+        /**
+         * Matches any of the candidates. They're sent as one array parameter, so the statement is the same for
+         * any number of candidates.
+         */
+        public Builder in(Collection<FieldType> candidates) {
+            this.operator = Operator.IN;
+            this.candidates = candidates;
+            return this;
+        }
+
+        /**
+         * Matches values beginning with the prefix, which is taken literally (LIKE wildcards are escaped)
+         */
+        public Builder startsWith(FieldType prefix) {
+            return compare(Operator.STARTS_WITH, prefix);
+        }
+
+        public Builder isNull() {
+            this.operator = Operator.IS_NULL;
+            return this;
+        }
+
+        public Builder isNotNull() {
+            this.operator = Operator.IS_NOT_NULL;
+            return this;
+        }
+
+        private Builder compare(Operator operator, FieldType expected) {
+            this.operator = operator;
             this.expected = expected;
             return this;
         }
 
         public Filter<ModelType, FieldType> build() {
-            // TODO: add validation for requests filtering on non-indexed fields
+            if (fieldName != null && !ClassMetadata.of(tClass).isIndexed(fieldName)
+                    && WARNED_FIELDS.add(tClass.getName() + "." + fieldName)) {
+                LOGGER.warning(String.format("Filtering %s on non-indexed field '%s' results in a sequential scan, consider marking it @Indexed",
+                        tClass.getSimpleName(), fieldName));
+            }
             return new Filter<ModelType, FieldType>(this);
         };
     }
@@ -44,12 +138,43 @@ public class Filter<ModelType, FieldType> {
         return new Builder<T, F>(tClass);
     }
 
+    /**
+     * Matches objects matching every one of the filters, which may themselves be composite
+     */
+    public static Filter allOf(Filter... filters) {
+        return new Filter(LogicalOperator.AND, Arrays.asList(filters));
+    }
+
+    /**
+     * Matches objects matching at least one of the filters, which may themselves be composite
+     */
+    public static Filter anyOf(Filter... filters) {
+        return new Filter(LogicalOperator.OR, Arrays.asList(filters));
+    }
+
+    public boolean isComposite() {
+        return combinator != null;
+    }
+
+    public LogicalOperator getCombinator() {
+        return combinator;
+    }
+
+    public List<Filter> getChildren() {
+        return children;
+    }
+
     public String getFieldName() {
         return fieldName;
     }
 
     public Class getFieldClassType() {
-        return expected.getClass();
+        if (expected != null) {
+            return expected.getClass();
+        } else if (candidates != null && !candidates.isEmpty() && candidates.iterator().next() != null) {
+            return candidates.iterator().next().getClass();
+        }
+        return Object.class;
     }
 
     public Operator getOperator() {
@@ -59,4 +184,12 @@ public class Filter<ModelType, FieldType> {
     public FieldType getExpected() {
         return expected;
     }
+
+    public FieldType getUpperBound() {
+        return upperBound;
+    }
+
+    public Collection<FieldType> getCandidates() {
+        return candidates;
+    }
 }
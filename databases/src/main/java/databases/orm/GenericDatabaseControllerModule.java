@@ -5,19 +5,26 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Provides;
 import commons.utils.YamlDeserializer;
-import databases.crud.sql.Column;
+import databases.crud.sql.AsyncSqlExecutor;
+import databases.crud.sql.ConnectionPool;
+import databases.crud.sql.RoutingSqlExecutor;
 import databases.crud.sql.SqlExecutor;
 import databases.crud.sql.SqlTableController;
+import databases.crud.sql.instrumentation.DelegatingSqlInstrumentation;
+import databases.crud.sql.instrumentation.SqlInstrumentation;
 import databases.crud.sql.postgresql.PostgresqlConnection;
+import databases.crud.sql.postgresql.PostgresqlConnectionPool;
 import databases.crud.sql.postgresql.configuration.PostgresqlDeploymentConfiguration;
 import databases.crud.sql.postgresql.configuration.adapters.PostgresqlConfigurationToPostgresqlConnection;
 import databases.crud.sql.postgresql.executors.PostgresqlExecutor;
 import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
 
-import java.util.Set;
-import java.util.stream.Collectors;
 
 public class GenericDatabaseControllerModule<T> extends AbstractModule {
+    private static PostgresqlConnectionPool connectionPool;
+    private static AsyncSqlExecutor asyncExecutor;
+    private static RoutingSqlExecutor routingExecutor;
+    private static final DelegatingSqlInstrumentation INSTRUMENTATION = new DelegatingSqlInstrumentation();
     private final Class<T> tClass;
 
     public GenericDatabaseControllerModule(Class<T> tClass) {
@@ -30,10 +37,7 @@ public class GenericDatabaseControllerModule<T> extends AbstractModule {
 
     @Provides
     private DatabaseTableSchema getSchema() {
-        final Set<Column> columnList = Helpers.createPersistedFieldColumns(tClass);
-        columnList.addAll(Helpers.createPrimaryKeyColumns(tClass));
-        final String tableName = tClass.getName();
-        return new DatabaseTableSchema(tableName, columnList);
+        return ClassMetadata.of(tClass).getSchema();
     }
 
     public SqlTableController<T> create() {
@@ -41,9 +45,18 @@ public class GenericDatabaseControllerModule<T> extends AbstractModule {
         final SqlTableController controller = injector.getInstance(SqlTableController.class);
         final GenericResultSetDeserializer<T> deserializer = new GenericResultSetDeserializer<>(tClass);
         controller.setDeserializer(deserializer);
+        controller.setInstrumentation(INSTRUMENTATION);
         return controller;
     }
 
+    /**
+     * Reports every controller's and shared executor's timings to {@code instrumentation}, including those created
+     * earlier. Pass {@link SqlInstrumentation#NOOP} to switch instrumentation off again.
+     */
+    public static void useInstrumentation(SqlInstrumentation instrumentation) {
+        INSTRUMENTATION.setDelegate(instrumentation);
+    }
+
     public static PostgresqlDeploymentConfiguration getMockConfiguration() {
         final String resourceName = "mock-postgresql-config.yml";
         return (PostgresqlDeploymentConfiguration) YamlDeserializer.deserializeFromResource(resourceName, PostgresqlDeploymentConfiguration.class).get();
@@ -53,8 +66,45 @@ public class GenericDatabaseControllerModule<T> extends AbstractModule {
         return new PostgresqlConfigurationToPostgresqlConnection(getMockConfiguration().getPostgresqlConfiguration());
     }
 
+    public static synchronized ConnectionPool getConnectionPool() {
+        if (connectionPool == null) {
+            connectionPool = PostgresqlConnectionPool.newBuilder(getConnection()).build();
+        }
+        return connectionPool;
+    }
+
+    /**
+     * Shared async executor over {@link #getRoutingExecutor()}, allowing as many concurrent queries as the shared pool
+     * has connections
+     */
+    public static synchronized AsyncSqlExecutor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            getConnectionPool();
+            asyncExecutor = new AsyncSqlExecutor(getRoutingExecutor(), connectionPool.getMaximumSize());
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * Shared executor sending reads to the configured replicas, each with its own pool, and everything else to the
+     * primary. Reads stay on the primary for the rest of a {@link Session} that wrote.
+     */
+    public static synchronized RoutingSqlExecutor getRoutingExecutor() {
+        if (routingExecutor == null) {
+            final RoutingSqlExecutor.Builder builder = RoutingSqlExecutor.newBuilder(new PostgresqlExecutor(getConnectionPool(), INSTRUMENTATION))
+                    .readYourWritesScope(Session::current);
+
+            for (PostgresqlDeploymentConfiguration.PostgresqlConfiguration replica : getMockConfiguration().getReplicaConfigurations()) {
+                final PostgresqlConnection connection = new PostgresqlConfigurationToPostgresqlConnection(replica);
+                builder.addReplica(new PostgresqlExecutor(PostgresqlConnectionPool.newBuilder(connection).build(), INSTRUMENTATION));
+            }
+            routingExecutor = builder.build();
+        }
+        return routingExecutor;
+    }
+
     @Provides
     public SqlExecutor getExecutor() {
-        return new PostgresqlExecutor(getConnection());
+        return getRoutingExecutor();
     }
 }
\ No newline at end of file
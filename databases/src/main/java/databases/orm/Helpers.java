@@ -1,14 +1,18 @@
 package databases.orm;
 
 import databases.crud.sql.Column;
+import databases.orm.annotations.ColumnType;
 import databases.orm.annotations.Persisted;
 import databases.orm.annotations.PrimaryKey;
 
 import java.lang.reflect.Field;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -19,6 +23,29 @@ public class Helpers {
             return Column.Type.SERIAL_PRIMARY_KEY;
         } else if (isNestedObjectPersistedField(field)) {
             return Column.Type.FOREIGN_KEY;
+        } else if (field.isAnnotationPresent(ColumnType.class)) {
+            return field.getAnnotation(ColumnType.class).value();
+        } else {
+            return getTypeForClass(field.getType());
+        }
+    }
+
+    static Column.Type getTypeForClass(Class<?> type) {
+        if (type == int.class || type == Integer.class || type == short.class || type == Short.class
+                || type == byte.class || type == Byte.class) {
+            return Column.Type.INTEGER;
+        } else if (type == long.class || type == Long.class) {
+            return Column.Type.BIGINT;
+        } else if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+            return Column.Type.DOUBLE;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Column.Type.BOOLEAN;
+        } else if (type == Instant.class || Date.class.isAssignableFrom(type)) {
+            return Column.Type.TIMESTAMPTZ;
+        } else if (type == UUID.class) {
+            return Column.Type.UUID;
+        } else if (type == byte[].class) {
+            return Column.Type.BYTEA;
         } else {
             return Column.Type.VARCHAR_255;
         }
@@ -0,0 +1,187 @@
+package databases.orm;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Field to column index bindings resolved once from a result set's metadata, so each row is hydrated by index
+ * through type-specialized setters rather than by column name
+ */
+class HydrationPlan<T> implements Function<ResultSet, Optional<T>> {
+    private static final Logger LOGGER = Logger.getLogger(HydrationPlan.class.getName());
+
+    private final ClassMetadata<T> metadata;
+    private final List<ColumnBinding> bindings;
+
+    private HydrationPlan(ClassMetadata<T> metadata, List<ColumnBinding> bindings) {
+        this.metadata = metadata;
+        this.bindings = bindings;
+    }
+
+    static <T> HydrationPlan<T> create(ClassMetadata<T> metadata, ResultSetMetaData resultSetMetaData) throws SQLException {
+        final Map<String, Integer> columnIndices = new HashMap<>();
+        for (int index = resultSetMetaData.getColumnCount(); index >= 1; index--) {
+            columnIndices.put(resultSetMetaData.getColumnLabel(index).toLowerCase(Locale.ROOT), index);
+        }
+
+        final List<ColumnBinding> bindings = new ArrayList<>();
+        for (Field field : metadata.getPersistedFields()) {
+            final Integer index = columnIndices.get(metadata.getColumn(field).getName().toLowerCase(Locale.ROOT));
+            if (index != null) {
+                bindings.add(new ColumnBinding(field, index, createReader(metadata.getAccessor(field))));
+            }
+        }
+
+        return new HydrationPlan<>(metadata, bindings);
+    }
+
+    @Override
+    public Optional<T> apply(ResultSet resultSet) {
+        final T object = metadata.newInstance();
+
+        for (ColumnBinding binding : bindings) {
+            try {
+                binding.reader.read(resultSet, binding.index, object);
+            } catch (SQLException | ClassCastException e) {
+                LOGGER.log(Level.WARNING, String.format("Cannot hydrate %s from column %d", binding.field, binding.index), e);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                // result set getters & field setters throw nothing else
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+        return Optional.of(object);
+    }
+
+    private static ColumnReader createReader(FieldAccessor accessor) {
+        final Class<?> type = accessor.getField().getType();
+
+        if (type == int.class) {
+            final MethodHandle setter = accessor.getSetter(int.class);
+            return (resultSet, index, target) -> {
+                setter.invokeExact(target, resultSet.getInt(index));
+            };
+        } else if (type == long.class) {
+            final MethodHandle setter = accessor.getSetter(long.class);
+            return (resultSet, index, target) -> {
+                setter.invokeExact(target, resultSet.getLong(index));
+            };
+        } else if (type == double.class) {
+            final MethodHandle setter = accessor.getSetter(double.class);
+            return (resultSet, index, target) -> {
+                setter.invokeExact(target, resultSet.getDouble(index));
+            };
+        } else if (type == float.class) {
+            final MethodHandle setter = accessor.getSetter(float.class);
+            return (resultSet, index, target) -> {
+                setter.invokeExact(target, resultSet.getFloat(index));
+            };
+        } else if (type == short.class) {
+            final MethodHandle setter = accessor.getSetter(short.class);
+            return (resultSet, index, target) -> {
+                setter.invokeExact(target, resultSet.getShort(index));
+            };
+        } else if (type == byte.class) {
+            final MethodHandle setter = accessor.getSetter(byte.class);
+            return (resultSet, index, target) -> {
+                setter.invokeExact(target, resultSet.getByte(index));
+            };
+        } else if (type == boolean.class) {
+            final MethodHandle setter = accessor.getSetter(boolean.class);
+            return (resultSet, index, target) -> {
+                setter.invokeExact(target, resultSet.getBoolean(index));
+            };
+        } else if (type == char.class) {
+            final MethodHandle setter = accessor.getSetter(char.class);
+            return (resultSet, index, target) -> {
+                final String value = resultSet.getString(index);
+                if (value != null && !value.isEmpty()) {
+                    setter.invokeExact(target, value.charAt(0));
+                }
+            };
+        } else if (type == Integer.class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getInt(index));
+        } else if (type == Long.class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getLong(index));
+        } else if (type == Double.class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getDouble(index));
+        } else if (type == Float.class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getFloat(index));
+        } else if (type == Short.class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getShort(index));
+        } else if (type == Byte.class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getByte(index));
+        } else if (type == Boolean.class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getBoolean(index));
+        } else if (type == Character.class) {
+            return nullable(accessor, (resultSet, index) -> {
+                final String value = resultSet.getString(index);
+                return value == null || value.isEmpty() ? null : value.charAt(0);
+            });
+        } else if (type == String.class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getString(index));
+        } else if (type == UUID.class) {
+            return nullable(accessor, (resultSet, index) -> {
+                final Object value = resultSet.getObject(index);
+                return value == null || value instanceof UUID ? value : UUID.fromString(value.toString());
+            });
+        } else if (type == Instant.class) {
+            return nullable(accessor, (resultSet, index) -> {
+                final Timestamp value = resultSet.getTimestamp(index);
+                return value == null ? null : value.toInstant();
+            });
+        } else if (type == byte[].class) {
+            return nullable(accessor, (resultSet, index) -> resultSet.getBytes(index));
+        } else {
+            return nullable(accessor, (resultSet, index) -> {
+                final Object value = resultSet.getObject(index);
+                return type.isInstance(value) ? value : null;
+            });
+        }
+    }
+
+    private static ColumnReader nullable(FieldAccessor accessor, ValueReader valueReader) {
+        final MethodHandle setter = accessor.getSetter(Object.class);
+        return (resultSet, index, target) -> {
+            final Object value = valueReader.read(resultSet, index);
+            setter.invokeExact(target, resultSet.wasNull() ? null : value);
+        };
+    }
+
+    private interface ColumnReader {
+        void read(ResultSet resultSet, int index, Object target) throws Throwable;
+    }
+
+    private interface ValueReader {
+        Object read(ResultSet resultSet, int index) throws SQLException;
+    }
+
+    private static class ColumnBinding {
+        private final Field field;
+        private final int index;
+        private final ColumnReader reader;
+
+        private ColumnBinding(Field field, int index, ColumnReader reader) {
+            this.field = field;
+            this.index = index;
+            this.reader = reader;
+        }
+    }
+}
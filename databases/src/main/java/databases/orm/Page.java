@@ -0,0 +1,47 @@
+package databases.orm;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of a keyset-paginated read. The continuation token is opaque to callers and is handed back to
+ * {@link Database#readPage(String, int, Filter[])} to fetch the rows following this page.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextPageToken;
+
+    Page(List<T> items, String nextPageToken) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Optional<String> getNextPageToken() {
+        return Optional.ofNullable(nextPageToken);
+    }
+
+    public boolean hasNextPage() {
+        return nextPageToken != null;
+    }
+
+    static String encodeToken(Object lastSeenKey) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastSeenKey.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token wasn't produced by {@link #encodeToken(Object)}
+     */
+    static String decodeToken(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page token: " + token, e);
+        }
+    }
+}
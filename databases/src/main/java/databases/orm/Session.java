@@ -0,0 +1,98 @@
+package databases.orm;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * First-level cache bound to the calling thread. While a session is open, every {@link Database} hands out one
+ * instance per primary key: reads by id are answered from the session without a round trip, and objects loaded by
+ * other reads are swapped for the instance the session already holds. Sessions are meant to span a single request;
+ * writes rolled back by a transaction aren't undone in the session, so clear it if such a transaction fails.
+ * <pre>
+ * try (Session session = Session.open()) {
+ *     ...
+ * }
+ * </pre>
+ */
+public class Session implements AutoCloseable {
+    private static final ThreadLocal<Session> CURRENT_SESSION = new ThreadLocal<>();
+
+    private final Map<Class<?>, Map<String, Object>> identityMap = new HashMap<>();
+    private int openCount = 1;
+
+    private Session() {
+    }
+
+    /**
+     * Opens a session on the calling thread, or joins the one already open, in which case it stays open until the
+     * outermost session is closed
+     */
+    public static Session open() {
+        final Session current = CURRENT_SESSION.get();
+        if (current != null) {
+            current.openCount++;
+            return current;
+        }
+
+        final Session session = new Session();
+        CURRENT_SESSION.set(session);
+        return session;
+    }
+
+    public static Optional<Session> current() {
+        return Optional.ofNullable(CURRENT_SESSION.get());
+    }
+
+    public <T> Optional<T> get(Class<T> tClass, Object primaryKey) {
+        final Map<String, Object> instances = identityMap.get(tClass);
+        return instances == null ? Optional.empty() : Optional.ofNullable(tClass.cast(instances.get(createKey(primaryKey))));
+    }
+
+    /**
+     * Returns the instance already held for the primary key, or registers and returns {@code instance}
+     */
+    public <T> T attach(Class<T> tClass, Object primaryKey, T instance) {
+        final Object attached = identityMap.computeIfAbsent(tClass, key -> new HashMap<>())
+                .putIfAbsent(createKey(primaryKey), instance);
+        return attached == null ? instance : tClass.cast(attached);
+    }
+
+    /**
+     * Registers {@code instance} for the primary key, replacing any instance held for it
+     */
+    public <T> void replace(Class<T> tClass, Object primaryKey, T instance) {
+        identityMap.computeIfAbsent(tClass, key -> new HashMap<>()).put(createKey(primaryKey), instance);
+    }
+
+    public void evict(Class<?> tClass, Object primaryKey) {
+        final Map<String, Object> instances = identityMap.get(tClass);
+        if (instances != null) {
+            instances.remove(createKey(primaryKey));
+        }
+    }
+
+    /**
+     * Forgets every instance of the class, e.g. after a set-based update whose affected rows aren't known
+     */
+    public void evictAll(Class<?> tClass) {
+        identityMap.remove(tClass);
+    }
+
+    public void clear() {
+        identityMap.clear();
+    }
+
+    @Override
+    public void close() {
+        if (--openCount == 0) {
+            identityMap.clear();
+            CURRENT_SESSION.remove();
+        }
+    }
+
+    // keys are compared by their string form, so an id read as "7" and one passed as 7 find the same instance
+    private static String createKey(Object primaryKey) {
+        return String.valueOf(primaryKey);
+    }
+}
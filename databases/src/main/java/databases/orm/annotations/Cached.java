@@ -0,0 +1,28 @@
+package databases.orm.annotations;
+
+import databases.crud.sql.cache.LruQueryCache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches read results of the model across threads, invalidated by any write made through this process. Writes made
+ * elsewhere are only picked up once entries expire, so read-mostly models should still set an expiry.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Cached {
+    int maximumSize() default LruQueryCache.DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * Seconds after which a cached result is dropped however often it's read, 0 for never
+     */
+    long expireAfterWriteSeconds() default 0;
+
+    /**
+     * Seconds without a read after which a cached result is dropped, 0 for never
+     */
+    long expireAfterAccessSeconds() default 0;
+}
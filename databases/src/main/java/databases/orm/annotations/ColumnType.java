@@ -0,0 +1,17 @@
+package databases.orm.annotations;
+
+import databases.crud.sql.Column;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the column type inferred from a persisted field's java type, e.g. to store a String as TEXT or JSONB
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ColumnType {
+    Column.Type value();
+}
@@ -0,0 +1,19 @@
+package databases.orm.annotations;
+
+import databases.crud.sql.postgresql.statements.IndexMethod;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a persisted field whose column should be indexed when the model's table is bootstrapped
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Indexed {
+    boolean unique() default false;
+
+    IndexMethod method() default IndexMethod.BTREE;
+}
@@ -0,0 +1,83 @@
+package test.crud;
+
+import databases.crud.sql.AsyncSqlExecutor;
+import databases.crud.sql.SqlExecutorException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AsyncSqlExecutorTests {
+    @Test
+    public void test_Concurrent_Work_Is_Bounded_By_Permits() {
+        // Arrange
+        final AsyncSqlExecutor executor = new AsyncSqlExecutor(null, Executors.newCachedThreadPool(), 2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maximumRunning = new AtomicInteger();
+        final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            final int value = i;
+            futures.add(executor.submit(() -> {
+                maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+        final int sum = futures.stream().mapToInt(CompletableFuture::join).sum();
+
+        // Assert
+        assertEquals(28, sum);
+        assertTrue(maximumRunning.get() <= 2);
+        executor.close();
+    }
+
+    @Test
+    public void test_Without_Virtual_Threads_Work_Runs_On_One_Thread_Per_Permit() {
+        // Arrange
+        assumeTrue(Runtime.version().feature() < 21);
+        final AsyncSqlExecutor executor = new AsyncSqlExecutor(null, 2);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                Thread.sleep(20);
+                return threads.add(Thread.currentThread());
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // Assert
+        assertEquals(2, threads.size());
+        executor.close();
+    }
+
+    @Test
+    public void test_Failures_Complete_Exceptionally() {
+        // Arrange
+        final AsyncSqlExecutor executor = new AsyncSqlExecutor(null, 1);
+
+        // Act
+        final CompletableFuture<Object> future = executor.submit(() -> {
+            throw SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION;
+        });
+
+        // Assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertSame(SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION, exception.getCause());
+        executor.close();
+    }
+}
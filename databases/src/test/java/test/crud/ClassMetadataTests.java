@@ -0,0 +1,186 @@
+package test.crud;
+
+import databases.crud.sql.Column;
+import databases.crud.sql.postgresql.statements.builders.CreateTableStatement;
+import databases.orm.ClassMetadata;
+import databases.orm.GenericResultSetDeserializer;
+import databases.orm.annotations.ColumnType;
+import databases.orm.annotations.Indexed;
+import databases.orm.annotations.Persisted;
+import databases.orm.annotations.PrimaryKey;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockResultSet;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClassMetadataTests {
+    public static class Account {
+        @PrimaryKey
+        private Integer id;
+        @Persisted
+        @Indexed(unique = true)
+        private String email;
+        @Persisted
+        private String displayName;
+        private String unpersistedNote;
+    }
+
+    public static class Event {
+        @PrimaryKey
+        private Integer id;
+        @Persisted
+        private long sequence;
+        @Persisted
+        private Double score;
+        @Persisted
+        private boolean archived;
+        @Persisted
+        private Instant occurredAt;
+        @Persisted
+        private UUID correlationId;
+        @Persisted
+        private byte[] payload;
+        @Persisted
+        @ColumnType(Column.Type.JSONB)
+        private String attributes;
+        @Persisted
+        private String name;
+    }
+
+    public static class Snapshot {
+        @PrimaryKey
+        private Integer id;
+
+        public Snapshot(Integer id) {
+            this.id = id;
+        }
+    }
+
+    @Test
+    public void test_Metadata_Is_Computed_Once_Per_Class() {
+        // Act
+        final ClassMetadata<Account> first = ClassMetadata.of(Account.class);
+        final ClassMetadata<Account> second = ClassMetadata.of(Account.class);
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first.getSchema(), second.getSchema());
+    }
+
+    @Test
+    public void test_Fields_Are_Ordered_And_Exclude_Unpersisted() {
+        // Act
+        final ClassMetadata<Account> metadata = ClassMetadata.of(Account.class);
+
+        // Assert
+        assertEquals(List.of("id", "email", "displayName"), names(metadata.getPersistedFields()));
+        assertEquals(List.of("email", "displayName"), names(metadata.getInsertableFields()));
+        assertEquals("id", metadata.getPrimaryKeyField().map(Field::getName).orElse(null));
+        assertEquals(3, metadata.getColumns().size());
+    }
+
+    @Test
+    public void test_PrimaryKey_And_Indexed_Fields_Are_Indexed() {
+        // Act
+        final ClassMetadata<Account> metadata = ClassMetadata.of(Account.class);
+
+        // Assert
+        assertEquals(List.of("email"), names(metadata.getIndexedFields()));
+        assertTrue(metadata.isIndexed("id"));
+        assertTrue(metadata.isIndexed("email"));
+        assertFalse(metadata.isIndexed("displayName"));
+    }
+
+    @Test
+    public void test_Deserializer_Hydrates_Persisted_Fields() throws Exception {
+        // Arrange
+        final ResultSet resultSet = new MockResultSet(List.of(Map.of("id", 7, "email", "john.doe@gmail.com", "displayName", "John"))).create();
+        final GenericResultSetDeserializer<Account> deserializer = new GenericResultSetDeserializer<>(Account.class);
+        resultSet.next();
+
+        // Act
+        final Optional<Account> account = deserializer.deserializeResultSet(resultSet);
+
+        // Assert
+        assertTrue(account.isPresent());
+        assertEquals(7, account.get().id);
+        assertEquals("john.doe@gmail.com", account.get().email);
+        assertEquals("John", account.get().displayName);
+    }
+
+    @Test
+    public void test_Accessors_Read_And_Write_Private_Fields() {
+        // Arrange
+        final ClassMetadata<Account> metadata = ClassMetadata.of(Account.class);
+        final Field email = metadata.getInsertableFields().get(0);
+
+        // Act
+        final Account account = metadata.newInstance();
+        metadata.getAccessor(email).set(account, "john.doe@gmail.com");
+
+        // Assert
+        assertEquals("john.doe@gmail.com", account.email);
+        assertEquals("john.doe@gmail.com", metadata.getAccessor(email).get(account));
+    }
+
+    @Test
+    public void test_Whole_Model_Is_Hydrated_And_Extracted_In_Field_Order() {
+        // Arrange
+        final ClassMetadata<Event> metadata = ClassMetadata.of(Event.class);
+        final Object[] values = {7, null, 0.5, true, null, null, null, "{}", "signup"};
+
+        // Act
+        final Event event = metadata.newInstance();
+        event.sequence = 3L;
+        metadata.hydrate(event, values);
+        final Object[] extracted = metadata.extract(event);
+
+        // Assert
+        assertEquals(3L, event.sequence);
+        assertEquals(List.of(7, 3L, 0.5, true, "{}", "signup"), List.of(extracted[0], extracted[1], extracted[2],
+                extracted[3], extracted[7], extracted[8]));
+    }
+
+    @Test
+    public void test_Copying_A_Model_Without_NoArg_Constructor_Throws() {
+        // Arrange
+        final ClassMetadata<Snapshot> metadata = ClassMetadata.of(Snapshot.class);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> metadata.copy(new Snapshot(1)));
+    }
+
+    @Test
+    public void test_Column_Types_Follow_Field_Types() {
+        // Act
+        final ClassMetadata<Event> metadata = ClassMetadata.of(Event.class);
+        final List<Column.Type> types = metadata.getPersistedFields().stream()
+                .map(field -> metadata.getColumn(field).getType())
+                .collect(Collectors.toList());
+        final Optional<String> statement = CreateTableStatement.create(metadata.getSchema());
+
+        // Assert
+        assertEquals(List.of(Column.Type.SERIAL_PRIMARY_KEY, Column.Type.BIGINT, Column.Type.DOUBLE, Column.Type.BOOLEAN,
+                Column.Type.TIMESTAMPTZ, Column.Type.UUID, Column.Type.BYTEA, Column.Type.JSONB, Column.Type.VARCHAR_255), types);
+        assertTrue(statement.isPresent());
+        assertTrue(statement.get().contains("sequence BIGINT, score DOUBLE PRECISION, archived BOOLEAN, occurredAt TIMESTAMPTZ, "
+                + "correlationId UUID, payload BYTEA, attributes JSONB, name VARCHAR(255)"));
+    }
+
+    private static List<String> names(List<Field> fields) {
+        return fields.stream().map(Field::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,89 @@
+package test.crud;
+
+import databases.crud.sql.BindParameter;
+import databases.crud.sql.ParameterizedStatement;
+import databases.crud.sql.SqlStatementBuilderException;
+import databases.crud.sql.postgresql.statements.WhereClause;
+import databases.crud.sql.postgresql.statements.builders.CompoundClause;
+import databases.crud.sql.postgresql.statements.builders.SelectStatement;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockUserDatabaseControllerModule;
+import test.mocks.MockUsersColumn;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static databases.crud.sql.postgresql.statements.Operator.EQUALS;
+import static databases.crud.sql.postgresql.statements.Operator.GREATER_THAN_OR_EQUALS;
+import static databases.crud.sql.postgresql.statements.Operator.IN;
+import static databases.crud.sql.postgresql.statements.Operator.NOT_EQUALS;
+import static databases.crud.sql.postgresql.statements.Operator.STARTS_WITH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConditionTests {
+    @Test
+    public void test_In_Binds_All_Values_As_One_Array() {
+        // Arrange
+        final List<Integer> ids = IntStream.range(0, 500).boxed().collect(Collectors.toList());
+        final SelectStatement.Builder builder = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.ID, IN, ids);
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"id\" = ANY(?);", statement.getSql());
+        assertEquals(1, statement.getParameters().size());
+        assertEquals(ids, statement.getParameters().get(0).getValue());
+    }
+
+    @Test
+    public void test_Nested_Conditions_Are_Parenthesized() {
+        // Arrange
+        final CompoundClause nested = CompoundClause.newBuilder()
+                .where(new WhereClause(MockUsersColumn.ID, GREATER_THAN_OR_EQUALS, 10))
+                .or(WhereClause.isNull(MockUsersColumn.SALT))
+                .build();
+        final SelectStatement.Builder builder = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.EMAIL, NOT_EQUALS, "john.doe@gmail.com")
+                .and(nested);
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"email\" <> ? AND (\"id\" >= ? OR \"salt\" IS NULL);", statement.getSql());
+        assertEquals(List.of("john.doe@gmail.com", 10), statement.getParameters().stream().map(BindParameter::getValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_Between_And_Prefix_Render_Literally() throws SqlStatementBuilderException {
+        // Arrange
+        final SelectStatement.Builder builder = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(WhereClause.between(MockUsersColumn.ID, 1, 5))
+                .and(MockUsersColumn.EMAIL, STARTS_WITH, "50%_off")
+                .or(MockUsersColumn.ID, IN, List.of());
+
+        // Act
+        final String statement = builder.build();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"id\" BETWEEN 1 AND 5 AND \"email\" LIKE '50\\%\\_off%' OR FALSE;", statement);
+    }
+
+    @Test
+    public void test_StartsWith_Binds_Escaped_Pattern() {
+        // Arrange
+        final SelectStatement.Builder builder = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.EMAIL, STARTS_WITH, "john_")
+                .and(MockUsersColumn.SALT, EQUALS, "salt");
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"email\" LIKE ? AND \"salt\" = ?;", statement.getSql());
+        assertEquals("john\\_%", statement.getParameters().get(0).getValue());
+    }
+}
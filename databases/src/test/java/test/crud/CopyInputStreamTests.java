@@ -0,0 +1,128 @@
+package test.crud;
+
+import databases.crud.sql.Column;
+import databases.crud.sql.postgresql.copy.CopyFormat;
+import databases.crud.sql.postgresql.copy.CopyInputStream;
+import databases.crud.sql.postgresql.copy.CopyStatement;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockMessageColumn;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CopyInputStreamTests {
+    private static final List<Column> COLUMNS = List.of(MockMessageColumn.SENDER_ID, MockMessageColumn.TEXT);
+
+    @Test
+    public void test_CopyStatement_Lists_Columns_And_Format() {
+        // Act
+        final String statement = CopyStatement.create("Messages", COLUMNS, CopyFormat.CSV);
+
+        // Assert
+        assertEquals("COPY \"Messages\" (\"sender_id\", \"text\") FROM STDIN WITH (FORMAT csv)", statement);
+    }
+
+    @Test
+    public void test_Csv_Quotes_SpecialCharacters_And_Leaves_Nulls_Unquoted() throws IOException {
+        // Arrange
+        final List<List<Object>> rows = List.of(
+                Arrays.asList(1, "hey, \"you\""),
+                Arrays.asList(2, null),
+                Arrays.asList(3, "")
+        );
+        final CopyInputStream stream = new CopyInputStream(rows.iterator(), COLUMNS, CopyFormat.CSV);
+
+        // Act
+        final String payload = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals("1,\"hey, \"\"you\"\"\"\n2,\n3,\"\"\n", payload);
+        assertEquals(3, stream.getRowCount());
+        assertEquals(payload.length(), stream.getByteCount());
+    }
+
+    @Test
+    public void test_Binary_Writes_Header_Rows_And_Trailer() throws IOException {
+        // Arrange
+        final List<List<Object>> rows = List.of(Arrays.asList("7", "hi"));
+        final CopyInputStream stream = new CopyInputStream(rows.iterator(), COLUMNS, CopyFormat.BINARY);
+
+        // Act
+        final ByteBuffer payload = ByteBuffer.wrap(stream.readAllBytes());
+
+        // Assert
+        payload.position(11 + 4 + 4);
+        assertEquals(2, payload.getShort());
+        assertEquals(4, payload.getInt());
+        assertEquals(7, payload.getInt());
+        assertEquals(2, payload.getInt());
+        assertEquals('h', payload.get());
+        assertEquals('i', payload.get());
+        assertEquals(-1, payload.getShort());
+        assertEquals(0, payload.remaining());
+    }
+
+    @Test
+    public void test_Binary_Encodes_Typed_Columns() throws IOException {
+        // Arrange
+        final List<Column> columns = List.of(
+                column("sequence", Column.Type.BIGINT),
+                column("archived", Column.Type.BOOLEAN),
+                column("occurred_at", Column.Type.TIMESTAMPTZ));
+        final List<List<Object>> rows = List.of(Arrays.asList(7L, "true", Instant.parse("2000-01-01T00:00:01Z")));
+        final CopyInputStream stream = new CopyInputStream(rows.iterator(), columns, CopyFormat.BINARY);
+
+        // Act
+        final ByteBuffer payload = ByteBuffer.wrap(stream.readAllBytes());
+
+        // Assert
+        payload.position(11 + 4 + 4);
+        assertEquals(3, payload.getShort());
+        assertEquals(8, payload.getInt());
+        assertEquals(7L, payload.getLong());
+        assertEquals(1, payload.getInt());
+        assertEquals(1, payload.get());
+        assertEquals(8, payload.getInt());
+        assertEquals(1_000_000L, payload.getLong());
+        assertEquals(-1, payload.getShort());
+    }
+
+    @Test
+    public void test_Binary_Rejects_Values_Of_Wrong_Type() {
+        // Arrange
+        final List<List<Object>> rows = List.of(Arrays.asList("not a number", "hi"));
+        final CopyInputStream stream = new CopyInputStream(rows.iterator(), COLUMNS, CopyFormat.BINARY);
+
+        // Act & Assert
+        assertThrows(IOException.class, stream::readAllBytes);
+    }
+
+    @Test
+    public void test_LargeInput_Is_Encoded_Across_Multiple_Reads() throws IOException {
+        // Arrange
+        final List<List<Object>> rows = IntStream.range(0, 5000)
+                .mapToObj(i -> Arrays.<Object>asList(i, "message " + i))
+                .collect(Collectors.toList());
+        final CopyInputStream stream = new CopyInputStream(rows.iterator(), COLUMNS, CopyFormat.CSV);
+
+        // Act
+        final String payload = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals(5000, payload.split("\n").length);
+        assertEquals(5000, stream.getRowCount());
+    }
+
+    private static Column column(String name, Column.Type type) {
+        return Column.newBuilder().named(name).type(type).parentTableName("Events").build();
+    }
+}
@@ -0,0 +1,77 @@
+package test.crud;
+
+import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+import databases.crud.sql.postgresql.statements.IndexMethod;
+import databases.crud.sql.postgresql.statements.builders.CreateIndexStatement;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockMessageColumn;
+import test.mocks.MockUserDatabaseControllerModule;
+import test.mocks.MockUsersColumn;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static databases.crud.sql.postgresql.statements.Operator.EQUALS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CreateIndexStatementTests {
+    private final DatabaseTableSchema schema = new MockUserDatabaseControllerModule().getSchema();
+
+    @Test
+    public void test_Unique_Index_On_Single_Column() {
+        // Act
+        final Optional<String> statement = CreateIndexStatement.newBuilder(schema)
+                .on(MockUsersColumn.EMAIL)
+                .unique()
+                .ifNotExists()
+                .build();
+
+        // Assert
+        assertEquals(Optional.of("CREATE UNIQUE INDEX IF NOT EXISTS \"Users_email_key\" ON \"Users\" USING btree (\"email\");"), statement);
+    }
+
+    @Test
+    public void test_Concurrent_Partial_MultiColumn_Index() {
+        // Act
+        final Optional<String> statement = CreateIndexStatement.newBuilder(schema)
+                .named("users_email_salt")
+                .on(MockUsersColumn.EMAIL)
+                .on(MockUsersColumn.SALT)
+                .concurrently()
+                .where(MockUsersColumn.SALT, EQUALS, "salt")
+                .build();
+
+        // Assert
+        assertEquals(Optional.of("CREATE INDEX CONCURRENTLY \"users_email_salt\" ON \"Users\" USING btree (\"email\", \"salt\") WHERE \"salt\" = 'salt';"), statement);
+    }
+
+    @Test
+    public void test_Hash_Index_Rejects_Unique_And_Multiple_Columns() {
+        // Act
+        final Optional<String> hash = CreateIndexStatement.newBuilder(schema).on(MockUsersColumn.EMAIL).using(IndexMethod.HASH).build();
+        final Optional<String> uniqueHash = CreateIndexStatement.newBuilder(schema).on(MockUsersColumn.EMAIL).using(IndexMethod.HASH).unique().build();
+        final Optional<String> multiColumnHash = CreateIndexStatement.newBuilder(schema)
+                .on(MockUsersColumn.EMAIL)
+                .on(MockUsersColumn.SALT)
+                .using(IndexMethod.HASH)
+                .build();
+
+        // Assert
+        assertEquals(Optional.of("CREATE INDEX \"Users_email_idx\" ON \"Users\" USING hash (\"email\");"), hash);
+        assertTrue(uniqueHash.isEmpty());
+        assertTrue(multiColumnHash.isEmpty());
+    }
+
+    @Test
+    public void test_Generated_Names_Fit_Identifier_Limit() {
+        // Arrange
+        final DatabaseTableSchema longSchema = new DatabaseTableSchema("platform.entities.persistence.VeryLongChatMessageModelName", Set.of());
+
+        // Act
+        final String name = CreateIndexStatement.newBuilder(longSchema).on(MockMessageColumn.RECIPIENT_ID).getName();
+
+        // Assert
+        assertEquals(63, name.length());
+    }
+}
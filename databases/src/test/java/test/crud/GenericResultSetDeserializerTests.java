@@ -0,0 +1,121 @@
+package test.crud;
+
+import databases.orm.GenericResultSetDeserializer;
+import databases.orm.annotations.Persisted;
+import databases.orm.annotations.PrimaryKey;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockResultSet;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GenericResultSetDeserializerTests {
+    private static final UUID MOCK_UUID = UUID.fromString("4b0e6d9c-7d3e-4b58-9a9c-2a1f0d1e5c11");
+    private static final Instant MOCK_INSTANT = Instant.parse("2020-07-01T12:00:00Z");
+
+    public static class Event {
+        @PrimaryKey
+        private int id;
+        @Persisted
+        private long sequence;
+        @Persisted
+        private double score;
+        @Persisted
+        private boolean archived;
+        @Persisted
+        private Integer priority;
+        @Persisted
+        private String name;
+        @Persisted
+        private UUID reference;
+        @Persisted
+        private Instant createdAt;
+        @Persisted
+        private byte[] payload;
+    }
+
+    private static Map<String, Object> createRow(Integer priority) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        row.put("payload", new byte[]{1, 2});
+        row.put("ID", 3);
+        row.put("sequence", 9_000_000_000L);
+        row.put("score", 0.5d);
+        row.put("archived", true);
+        row.put("priority", priority);
+        row.put("name", "launch");
+        row.put("reference", MOCK_UUID.toString());
+        row.put("createdAt", Timestamp.from(MOCK_INSTANT));
+        row.put("unmapped", "ignored");
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void test_Rows_Are_Hydrated_By_Index_Regardless_Of_Column_Order_And_Case() {
+        // Arrange
+        final MockResultSet resultSet = new MockResultSet(List.of(createRow(5), createRow(null)));
+        final GenericResultSetDeserializer<Event> deserializer = new GenericResultSetDeserializer<>(Event.class);
+
+        // Act
+        final List<Event> events = (List<Event>) deserializer.deserialize(resultSet.create());
+
+        // Assert
+        assertEquals(2, events.size());
+        final Event event = events.get(0);
+        assertEquals(3, event.id);
+        assertEquals(9_000_000_000L, event.sequence);
+        assertEquals(0.5d, event.score);
+        assertTrue(event.archived);
+        assertEquals(5, event.priority);
+        assertEquals("launch", event.name);
+        assertEquals(MOCK_UUID, event.reference);
+        assertEquals(MOCK_INSTANT, event.createdAt);
+        assertArrayEquals(new byte[]{1, 2}, event.payload);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void test_Null_Columns_Leave_Boxed_Fields_Null() {
+        // Arrange
+        final Map<String, Object> row = new HashMap<>(createRow(null));
+        row.put("archived", null);
+        final MockResultSet resultSet = new MockResultSet(new ArrayList<>(List.of(row)));
+
+        // Act
+        final List<Event> events = (List<Event>) new GenericResultSetDeserializer<>(Event.class).deserialize(resultSet.create());
+
+        // Assert
+        assertNull(events.get(0).priority);
+        assertFalse(events.get(0).archived);
+        assertEquals("launch", events.get(0).name);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void test_Unreadable_Column_Leaves_Only_Its_Field_Unset() {
+        // Arrange
+        final Map<String, Object> row = new HashMap<>(createRow(5));
+        row.put("sequence", "not a number");
+        final MockResultSet resultSet = new MockResultSet(new ArrayList<>(List.of(row)));
+
+        // Act
+        final List<Event> events = (List<Event>) new GenericResultSetDeserializer<>(Event.class).deserialize(resultSet.create());
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals(0L, events.get(0).sequence);
+        assertEquals("launch", events.get(0).name);
+    }
+}
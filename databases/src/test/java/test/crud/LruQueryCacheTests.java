@@ -0,0 +1,98 @@
+package test.crud;
+
+import databases.crud.sql.BindParameter;
+import databases.crud.sql.Column;
+import databases.crud.sql.ParameterizedStatement;
+import databases.crud.sql.cache.LruQueryCache;
+import databases.crud.sql.cache.QueryCacheStatistics;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockClock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LruQueryCacheTests {
+    private static final String SELECT_BY_ID = "SELECT * FROM users WHERE id = ?";
+
+    @Test
+    public void test_Queries_Are_Keyed_By_Sql_And_Parameters() {
+        // Arrange
+        final LruQueryCache cache = LruQueryCache.newBuilder().build();
+        cache.put(selectById(1), List.of("john"), cache.getGeneration());
+
+        // Act
+        final Optional<List<?>> hit = cache.get(selectById(1));
+        final Optional<List<?>> miss = cache.get(selectById(2));
+
+        // Assert
+        assertEquals(Optional.of(List.of("john")), hit);
+        assertTrue(miss.isEmpty());
+        final QueryCacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(0.5, statistics.getHitRate());
+    }
+
+    @Test
+    public void test_Least_Recently_Used_Entry_Is_Evicted() {
+        // Arrange
+        final LruQueryCache cache = LruQueryCache.newBuilder().maximumSize(2).build();
+        cache.put(selectById(1), List.of("john"), cache.getGeneration());
+        cache.put(selectById(2), List.of("jane"), cache.getGeneration());
+        cache.get(selectById(1));
+
+        // Act
+        cache.put(selectById(3), List.of("jim"), cache.getGeneration());
+
+        // Assert
+        assertTrue(cache.get(selectById(1)).isPresent());
+        assertTrue(cache.get(selectById(2)).isEmpty());
+        assertEquals(1, cache.getStatistics().getEvictions());
+        assertEquals(2, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void test_Entries_Expire_After_Write() {
+        // Arrange
+        final MockClock clock = new MockClock();
+        final LruQueryCache cache = LruQueryCache.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .clock(clock)
+                .build();
+        cache.put(selectById(1), List.of("john"), cache.getGeneration());
+
+        // Act
+        clock.advance(Duration.ofSeconds(5));
+        final boolean presentBeforeExpiry = cache.get(selectById(1)).isPresent();
+        clock.advance(Duration.ofSeconds(5));
+        final boolean presentAfterExpiry = cache.get(selectById(1)).isPresent();
+
+        // Assert
+        assertTrue(presentBeforeExpiry);
+        assertFalse(presentAfterExpiry);
+        assertEquals(1, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    public void test_Result_Read_Before_Invalidation_Is_Not_Cached() {
+        // Arrange
+        final LruQueryCache cache = LruQueryCache.newBuilder().build();
+        final long generation = cache.getGeneration();
+
+        // Act
+        cache.invalidateAll();
+        cache.put(selectById(1), List.of("stale"), generation);
+
+        // Assert
+        assertTrue(cache.get(selectById(1)).isEmpty());
+    }
+
+    private static ParameterizedStatement selectById(int id) {
+        return new ParameterizedStatement(SELECT_BY_ID, List.of(new BindParameter(id, Column.Type.INTEGER)));
+    }
+}
@@ -0,0 +1,268 @@
+package test.crud;
+
+import databases.crud.sql.BindParameter;
+import databases.crud.sql.Column;
+import databases.crud.sql.ParameterizedStatement;
+import databases.crud.sql.SQLUpdateCountDeserializer;
+import databases.crud.sql.SqlStatementBuilderException;
+import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+import databases.crud.sql.postgresql.statements.WhereClause;
+import databases.crud.sql.postgresql.statements.builders.CompoundClause;
+import databases.crud.sql.postgresql.statements.builders.DeleteStatement;
+import databases.crud.sql.postgresql.statements.builders.InsertStatement;
+import databases.crud.sql.postgresql.statements.builders.SelectStatement;
+import databases.crud.sql.postgresql.statements.builders.UpdateStatement;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockUserDatabaseControllerModule;
+import test.mocks.MockUsersColumn;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static databases.crud.sql.postgresql.statements.Operator.EQUALS;
+import static databases.crud.sql.postgresql.statements.Operator.GREATER_THAN;
+import static databases.crud.sql.postgresql.statements.SortOrder.DESCENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ParameterizedStatementTests {
+    private static final String MOCK_EMAIL = "john.doe@gmail.com";
+
+    @Test
+    public void test_Select_Emits_Placeholders_For_WhereClauses() {
+        // Arrange
+        final SelectStatement.Builder builder = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.ID, EQUALS, "1")
+                .or(MockUsersColumn.EMAIL, EQUALS, MOCK_EMAIL);
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"id\" = ? OR \"email\" = ?;", statement.getSql());
+        assertEquals(List.of(
+                new BindParameter("1", Column.Type.SERIAL_PRIMARY_KEY),
+                new BindParameter(MOCK_EMAIL, Column.Type.VARCHAR_255)
+        ), statement.getParameters());
+    }
+
+    @Test
+    public void test_Insert_Emits_Placeholders_For_Values() {
+        // Arrange
+        final InsertStatement.Builder builder = InsertStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .insert(MOCK_EMAIL, MockUsersColumn.EMAIL)
+                .insert("salt", MockUsersColumn.SALT);
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("INSERT into \"Users\" (\"email\", \"salt\") VALUES (?, ?) RETURNING *;", statement.getSql());
+        assertEquals(2, statement.getParameters().size());
+        assertEquals("salt", statement.getParameters().get(1).getValue());
+    }
+
+    @Test
+    public void test_Update_Binds_SetValues_Before_WhereValues() {
+        // Arrange
+        final UpdateStatement.Builder builder = UpdateStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.ID, EQUALS, 1)
+                .update(MOCK_EMAIL, MockUsersColumn.EMAIL);
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("UPDATE \"Users\" SET \"email\" = ? WHERE \"id\" = ?;", statement.getSql());
+        assertEquals(MOCK_EMAIL, statement.getParameters().get(0).getValue());
+        assertEquals(1, statement.getParameters().get(1).getValue());
+    }
+
+    @Test
+    public void test_BatchInsert_Splits_Rows_Into_Chunks() {
+        // Arrange
+        final InsertStatement.BatchBuilder builder = InsertStatement.newBatchBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .chunkSize(2);
+        for (int i = 0; i < 3; i++) {
+            builder.addRow(InsertStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                    .insert(MOCK_EMAIL, MockUsersColumn.EMAIL)
+                    .insert("salt", MockUsersColumn.SALT));
+        }
+
+        // Act
+        final List<ParameterizedStatement> statements = builder.buildParameterized();
+
+        // Assert
+        assertEquals(2, statements.size());
+        assertEquals("INSERT into \"Users\" (\"email\", \"salt\") VALUES (?, ?), (?, ?) RETURNING *;", statements.get(0).getSql());
+        assertEquals(4, statements.get(0).getParameters().size());
+        assertEquals("INSERT into \"Users\" (\"email\", \"salt\") VALUES (?, ?) RETURNING *;", statements.get(1).getSql());
+    }
+
+    @Test
+    public void test_BatchInsert_Writes_Default_For_Missing_Columns() {
+        // Arrange
+        final InsertStatement.BatchBuilder builder = InsertStatement.newBatchBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .addRow(InsertStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                        .insert(MOCK_EMAIL, MockUsersColumn.EMAIL))
+                .addRow(InsertStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                        .insert("salt", MockUsersColumn.SALT));
+
+        // Act
+        final List<ParameterizedStatement> statements = builder.buildParameterized();
+
+        // Assert
+        assertEquals(1, statements.size());
+        assertEquals("INSERT into \"Users\" (\"email\", \"salt\") VALUES (?, DEFAULT), (DEFAULT, ?) RETURNING *;", statements.get(0).getSql());
+    }
+
+    @Test
+    public void test_Select_Binds_Limit_And_Offset_After_WhereValues() {
+        // Arrange
+        final SelectStatement.Builder builder = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.EMAIL, EQUALS, MOCK_EMAIL)
+                .orderBy(MockUsersColumn.EMAIL, DESCENDING)
+                .limit(50)
+                .offset(100);
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"email\" = ? ORDER BY \"email\" DESC LIMIT ? OFFSET ?;", statement.getSql());
+        assertEquals(List.of(MOCK_EMAIL, 50, 100), statement.getParameters().stream().map(BindParameter::getValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_Select_After_Seeks_Past_LastSeenKey_Of_PrimaryKey() {
+        // Arrange
+        final SelectStatement.Builder builder = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .after(42)
+                .limit(50);
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"id\" > ? ORDER BY \"id\" ASC LIMIT ?;", statement.getSql());
+        assertEquals(new BindParameter(42, Column.Type.SERIAL_PRIMARY_KEY), statement.getParameters().get(0));
+    }
+
+    @Test
+    public void test_Select_After_Groups_Existing_Clauses_And_Follows_Descending_Order() throws SqlStatementBuilderException {
+        // Arrange
+        final SelectStatement.Builder builder = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.EMAIL, EQUALS, MOCK_EMAIL)
+                .or(MockUsersColumn.SALT, EQUALS, "salt")
+                .orderBy(MockUsersColumn.ID, DESCENDING)
+                .after(MockUsersColumn.ID, 42);
+
+        // Act
+        final String statement = builder.build();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE (\"email\" = 'john.doe@gmail.com' OR \"salt\" = 'salt') AND \"id\" < 42 ORDER BY \"id\" DESC;", statement);
+    }
+
+    @Test
+    public void test_Insert_OnConflict_DoUpdate_Overwrites_NonTarget_Columns() {
+        // Arrange
+        final InsertStatement.Builder builder = InsertStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .insert(MOCK_EMAIL, MockUsersColumn.EMAIL)
+                .insert("salt", MockUsersColumn.SALT)
+                .onConflict(MockUsersColumn.EMAIL)
+                .doUpdate();
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("INSERT into \"Users\" (\"email\", \"salt\") VALUES (?, ?) ON CONFLICT (\"email\") DO UPDATE SET \"salt\" = EXCLUDED.\"salt\" RETURNING *;",
+                statement.getSql());
+        assertEquals(2, statement.getParameters().size());
+    }
+
+    @Test
+    public void test_BatchInsert_OnConflict_DoNothing() {
+        // Arrange
+        final InsertStatement.BatchBuilder builder = InsertStatement.newBatchBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .onConflict(MockUsersColumn.EMAIL)
+                .doNothing()
+                .addRow(InsertStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                        .insert(MOCK_EMAIL, MockUsersColumn.EMAIL));
+
+        // Act
+        final List<ParameterizedStatement> statements = builder.buildParameterized();
+
+        // Assert
+        assertEquals("INSERT into \"Users\" (\"email\") VALUES (?) ON CONFLICT (\"email\") DO NOTHING RETURNING *;", statements.get(0).getSql());
+    }
+
+    @Test
+    public void test_Delete_Binds_All_Clauses() {
+        // Arrange
+        final DeleteStatement.Builder builder = DeleteStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(new WhereClause(MockUsersColumn.EMAIL, EQUALS, MOCK_EMAIL))
+                .and(new WhereClause(MockUsersColumn.ID, GREATER_THAN, 10));
+
+        // Act
+        final ParameterizedStatement statement = builder.buildParameterized();
+
+        // Assert
+        assertEquals("DELETE FROM \"Users\" WHERE \"email\" = ? AND \"id\" > ?;", statement.getSql());
+        assertEquals(List.of(MOCK_EMAIL, 10), statement.getParameters().stream().map(BindParameter::getValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_UpdateCountDeserializer_Passes_Through_Row_Count() {
+        // Act & Assert
+        assertEquals(1500, new SQLUpdateCountDeserializer().deserialize(1500));
+        assertNull(new SQLUpdateCountDeserializer().deserialize(null));
+    }
+
+    @Test
+    public void test_Select_Of_Same_Shape_Reuses_Cached_Sql_And_Binds_New_Values() {
+        // Arrange
+        final DatabaseTableSchema schema = new MockUserDatabaseControllerModule().getSchema();
+        final ParameterizedStatement first = SelectStatement.newBuilder(schema)
+                .where(MockUsersColumn.EMAIL, EQUALS, MOCK_EMAIL)
+                .limit(10)
+                .buildParameterized();
+
+        // Act
+        final ParameterizedStatement second = SelectStatement.newBuilder(schema)
+                .where(MockUsersColumn.EMAIL, EQUALS, "jane.doe@gmail.com")
+                .limit(20)
+                .buildParameterized();
+
+        // Assert
+        assertSame(first.getSql(), second.getSql());
+        assertEquals(List.of(
+                new BindParameter("jane.doe@gmail.com", Column.Type.VARCHAR_255),
+                new BindParameter(20, null)
+        ), second.getParameters());
+    }
+
+    @Test
+    public void test_Select_Shapes_Differing_Only_In_Nesting_Render_Different_Sql() {
+        // Arrange
+        final DatabaseTableSchema schema = new MockUserDatabaseControllerModule().getSchema();
+        final WhereClause id = new WhereClause(MockUsersColumn.ID, EQUALS, "1");
+        final WhereClause email = new WhereClause(MockUsersColumn.EMAIL, EQUALS, MOCK_EMAIL);
+        final WhereClause salt = new WhereClause(MockUsersColumn.SALT, EQUALS, "salt");
+
+        // Act
+        final ParameterizedStatement flat = SelectStatement.newBuilder(schema)
+                .where(id).or(email).and(salt)
+                .buildParameterized();
+        final ParameterizedStatement nested = SelectStatement.newBuilder(schema)
+                .where(id).or(CompoundClause.newBuilder().where(email).and(salt).build())
+                .buildParameterized();
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"id\" = ? OR \"email\" = ? AND \"salt\" = ?;", flat.getSql());
+        assertEquals("SELECT * FROM \"Users\" WHERE \"id\" = ? OR (\"email\" = ? AND \"salt\" = ?);", nested.getSql());
+        assertEquals(flat.getParameters(), nested.getParameters());
+    }
+}
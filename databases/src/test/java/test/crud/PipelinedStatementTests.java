@@ -0,0 +1,49 @@
+package test.crud;
+
+import databases.crud.sql.ParameterizedStatement;
+import databases.crud.sql.PipelinedStatement;
+import databases.crud.sql.SQLUpdateDeserializer;
+import databases.crud.sql.postgresql.statements.builders.CreateTableStatement;
+import databases.crud.sql.postgresql.statements.builders.SelectStatement;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockUserDatabaseControllerModule;
+import test.mocks.MockUsersColumn;
+
+import java.util.List;
+
+import static databases.crud.sql.postgresql.statements.Operator.EQUALS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PipelinedStatementTests {
+    @Test
+    public void test_Statements_Are_Joined_With_Parameters_In_Order() throws Exception {
+        // Arrange
+        final ParameterizedStatement first = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.ID, EQUALS, "1")
+                .buildParameterized();
+        final ParameterizedStatement second = SelectStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .where(MockUsersColumn.ID, EQUALS, "2")
+                .buildParameterized();
+
+        // Act
+        final ParameterizedStatement pipeline = PipelinedStatement.combine(List.of(
+                PipelinedStatement.of(first, new SQLUpdateDeserializer()),
+                PipelinedStatement.of(second, new SQLUpdateDeserializer())
+        ));
+
+        // Assert
+        assertEquals("SELECT * FROM \"Users\" WHERE \"id\" = ?; SELECT * FROM \"Users\" WHERE \"id\" = ?;", pipeline.getSql());
+        assertEquals("1", pipeline.getParameters().get(0).getValue());
+        assertEquals("2", pipeline.getParameters().get(1).getValue());
+    }
+
+    @Test
+    public void test_CreateIfNotExists_Guards_Table_Creation() {
+        // Act
+        final String statement = CreateTableStatement.createIfNotExists(new MockUserDatabaseControllerModule().getSchema()).get();
+
+        // Assert
+        assertTrue(statement.startsWith("CREATE TABLE IF NOT EXISTS \"Users\" ("));
+    }
+}
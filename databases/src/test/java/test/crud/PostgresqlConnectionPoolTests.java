@@ -0,0 +1,118 @@
+package test.crud;
+
+import databases.crud.sql.ConnectionPoolStatistics;
+import databases.crud.sql.postgresql.PostgresqlConnectionPool;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockConnectionProvider;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostgresqlConnectionPoolTests {
+    private static PostgresqlConnectionPool createPool(MockConnectionProvider provider, int maximumSize) {
+        return PostgresqlConnectionPool.newBuilder(provider)
+                .setMinimumSize(0)
+                .setMaximumSize(maximumSize)
+                .setBorrowTimeout(Duration.ofMillis(50))
+                .build();
+    }
+
+    @Test
+    public void test_ReleasedConnection_IsReused() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+        final PostgresqlConnectionPool pool = createPool(provider, 2);
+
+        // Act
+        final Connection first = pool.get().get();
+        pool.release(first);
+        final Connection second = pool.get().get();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, provider.getOpenedConnectionCount());
+        assertEquals(0, provider.getClosedConnectionCount());
+        pool.close();
+    }
+
+    @Test
+    public void test_Double_Release_Leaves_Idle_Connection_Open() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+        final PostgresqlConnectionPool pool = createPool(provider, 2);
+        final Connection first = pool.get().get();
+        pool.release(first);
+
+        // Act
+        pool.release(first);
+        final Connection second = pool.get().get();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(0, provider.getClosedConnectionCount());
+        assertEquals(1, pool.getStatistics().getActiveConnections());
+        pool.close();
+    }
+
+    @Test
+    public void test_Borrow_TimesOut_When_PoolIsExhausted() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+        final PostgresqlConnectionPool pool = createPool(provider, 1);
+        final Optional<Connection> first = pool.get();
+
+        // Act
+        final Optional<Connection> second = pool.get();
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertFalse(second.isPresent());
+        pool.close();
+    }
+
+    @Test
+    public void test_InvalidIdleConnection_IsReplacedOnBorrow() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+        final PostgresqlConnectionPool pool = PostgresqlConnectionPool.newBuilder(provider)
+                .setMinimumSize(0)
+                .setValidationBypass(Duration.ZERO)
+                .build();
+        final Connection first = pool.get().get();
+        pool.release(first);
+        provider.setValid(false);
+
+        // Act
+        final Connection second = pool.get().get();
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals(2, provider.getOpenedConnectionCount());
+        assertEquals(1, provider.getClosedConnectionCount());
+        pool.close();
+    }
+
+    @Test
+    public void test_Statistics_Track_ActiveAndIdleConnections() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+        final PostgresqlConnectionPool pool = createPool(provider, 3);
+
+        // Act
+        final Connection first = pool.get().get();
+        final Connection second = pool.get().get();
+        pool.release(first);
+        final ConnectionPoolStatistics statistics = pool.getStatistics();
+
+        // Assert
+        assertEquals(1, statistics.getActiveConnections());
+        assertEquals(1, statistics.getIdleConnections());
+        assertEquals(0, statistics.getWaitingThreads());
+        assertEquals(2, statistics.getTotalBorrows());
+        pool.release(second);
+        pool.close();
+    }
+}
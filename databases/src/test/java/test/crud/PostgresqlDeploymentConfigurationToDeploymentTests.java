@@ -1,5 +1,6 @@
 package test.crud;
 
+import commons.utils.YamlDeserializer;
 import databases.crud.sql.postgresql.docker.DockerImage;
 import databases.crud.sql.postgresql.docker.DockerServiceName;
 import databases.crud.sql.postgresql.configuration.adapters.PostgresqlConfigurationToDeployment;
@@ -16,6 +17,8 @@ import docker.fields.enums.Restart;
 import org.junit.jupiter.api.Test;
 import test.mocks.AbstractMockDatabaseControllerModule;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -33,6 +36,24 @@ public class PostgresqlDeploymentConfigurationToDeploymentTests {
         assertEquals(expectedDeployment(), deployment);
     }
 
+    @Test
+    public void testReplicasAreNotDeployed() {
+        // Arrange..
+        final String resourceName = "mock-postgresql-replicated-config.yml";
+        final PostgresqlDeploymentConfiguration configuration = (PostgresqlDeploymentConfiguration) YamlDeserializer
+                .deserializeFromResource(resourceName, PostgresqlDeploymentConfiguration.class).get();
+
+        // Act..
+        PostgresqlConfigurationToDeployment deployment = new PostgresqlConfigurationToDeployment(configuration);
+
+        // Assert..
+        assertEquals(2, configuration.getReplicaConfigurations().size());
+        assertEquals(5433, configuration.getReplicaConfigurations().get(0).getPort());
+        assertEquals(List.of(DockerServiceName.POSTGRES, DockerServiceName.PGADMIN),
+                deployment.getServices().stream().map(Service::getName).collect(Collectors.toList()));
+        assertEquals(2, deployment.getNamedVolumes().size());
+    }
+
     private Deployment expectedDeployment() {
         final NamedVolume databaseData = new NamedVolume("database-data");
         final NamedVolume pgadminData = new NamedVolume("pgadmin-data");
@@ -0,0 +1,105 @@
+package test.crud;
+
+import databases.crud.core.ResultSetIterator;
+import databases.crud.sql.QueryCursor;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockResultSet;
+import test.mocks.MockUser;
+import test.mocks.MockUserDeserializer;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResultSetIteratorTests {
+    private static final PreparedStatement MOCK_STATEMENT = (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(), new Class[]{PreparedStatement.class}, (proxy, method, args) -> null);
+
+    private static List<Map<String, Object>> createRows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Map.<String, Object>of("id", i, "email", "user" + i + "@gmail.com", "salt", "", "hash_password", ""))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void test_Rows_Are_Read_Lazily() {
+        // Arrange
+        final MockResultSet resultSet = new MockResultSet(createRows(1000));
+        final AtomicInteger releases = new AtomicInteger();
+        final QueryCursor cursor = new QueryCursor(MOCK_STATEMENT, resultSet.create(), releases::incrementAndGet);
+        final ResultSetIterator<MockUser> iterator = new ResultSetIterator<>(cursor, new MockUserDeserializer());
+
+        // Act
+        final List<MockUser> firstUsers;
+        try (Stream<MockUser> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close)) {
+            firstUsers = stream.limit(3).collect(Collectors.toList());
+        }
+
+        // Assert
+        assertEquals(3, firstUsers.size());
+        assertEquals("user2@gmail.com", firstUsers.get(2).getEmail());
+        assertTrue(resultSet.getAdvanceCount() <= 4);
+        assertTrue(resultSet.isClosed());
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    public void test_Cursor_Is_Released_Once_Exhausted() {
+        // Arrange
+        final MockResultSet resultSet = new MockResultSet(createRows(2));
+        final AtomicInteger releases = new AtomicInteger();
+        final ResultSetIterator<MockUser> iterator = new ResultSetIterator<>(
+                new QueryCursor(MOCK_STATEMENT, resultSet.create(), releases::incrementAndGet), new MockUserDeserializer());
+
+        // Act
+        iterator.next();
+        iterator.next();
+        final boolean hasMore = iterator.hasNext();
+        iterator.close();
+
+        // Assert
+        assertFalse(hasMore);
+        assertTrue(resultSet.isClosed());
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    public void test_Statement_And_Connection_Are_Released_When_Closing_The_Result_Set_Fails() {
+        // Arrange
+        final ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    throw new SQLException("connection reset");
+                });
+        final AtomicInteger statementCloses = new AtomicInteger();
+        final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        statementCloses.incrementAndGet();
+                    }
+                    return null;
+                });
+        final AtomicInteger releases = new AtomicInteger();
+
+        // Act
+        new QueryCursor(statement, resultSet, releases::incrementAndGet).close();
+
+        // Assert
+        assertEquals(1, statementCloses.get());
+        assertEquals(1, releases.get());
+    }
+}
@@ -0,0 +1,190 @@
+package test.crud;
+
+import databases.crud.sql.ParameterizedStatement;
+import databases.crud.sql.RoutingSqlExecutor;
+import databases.crud.sql.TransactionContext;
+import databases.orm.Session;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockClock;
+import test.mocks.MockConnectionProvider;
+import test.mocks.MockSqlExecutor;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RoutingSqlExecutorTests {
+    private static final ParameterizedStatement SELECT = new ParameterizedStatement("SELECT * FROM \"Users\";", List.of());
+    private static final ParameterizedStatement UPDATE = new ParameterizedStatement("UPDATE \"Users\" SET \"salt\" = ?;", List.of());
+
+    private final MockSqlExecutor primary = new MockSqlExecutor();
+    private final MockSqlExecutor firstReplica = new MockSqlExecutor();
+    private final MockSqlExecutor secondReplica = new MockSqlExecutor();
+    private final MockClock clock = new MockClock();
+
+    private RoutingSqlExecutor.Builder newBuilder() {
+        return RoutingSqlExecutor.newBuilder(primary)
+                .addReplica(firstReplica)
+                .addReplica(secondReplica)
+                .readYourWritesWindow(Duration.ZERO)
+                .clock(clock);
+    }
+
+    @Test
+    public void test_Reads_Rotate_Across_Replicas_And_Writes_Go_To_Primary() throws Exception {
+        // Arrange
+        final RoutingSqlExecutor executor = newBuilder().build();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            executor.executePreparedQuery(SELECT, object -> object);
+        }
+        executor.executePreparedUpdate(UPDATE, object -> object);
+
+        // Assert
+        assertEquals(List.of(UPDATE.getSql()), primary.getExecutedStatements());
+        assertEquals(2, firstReplica.getExecutionCount());
+        assertEquals(2, secondReplica.getExecutionCount());
+    }
+
+    @Test
+    public void test_Queries_That_Write_Or_Lock_Rows_Go_To_Primary() throws Exception {
+        // Arrange
+        final RoutingSqlExecutor executor = newBuilder().build();
+        final ParameterizedStatement insert = new ParameterizedStatement("INSERT into \"Users\" (\"id\") VALUES (?) RETURNING *;", List.of());
+        final ParameterizedStatement lockingSelect = new ParameterizedStatement("SELECT * FROM \"Users\" FOR UPDATE;", List.of());
+
+        // Act
+        executor.executePreparedQuery(insert, object -> object);
+        executor.executePreparedQuery(lockingSelect, object -> object);
+        executor.executePreparedQueries(List.of(SELECT, insert), object -> object);
+
+        // Assert
+        assertEquals(3, primary.getExecutionCount());
+        assertEquals(0, firstReplica.getExecutionCount() + secondReplica.getExecutionCount());
+    }
+
+    @Test
+    public void test_Reads_Stay_On_Primary_Within_The_Window_After_A_Write() throws Exception {
+        // Arrange
+        final RoutingSqlExecutor executor = newBuilder()
+                .readYourWritesWindow(Duration.ofSeconds(1))
+                .build();
+        executor.executePreparedUpdate(UPDATE, object -> object);
+
+        // Act
+        executor.executePreparedQuery(SELECT, object -> object);
+        clock.advance(Duration.ofSeconds(1));
+        executor.executePreparedQuery(SELECT, object -> object);
+
+        // Assert
+        assertEquals(List.of(UPDATE.getSql(), SELECT.getSql()), primary.getExecutedStatements());
+        assertEquals(1, firstReplica.getExecutionCount());
+    }
+
+    @Test
+    public void test_Reads_Stay_On_Primary_For_The_Rest_Of_A_Session_That_Wrote() throws Exception {
+        // Arrange
+        final RoutingSqlExecutor executor = newBuilder()
+                .readYourWritesScope(Session::current)
+                .build();
+
+        // Act
+        try (Session session = Session.open()) {
+            executor.executePreparedQuery(SELECT, object -> object);
+            executor.executePreparedUpdate(UPDATE, object -> object);
+            executor.executePreparedQuery(SELECT, object -> object);
+        }
+        executor.executePreparedQuery(SELECT, object -> object);
+
+        // Assert
+        assertEquals(List.of(UPDATE.getSql(), SELECT.getSql()), primary.getExecutedStatements());
+        assertEquals(1, firstReplica.getExecutionCount());
+        assertEquals(1, secondReplica.getExecutionCount());
+    }
+
+    @Test
+    public void test_Reads_Inside_A_Transaction_Go_To_Primary() throws Exception {
+        // Arrange
+        final RoutingSqlExecutor executor = newBuilder().build();
+
+        // Act
+        TransactionContext.execute(new MockConnectionProvider(), context ->
+                executor.executePreparedQuery(SELECT, object -> object));
+
+        // Assert
+        assertEquals(1, primary.getExecutionCount());
+        assertEquals(0, firstReplica.getExecutionCount() + secondReplica.getExecutionCount());
+    }
+
+    @Test
+    public void test_Unreachable_Replica_Is_Taken_Out_Of_Rotation() throws Exception {
+        // Arrange
+        final RoutingSqlExecutor executor = newBuilder()
+                .retryUnhealthyAfter(Duration.ofSeconds(30))
+                .build();
+        firstReplica.setAvailable(false);
+
+        // Act
+        executor.executePreparedQuery(SELECT, object -> object);
+        executor.executePreparedQuery(SELECT, object -> object);
+        executor.executePreparedQuery(SELECT, object -> object);
+        final int healthyWhileDown = executor.getHealthyReplicaCount();
+
+        // Assert
+        assertEquals(1, primary.getExecutionCount());
+        assertEquals(2, secondReplica.getExecutionCount());
+        assertEquals(1, healthyWhileDown);
+    }
+
+    @Test
+    public void test_Unhealthy_Replica_Is_Retried_After_The_Interval() throws Exception {
+        // Arrange
+        final RoutingSqlExecutor executor = RoutingSqlExecutor.newBuilder(primary)
+                .addReplica(firstReplica)
+                .readYourWritesWindow(Duration.ZERO)
+                .retryUnhealthyAfter(Duration.ofSeconds(30))
+                .clock(clock)
+                .build();
+        firstReplica.setAvailable(false);
+        executor.executePreparedQuery(SELECT, object -> object);
+        firstReplica.setAvailable(true);
+
+        // Act
+        executor.executePreparedQuery(SELECT, object -> object);
+        clock.advance(Duration.ofSeconds(30));
+        executor.executePreparedQuery(SELECT, object -> object);
+
+        // Assert
+        assertEquals(2, primary.getExecutionCount());
+        assertEquals(1, firstReplica.getExecutionCount());
+    }
+
+    @Test
+    public void test_Least_Loaded_Policy_Skips_Busy_Replica() throws Exception {
+        // Arrange
+        final RoutingSqlExecutor executor = newBuilder()
+                .policy(RoutingSqlExecutor.Policy.LEAST_LOADED)
+                .build();
+        // the nested reads start while the outer one still runs on the first replica, round-robin would send the
+        // second of them back to it
+        firstReplica.setOnExecute(() -> {
+            firstReplica.setOnExecute(() -> {
+            });
+            try {
+                executor.executePreparedQuery(SELECT, object -> object);
+                executor.executePreparedQuery(SELECT, object -> object);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Act
+        executor.executePreparedQuery(SELECT, object -> object);
+
+        // Assert
+        assertEquals(1, firstReplica.getExecutionCount());
+        assertEquals(2, secondReplica.getExecutionCount());
+    }
+}
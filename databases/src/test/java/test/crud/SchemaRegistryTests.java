@@ -0,0 +1,45 @@
+package test.crud;
+
+import databases.crud.sql.SchemaRegistry;
+import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockMessageDatabaseControllerModule;
+import test.mocks.MockUserDatabaseControllerModule;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchemaRegistryTests {
+    private final DatabaseTableSchema userSchema = new MockUserDatabaseControllerModule().getSchema();
+    private final DatabaseTableSchema messageSchema = new MockMessageDatabaseControllerModule().getSchema();
+
+    @AfterEach
+    public void tearDown() {
+        SchemaRegistry.invalidateAll();
+    }
+
+    @Test
+    public void test_MarkVerified_Only_Affects_Given_Table() {
+        // Act
+        SchemaRegistry.markVerified(userSchema);
+
+        // Assert
+        assertTrue(SchemaRegistry.isVerified(userSchema));
+        assertFalse(SchemaRegistry.isVerified(messageSchema));
+    }
+
+    @Test
+    public void test_Invalidate_Forgets_Table() {
+        // Arrange
+        SchemaRegistry.markVerified(userSchema);
+        SchemaRegistry.markVerified(messageSchema);
+
+        // Act
+        SchemaRegistry.invalidate(userSchema);
+
+        // Assert
+        assertFalse(SchemaRegistry.isVerified(userSchema));
+        assertTrue(SchemaRegistry.isVerified(messageSchema));
+    }
+}
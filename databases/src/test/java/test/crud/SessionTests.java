@@ -0,0 +1,76 @@
+package test.crud;
+
+import databases.orm.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionTests {
+    @AfterEach
+    public void tearDown() {
+        Session.current().ifPresent(Session::close);
+    }
+
+    @Test
+    public void test_Attach_Returns_Instance_Already_Held_For_Key() {
+        // Arrange
+        final StringBuilder first = new StringBuilder("first");
+        final StringBuilder second = new StringBuilder("second");
+
+        try (Session session = Session.open()) {
+            // Act
+            session.attach(StringBuilder.class, 7, first);
+            final StringBuilder attached = session.attach(StringBuilder.class, "7", second);
+
+            // Assert
+            assertSame(first, attached);
+            assertSame(first, session.get(StringBuilder.class, 7L).get());
+        }
+    }
+
+    @Test
+    public void test_Replace_And_Evict_Keep_Map_Coherent() {
+        // Arrange
+        final StringBuilder first = new StringBuilder("first");
+        final StringBuilder second = new StringBuilder("second");
+
+        try (Session session = Session.open()) {
+            session.attach(StringBuilder.class, 1, first);
+            session.attach(StringBuilder.class, 2, second);
+
+            // Act
+            session.replace(StringBuilder.class, 1, second);
+            session.evict(StringBuilder.class, 2);
+
+            // Assert
+            assertSame(second, session.get(StringBuilder.class, 1).get());
+            assertFalse(session.get(StringBuilder.class, 2).isPresent());
+
+            session.evictAll(StringBuilder.class);
+            assertFalse(session.get(StringBuilder.class, 1).isPresent());
+        }
+    }
+
+    @Test
+    public void test_Nested_Open_Joins_Outer_Session() {
+        // Arrange
+        final Session outer = Session.open();
+        outer.attach(String.class, 1, "value");
+
+        // Act
+        try (Session inner = Session.open()) {
+            assertSame(outer, inner);
+        }
+
+        // Assert
+        assertTrue(Session.current().isPresent());
+        assertEquals("value", outer.get(String.class, 1).get());
+
+        outer.close();
+        assertFalse(Session.current().isPresent());
+    }
+}
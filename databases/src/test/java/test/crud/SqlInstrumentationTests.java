@@ -0,0 +1,115 @@
+package test.crud;
+
+import databases.crud.sql.SqlExecutorException;
+import databases.crud.sql.TransactionContext;
+import databases.crud.sql.instrumentation.SlowQueryLog;
+import databases.crud.sql.instrumentation.SqlInstrumentation;
+import databases.crud.sql.instrumentation.SqlMetrics;
+import databases.crud.sql.instrumentation.StatementKind;
+import databases.crud.sql.instrumentation.Timer;
+import databases.crud.sql.postgresql.executors.PostgresqlExecutor;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlInstrumentationTests {
+    @Test
+    public void test_Timer_Tracks_Count_Mean_Max_And_Percentiles() {
+        // Arrange
+        final Timer timer = new Timer();
+
+        // Act
+        for (int i = 0; i < 99; i++) {
+            timer.record(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        timer.record(TimeUnit.MILLISECONDS.toNanos(50));
+
+        // Assert
+        assertEquals(100, timer.count());
+        assertEquals(50, timer.max(TimeUnit.MILLISECONDS));
+        assertEquals(0.599, timer.mean(TimeUnit.MILLISECONDS), 0.0001);
+        // power-of-two buckets bound the percentile within a factor of two
+        final double p99 = timer.percentile(0.99, TimeUnit.MICROSECONDS);
+        assertTrue(p99 >= 100 && p99 <= 200);
+        assertEquals(50, timer.percentile(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void test_Executor_Times_Connection_Acquisition_Outside_Transactions_Only() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+        final SqlMetrics metrics = new SqlMetrics();
+        final PostgresqlExecutor executor = new PostgresqlExecutor(provider, metrics);
+
+        // Act
+        final Exception exception = assertThrows(Exception.class, () -> executor.executeUpdate("DELETE FROM \"Users\";", object -> object));
+        TransactionContext.execute(provider, context -> {
+            assertThrows(Exception.class, () -> executor.executeUpdate("DELETE FROM \"Users\";", object -> object));
+            return true;
+        });
+
+        // Assert
+        assertSame(SqlExecutorException.FAILED_TO_OPEN_STATEMENT_ENTRY_POINT, exception);
+        assertEquals(1, metrics.getConnectionAcquireTimer().count());
+    }
+
+    @Test
+    public void test_Metrics_Count_Errors_By_Executor_Exception_And_Rows_By_Kind() {
+        // Arrange
+        final SqlMetrics metrics = new SqlMetrics();
+        final List<String> slowQueries = new ArrayList<>();
+        final SqlInstrumentation instrumentation = SqlInstrumentation.of(metrics, new SlowQueryLog(Duration.ZERO, slowQueries::add));
+
+        // Act
+        instrumentation.onStatement(StatementKind.UPDATE, "UPDATE \"Users\" SET \"salt\" = ?;", 1000, 3);
+        instrumentation.onStatement(StatementKind.READ, "SELECT * FROM \"Users\";", 1000, -1);
+        instrumentation.onError(StatementKind.READ, SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION);
+        instrumentation.onError(StatementKind.DELETE, SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION);
+        instrumentation.onError(StatementKind.READ, new IllegalStateException());
+
+        // Assert
+        final String errorType = SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION.getMessage();
+        assertEquals(Map.of(errorType, 2L, "IllegalStateException", 1L), metrics.getErrorCounts());
+        assertEquals(1, metrics.getStatementTimer(StatementKind.UPDATE).count());
+        assertEquals(3, metrics.getRowCounter(StatementKind.UPDATE).count());
+        assertEquals(0, metrics.getRowCounter(StatementKind.READ).count());
+        assertEquals(2, slowQueries.size());
+        assertTrue(slowQueries.get(0).endsWith("UPDATE \"Users\" SET \"salt\" = ?;"));
+    }
+
+    @Test
+    public void test_Disabled_Instrumentation_Is_Not_Enabled_When_Composed() {
+        // Act
+        final SqlInstrumentation disabled = SqlInstrumentation.of(SqlInstrumentation.NOOP, SqlInstrumentation.NOOP);
+        final SqlInstrumentation enabled = SqlInstrumentation.of(SqlInstrumentation.NOOP, new SqlMetrics());
+
+        // Assert
+        assertFalse(disabled.isEnabled());
+        assertTrue(enabled.isEnabled());
+    }
+
+    @Test
+    public void test_Slow_Query_Log_Skips_Fast_Statements() {
+        // Arrange
+        final List<String> slowQueries = new ArrayList<>();
+        final SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), slowQueries::add);
+
+        // Act
+        log.onStatement(StatementKind.READ, "SELECT 1;", TimeUnit.MILLISECONDS.toNanos(99), 1);
+        log.onStatement(StatementKind.READ, "SELECT 2;", TimeUnit.MILLISECONDS.toNanos(250), 1);
+
+        // Assert
+        assertEquals(List.of("Slow READ took 250 ms (1 rows): SELECT 2;"), slowQueries);
+    }
+}
@@ -0,0 +1,212 @@
+package test.crud;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Provides;
+import databases.crud.sql.Column;
+import databases.crud.sql.RoutingSqlExecutor;
+import databases.crud.sql.SqlExecutor;
+import databases.crud.sql.SqlTableController;
+import databases.crud.sql.cache.LruQueryCache;
+import databases.crud.sql.postgresql.copy.BulkLoadResult;
+import databases.crud.sql.postgresql.copy.CopyFormat;
+import databases.crud.sql.postgresql.statements.DatabaseTableSchema;
+import databases.orm.ClassMetadata;
+import databases.orm.GenericResultSetDeserializer;
+import databases.orm.annotations.Persisted;
+import databases.orm.annotations.PrimaryKey;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockConnectionProvider;
+import test.mocks.MockResultSet;
+import test.mocks.MockSqlExecutor;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlTableControllerTests {
+    public static class Account {
+        @PrimaryKey
+        private Integer id;
+        @Persisted
+        private String email;
+    }
+
+    private static final ClassMetadata<Account> METADATA = ClassMetadata.of(Account.class);
+
+    private final MockSqlExecutor primary = new MockSqlExecutor();
+    private final LruQueryCache queryCache = LruQueryCache.newBuilder().build();
+
+    private SqlTableController<Account> createController(SqlExecutor executor) {
+        // field injection only, Guice's constructor injection doesn't work on newer JDKs
+        final SqlTableController<Account> controller = new SqlTableController<>();
+        Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+            }
+
+            @Provides
+            public SqlExecutor getExecutor() {
+                return executor;
+            }
+
+            @Provides
+            public DatabaseTableSchema getSchema() {
+                return METADATA.getSchema();
+            }
+        }).injectMembers(controller);
+        controller.setDeserializer(new GenericResultSetDeserializer<>(Account.class));
+        controller.setQueryCache(queryCache, METADATA::copy);
+        return controller;
+    }
+
+    private static Object results(String sql) {
+        if (!sql.startsWith("SELECT")) {
+            return 1;
+        }
+
+        final Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1);
+        row.put("email", "john.doe@gmail.com");
+        return new MockResultSet(List.of(row)).create();
+    }
+
+    private static Iterator<List<Object>> createRows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> List.<Object>of("user" + i + "@gmail.com"))
+                .iterator();
+    }
+
+    private static Column getColumn(String fieldName) throws NoSuchFieldException {
+        return METADATA.getColumn(Account.class.getDeclaredField(fieldName));
+    }
+
+    @Test
+    public void test_Read_During_A_Write_Leaves_No_Stale_Entry() throws Exception {
+        // Arrange
+        final SqlTableController<Account> controller = createController(primary);
+        primary.setResults(SqlTableControllerTests::results);
+        // the read runs while the update does, after it invalidated the cache, and sees the row from before it
+        final AtomicBoolean readDuringWrite = new AtomicBoolean(true);
+        primary.setOnExecute(() -> {
+            if (readDuringWrite.getAndSet(false)) {
+                controller.read(controller.selectStatementBuilder());
+            }
+        });
+
+        // Act
+        controller.update(controller.updateStatementBuilder().update("jane.doe@gmail.com", getColumn("email")));
+
+        // Assert
+        assertEquals(2, primary.getExecutionCount());
+        assertEquals(0, queryCache.getStatistics().getSize());
+    }
+
+    @Test
+    public void test_Update_And_Delete_That_Match_No_Rows_Fail() throws Exception {
+        // Arrange
+        final SqlTableController<Account> controller = createController(primary);
+        primary.setResults(sql -> 0);
+
+        // Act
+        final boolean updated = controller.update(controller.updateStatementBuilder().update("jane.doe@gmail.com", getColumn("email")));
+        final boolean deleted = controller.delete(controller.deleteStatementBuilder());
+
+        // Assert
+        assertFalse(updated);
+        assertFalse(deleted);
+        assertEquals(2, primary.getExecutionCount());
+    }
+
+    @Test
+    public void test_Batched_Insert_Fallback_Loads_Every_Chunk_In_One_Transaction() throws Exception {
+        // Arrange
+        final SqlTableController<Account> controller = createController(primary);
+        final MockConnectionProvider connectionProvider = new MockConnectionProvider();
+        primary.setCopySupported(false);
+        primary.setConnectionProvider(connectionProvider);
+        primary.setResults(sql -> new MockResultSet(List.of()).create());
+
+        // Act
+        final Optional<BulkLoadResult> result = controller.bulkLoad(List.of(getColumn("email")), createRows(1200), CopyFormat.CSV);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(1200, result.get().getRowCount());
+        assertTrue(result.get().getBytesWritten() > 0);
+        assertFalse(result.get().usedCopy());
+        assertEquals(3, primary.getExecutionCount());
+        assertEquals(1, connectionProvider.getCommitCount());
+    }
+
+    @Test
+    public void test_Failed_Chunk_Rolls_Back_The_Whole_Batched_Insert_Fallback() throws Exception {
+        // Arrange
+        final SqlTableController<Account> controller = createController(primary);
+        final MockConnectionProvider connectionProvider = new MockConnectionProvider();
+        primary.setCopySupported(false);
+        primary.setConnectionProvider(connectionProvider);
+        primary.setResults(sql -> {
+            if (primary.getExecutionCount() > 1) {
+                throw new IllegalStateException("connection reset");
+            }
+            return new MockResultSet(List.of()).create();
+        });
+
+        // Act
+        final Optional<BulkLoadResult> result = controller.bulkLoad(List.of(getColumn("email")), createRows(1200), CopyFormat.CSV);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(2, primary.getExecutionCount());
+        assertEquals(0, connectionProvider.getCommitCount());
+        assertEquals(1, connectionProvider.getRollbackCount());
+    }
+
+    @Test
+    public void test_Reads_Served_By_A_Replica_Are_Not_Cached() {
+        // Arrange
+        final MockSqlExecutor replica = new MockSqlExecutor();
+        replica.setResults(SqlTableControllerTests::results);
+        final SqlTableController<Account> controller = createController(RoutingSqlExecutor.newBuilder(primary)
+                .addReplica(replica)
+                .readYourWritesWindow(Duration.ZERO)
+                .build());
+
+        // Act
+        controller.read(controller.selectStatementBuilder());
+        controller.read(controller.selectStatementBuilder());
+
+        // Assert
+        assertEquals(2, replica.getExecutionCount());
+        assertEquals(0, queryCache.getStatistics().getSize());
+    }
+
+    @Test
+    public void test_Cached_Models_Are_Not_Shared_Between_Callers() {
+        // Arrange
+        final SqlTableController<Account> controller = createController(primary);
+        primary.setResults(SqlTableControllerTests::results);
+        final Account first = controller.read(controller.selectStatementBuilder()).get().get(0);
+
+        // Act
+        first.email = "jane.doe@gmail.com";
+        final Account second = controller.read(controller.selectStatementBuilder()).get().get(0);
+        final Account third = controller.read(controller.selectStatementBuilder()).get().get(0);
+
+        // Assert
+        assertEquals(1, primary.getExecutionCount());
+        assertEquals("john.doe@gmail.com", second.email);
+        assertNotSame(second, third);
+    }
+}
@@ -0,0 +1,83 @@
+package test.crud;
+
+import databases.crud.sql.postgresql.statements.SqlWriter;
+import databases.crud.sql.postgresql.statements.builders.UpdateStatement;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockUserDatabaseControllerModule;
+import test.mocks.MockUsersColumn;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static databases.crud.sql.postgresql.statements.Operator.EQUALS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SqlWriterTests {
+    @Test
+    public void test_Identifiers_And_Literals_Escape_Their_Quotes() {
+        try (SqlWriter sql = SqlWriter.acquire()) {
+            // Act
+            sql.identifier("odd\"name").append(" = ").literal("O'Brien").append(" AND ").value(7);
+
+            // Assert
+            assertEquals("\"odd\"\"name\" = 'O''Brien' AND 7", sql.toString());
+        }
+    }
+
+    @Test
+    public void test_Only_Numbers_And_Booleans_Are_Written_Bare() {
+        try (SqlWriter sql = SqlWriter.acquire()) {
+            // Act
+            sql.value(7).separator(1).value(0.5).separator(1).value(true).separator(1).value(null)
+                    .separator(1).value(UUID.fromString("4b0e6d9c-7d3e-4b58-9a9c-2a1f0d1e5c11"))
+                    .separator(1).value(Instant.parse("2020-07-01T12:00:00Z"))
+                    .separator(1).value(new byte[]{1, (byte) 0xAB})
+                    .separator(1).value(Double.NaN);
+
+            // Assert
+            assertEquals("7, 0.5, true, NULL, '4b0e6d9c-7d3e-4b58-9a9c-2a1f0d1e5c11', '2020-07-01T12:00:00Z', "
+                    + "'\\x01ab'::bytea, 'NaN'", sql.toString());
+        }
+    }
+
+    @Test
+    public void test_Writer_Is_Reused_Once_Closed_And_Nested_Writers_Get_Their_Own_Buffer() {
+        // Arrange
+        final SqlWriter first;
+        try (SqlWriter sql = SqlWriter.acquire()) {
+            first = sql;
+            sql.append("SELECT 1");
+        }
+
+        try (SqlWriter outer = SqlWriter.acquire()) {
+            outer.append("outer");
+
+            // Act
+            try (SqlWriter nested = SqlWriter.acquire()) {
+                nested.append("nested");
+
+                // Assert
+                assertSame(first, outer);
+                assertNotSame(outer, nested);
+                assertEquals("nested", nested.toString());
+            }
+            assertEquals("outer", outer.toString());
+        }
+    }
+
+    @Test
+    public void test_Inlined_String_Values_Are_Escaped() {
+        // Arrange
+        final UpdateStatement.Builder builder = UpdateStatement.newBuilder(new MockUserDatabaseControllerModule().getSchema())
+                .update("it's", MockUsersColumn.SALT)
+                .where(MockUsersColumn.EMAIL, EQUALS, "o'brien@gmail.com");
+
+        // Act
+        final String statement = builder.build();
+
+        // Assert
+        assertEquals("UPDATE \"Users\" SET \"salt\" = 'it''s' WHERE \"email\" = 'o''brien@gmail.com';", statement);
+    }
+}
@@ -0,0 +1,123 @@
+package test.crud;
+
+import databases.crud.sql.TransactionCommitException;
+import databases.crud.sql.TransactionContext;
+import org.junit.jupiter.api.Test;
+import test.mocks.MockConnectionProvider;
+
+import java.sql.Connection;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionContextTests {
+    @Test
+    public void test_NestedWork_Shares_One_Connection_And_Commits_Once() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+
+        // Act
+        final Optional<Boolean> sharedConnection = TransactionContext.execute(provider, outer -> {
+            final Connection connection = TransactionContext.current(provider).get().getConnection();
+            return TransactionContext.execute(provider, inner -> inner.getConnection() == connection).orElse(false);
+        });
+
+        // Assert
+        assertEquals(Optional.of(true), sharedConnection);
+        assertEquals(1, provider.getOpenedConnectionCount());
+        assertEquals(1, provider.getCommitCount());
+        assertEquals(0, provider.getRollbackCount());
+        assertEquals(1, provider.getClosedConnectionCount());
+        assertTrue(TransactionContext.current(provider).isEmpty());
+    }
+
+    @Test
+    public void test_Exception_RollsBack_And_Releases_Connection() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+
+        // Act
+        final Optional<Object> result = TransactionContext.execute(provider, context -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(0, provider.getCommitCount());
+        assertEquals(1, provider.getRollbackCount());
+        assertEquals(1, provider.getClosedConnectionCount());
+    }
+
+    @Test
+    public void test_RollbackOnly_Prevents_Commit() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+
+        // Act
+        final Optional<String> result = TransactionContext.execute(provider, context -> {
+            context.setRollbackOnly();
+            return "ignored";
+        });
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(0, provider.getCommitCount());
+        assertEquals(1, provider.getRollbackCount());
+    }
+
+    @Test
+    public void test_FailedCommit_Throws_And_RollsBack() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+        provider.setCommitFails(true);
+
+        // Act
+        final TransactionCommitException exception = assertThrows(TransactionCommitException.class, () ->
+                TransactionContext.execute(provider, context -> "uncommitted"));
+
+        // Assert
+        assertEquals("commit failed", exception.getCause().getMessage());
+        assertEquals(1, provider.getRollbackCount());
+        assertEquals(1, provider.getClosedConnectionCount());
+        assertFalse(TransactionContext.isActive());
+    }
+
+    @Test
+    public void test_FailedSavepoint_Only_RollsBack_Its_Own_Work() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+
+        // Act
+        final Optional<String> result = TransactionContext.execute(provider, context -> {
+            context.inSavepoint(savepoint -> {
+                savepoint.setRollbackOnly();
+                return null;
+            });
+            return "committed";
+        });
+
+        // Assert
+        assertEquals(Optional.of("committed"), result);
+        assertEquals(1, provider.getSavepointRollbackCount());
+        assertEquals(0, provider.getRollbackCount());
+        assertEquals(1, provider.getCommitCount());
+    }
+
+    @Test
+    public void test_AfterCompletion_Runs_Once_Transaction_Ends() {
+        // Arrange
+        final MockConnectionProvider provider = new MockConnectionProvider();
+        final int[] callbackCount = {0};
+
+        // Act
+        final Optional<Integer> countInsideTransaction = TransactionContext.execute(provider, context -> {
+            TransactionContext.afterCompletion(() -> callbackCount[0]++);
+            return callbackCount[0];
+        });
+
+        // Assert
+        assertEquals(Optional.of(0), countInsideTransaction);
+        assertEquals(1, callbackCount[0]);
+        assertFalse(TransactionContext.isActive());
+    }
+}
@@ -0,0 +1,112 @@
+package test.mocks;
+
+import commons.OptionalProvider;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hands out in-memory {@link Connection} proxies and records how many were physically opened & closed
+ */
+public class MockConnectionProvider implements OptionalProvider<Connection> {
+    private final List<Connection> openedConnections = new ArrayList<>();
+    private int closedConnections = 0;
+    private int commits = 0;
+    private int rollbacks = 0;
+    private int savepointRollbacks = 0;
+    private boolean valid = true;
+    private boolean commitFails = false;
+
+    @Override
+    public synchronized Optional<Connection> get() {
+        final boolean[] closed = {false};
+        final Connection connection = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                recordClose();
+                            }
+                            return null;
+                        case "isClosed":
+                            return closed[0];
+                        case "isValid":
+                            return valid && !closed[0];
+                        case "getAutoCommit":
+                            return false;
+                        case "commit":
+                            if (isCommitFailing()) {
+                                throw new SQLException("commit failed");
+                            }
+                            recordCommit();
+                            return null;
+                        case "rollback":
+                            recordRollback(args != null);
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        openedConnections.add(connection);
+        return Optional.of(connection);
+    }
+
+    public synchronized int getOpenedConnectionCount() {
+        return openedConnections.size();
+    }
+
+    public synchronized int getClosedConnectionCount() {
+        return closedConnections;
+    }
+
+    public synchronized void setValid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public synchronized void setCommitFails(boolean commitFails) {
+        this.commitFails = commitFails;
+    }
+
+    private synchronized boolean isCommitFailing() {
+        return commitFails;
+    }
+
+    public synchronized int getCommitCount() {
+        return commits;
+    }
+
+    public synchronized int getRollbackCount() {
+        return rollbacks;
+    }
+
+    public synchronized int getSavepointRollbackCount() {
+        return savepointRollbacks;
+    }
+
+    private synchronized void recordCommit() {
+        commits++;
+    }
+
+    private synchronized void recordRollback(boolean toSavepoint) {
+        if (toSavepoint) {
+            savepointRollbacks++;
+        } else {
+            rollbacks++;
+        }
+    }
+
+    private synchronized void recordClose() {
+        closedConnections++;
+    }
+}
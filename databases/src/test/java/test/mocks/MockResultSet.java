@@ -0,0 +1,106 @@
+package test.mocks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds in-memory {@link ResultSet} proxies over a list of rows keyed by column name. Columns are ordered as the
+ * first row's keys and can be read by name or by 1-based index.
+ */
+public class MockResultSet {
+    private final List<Map<String, Object>> rows;
+    private final List<String> columns;
+    private int cursor = -1;
+    private int advanced = 0;
+    private boolean closed = false;
+    private boolean lastValueWasNull = false;
+
+    public MockResultSet(List<Map<String, Object>> rows) {
+        this.rows = rows;
+        this.columns = rows.isEmpty() ? List.of() : new ArrayList<>(rows.get(0).keySet());
+    }
+
+    public ResultSet create() {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            advanced++;
+                            return ++cursor < rows.size();
+                        case "close":
+                            closed = true;
+                            return null;
+                        case "isClosed":
+                            return closed;
+                        case "wasNull":
+                            return lastValueWasNull;
+                        case "getMetaData":
+                            return createMetaData();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return method.getName().startsWith("get") && args != null && args.length == 1
+                                    ? readValue(method, args[0])
+                                    : null;
+                    }
+                });
+    }
+
+    /**
+     * Number of times {@code next()} has been called, used to confirm rows are pulled lazily
+     */
+    public int getAdvanceCount() {
+        return advanced;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private Object readValue(Method method, Object column) {
+        final String name = column instanceof Integer ? columns.get((Integer) column - 1) : (String) column;
+        final Object value = rows.get(cursor).get(name);
+        lastValueWasNull = value == null;
+
+        switch (method.getName()) {
+            case "getString":
+                return value == null ? null : value.toString();
+            case "getInt":
+                return value == null ? 0 : ((Number) value).intValue();
+            case "getLong":
+                return value == null ? 0L : ((Number) value).longValue();
+            case "getDouble":
+                return value == null ? 0d : ((Number) value).doubleValue();
+            case "getBoolean":
+                return value != null && (Boolean) value;
+            default:
+                return value;
+        }
+    }
+
+    private ResultSetMetaData createMetaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(),
+                new Class[]{ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return columns.size();
+                        case "getColumnLabel":
+                        case "getColumnName":
+                            return columns.get((Integer) args[0] - 1);
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,128 @@
+package test.mocks;
+
+import commons.OptionalProvider;
+import databases.crud.core.DatabaseResponse;
+import databases.crud.core.Deserializer;
+import databases.crud.sql.ParameterizedStatement;
+import databases.crud.sql.PipelinedStatement;
+import databases.crud.sql.QueryCursor;
+import databases.crud.sql.SqlExecutor;
+import databases.crud.sql.SqlExecutorException;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Records the statements it's asked to run without touching a database, and can pretend to be unreachable
+ */
+public class MockSqlExecutor implements SqlExecutor {
+    private final List<String> executedStatements = new ArrayList<>();
+    private boolean available = true;
+    private boolean copySupported = true;
+    private OptionalProvider<Connection> connectionProvider = null;
+    private Runnable onExecute = () -> {
+    };
+    private Function<String, Object> results = statement -> statement;
+
+    public List<String> getExecutedStatements() {
+        return executedStatements;
+    }
+
+    public int getExecutionCount() {
+        return executedStatements.size();
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public void setCopySupported(boolean copySupported) {
+        this.copySupported = copySupported;
+    }
+
+    /**
+     * Connections transactions around this executor's statements open, none by default
+     */
+    public void setConnectionProvider(OptionalProvider<Connection> connectionProvider) {
+        this.connectionProvider = connectionProvider;
+    }
+
+    /**
+     * Runs while a statement executes, e.g. to issue a nested statement
+     */
+    public void setOnExecute(Runnable onExecute) {
+        this.onExecute = onExecute;
+    }
+
+    /**
+     * What the deserializer is handed for a statement, e.g. a mock result set. Defaults to the statement's SQL.
+     */
+    public void setResults(Function<String, Object> results) {
+        this.results = results;
+    }
+
+    @Override
+    public DatabaseResponse executeUpdate(String update, Deserializer deserializer) throws Exception {
+        return execute(update, deserializer);
+    }
+
+    @Override
+    public DatabaseResponse executeQuery(String query, Deserializer deserializer) throws Exception {
+        return execute(query, deserializer);
+    }
+
+    @Override
+    public DatabaseResponse executePreparedUpdate(ParameterizedStatement update, Deserializer deserializer) throws Exception {
+        return execute(update.getSql(), deserializer);
+    }
+
+    @Override
+    public DatabaseResponse executePreparedQuery(ParameterizedStatement query, Deserializer deserializer) throws Exception {
+        return execute(query.getSql(), deserializer);
+    }
+
+    @Override
+    public DatabaseResponse executePreparedQueries(List<ParameterizedStatement> queries, Deserializer deserializer) throws Exception {
+        return execute(queries.get(0).getSql(), deserializer);
+    }
+
+    @Override
+    public DatabaseResponse executeCopy(String copyStatement, InputStream data) throws Exception {
+        if (!copySupported) {
+            throw SqlExecutorException.COPY_NOT_SUPPORTED;
+        }
+        return execute(copyStatement, object -> 0L);
+    }
+
+    @Override
+    public QueryCursor executeStreamingQuery(ParameterizedStatement query, int fetchSize) throws Exception {
+        execute(query.getSql(), object -> object);
+        return null;
+    }
+
+    @Override
+    public List<DatabaseResponse> executePipeline(List<PipelinedStatement> statements) throws Exception {
+        return List.of(execute(statements.get(0).getStatement().getSql(), object -> object));
+    }
+
+    @Override
+    public Optional<OptionalProvider<Connection>> getConnectionProvider() {
+        return Optional.ofNullable(connectionProvider);
+    }
+
+    private DatabaseResponse execute(String statement, Deserializer deserializer) throws Exception {
+        if (!available) {
+            throw SqlExecutorException.FAILED_TO_OPEN_DATABASE_CONNECTION;
+        }
+
+        executedStatements.add(statement);
+        onExecute.run();
+        return DatabaseResponse.newBuilder()
+                .setObject(deserializer.deserialize(results.apply(statement)))
+                .build();
+    }
+}
@@ -7,6 +7,8 @@ import platform.use_cases.port.repositories.ChatMessageRepository;
 import platform.utilities.NullValidator;
 
 public class FindChatMessages {
+	public static final int PAGE_SIZE = 50;
+
 	final private ChatMessageRepository repository;
 
 	public FindChatMessages(ChatMessageRepository repository) {
@@ -22,4 +24,9 @@ public class FindChatMessages {
 		NullValidator.validate(id);
 		return repository.findChatMessagesForConversationId(id).orElseThrow(NonexistentEntityException::new);
 	}
+
+	public List<ChatMessage> findChatMessagesForConversationId(String id, String afterMessageId) {
+		NullValidator.validate(id);
+		return repository.findChatMessagesForConversationId(id, afterMessageId, PAGE_SIZE).orElseThrow(NonexistentEntityException::new);
+	}
 }
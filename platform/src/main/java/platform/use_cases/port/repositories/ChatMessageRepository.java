@@ -11,4 +11,10 @@ public interface ChatMessageRepository {
 	public Optional<ChatMessage> findChatMessageWithId(String id);
 
 	public Optional<List<ChatMessage>> findChatMessagesForConversationId(String id);
+
+	/**
+	 * Returns at most {@code limit} messages of the conversation, oldest first, following the message with id
+	 * {@code afterMessageId} (or from the start of the conversation when it is null)
+	 */
+	public Optional<List<ChatMessage>> findChatMessagesForConversationId(String id, String afterMessageId, int limit);
 }
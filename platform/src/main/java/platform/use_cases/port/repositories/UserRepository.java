@@ -13,6 +13,19 @@ public interface UserRepository {
 
 	public boolean deleteUserWithEmail(String email);
 
+	/**
+	 * Saves the user unless one with the same email exists, in which case nothing is saved and empty is returned.
+	 * Database-backed implementations should override this with a single atomic statement (e.g.
+	 * {@code INSERT ... ON CONFLICT DO NOTHING}), since this check-then-save default races with concurrent saves.
+	 */
+	default Optional<User> saveIfAbsent(User user) {
+		final Optional<User> existingUser = findUserWithEmail(user.getEmail());
+		if (existingUser != null && existingUser.isPresent()) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(save(user));
+	}
+
 	default boolean userWithEmailExists(String email) {
 		return findUserWithId(email).isPresent();
 	}
@@ -1,7 +1,5 @@
 package platform.use_cases.users;
 
-import java.util.Optional;
-
 import platform.entities.User;
 import platform.exceptions.ExistingUserException;
 import platform.exceptions.InvalidPasswordException;
@@ -34,18 +32,9 @@ public class CreateUser {
 			throw new InvalidPasswordException();
 		}
 
-		if (userWithEmailExists(user.getEmail())) {
-			throw new ExistingUserException();
-		}
-
 		final User newUser = User.builder().setId(idGenerator.generate()).setEmail(user.getEmail())
 				.setPassword(passwordEncoder.encode(user.getPassword())).setAvatarUrl(user.getAvatarUrl()).build();
 
-		return repository.save(newUser);
-	}
-
-	private boolean userWithEmailExists(final String email) {
-		final Optional<User> existingUser = repository.findUserWithEmail(email);
-		return existingUser != null && existingUser.isPresent();
+		return repository.saveIfAbsent(newUser).orElseThrow(ExistingUserException::new);
 	}
 }
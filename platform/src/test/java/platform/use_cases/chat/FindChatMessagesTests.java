@@ -63,6 +63,20 @@ public class FindChatMessagesTests {
 		assertTrue(rv.get(0).equals(MocksFactory.mockMessage()));
 	}
 
+	@Test
+	public void testFindPageForConversation_NullArgumentException() {
+		final FindChatMessages sut = createSut(null);
+		thrown.expect(UnexpectedNullArgumentException.class);
+		sut.findChatMessagesForConversationId(null, "1");
+	}
+
+	@Test
+	public void testFindPageForConversation_HappyPath() {
+		final FindChatMessages sut = createSut(MocksFactory.mockMessage());
+		List<ChatMessage> rv = sut.findChatMessagesForConversationId("12398721", null);
+		assertTrue(rv.get(0).equals(MocksFactory.mockMessage()));
+	}
+
 	private FindChatMessages createSut(ChatMessage returnValue) {
 		final MockChatMessageRepository repository = new MockChatMessageRepository(returnValue);
 		return new FindChatMessages(repository);
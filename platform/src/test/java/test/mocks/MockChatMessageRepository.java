@@ -27,4 +27,9 @@ public class MockChatMessageRepository implements ChatMessageRepository {
 	public Optional<List<ChatMessage>> findChatMessagesForConversationId(String id) {
 		return returnValue != null ? Optional.of(List.of(returnValue)) : Optional.empty();
 	}
+
+	@Override
+	public Optional<List<ChatMessage>> findChatMessagesForConversationId(String id, String afterMessageId, int limit) {
+		return findChatMessagesForConversationId(id);
+	}
 }